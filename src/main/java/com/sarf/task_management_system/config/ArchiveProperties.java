@@ -0,0 +1,18 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+    private Duration age = Duration.ofDays(90);
+    private int batchSize = 200;
+    private Duration pause = Duration.ofMillis(100);
+}
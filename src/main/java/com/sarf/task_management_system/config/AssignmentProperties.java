@@ -0,0 +1,25 @@
+package com.sarf.task_management_system.config;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "assignment")
+public class AssignmentProperties {
+
+    private Map<Priority, Integer> weights = new EnumMap<>(Map.of(
+            Priority.LOW, 1,
+            Priority.MEDIUM, 2,
+            Priority.HIGH, 3
+    ));
+
+    public int weightOf(final Priority priority) {
+        return priority == null ? 1 : weights.getOrDefault(priority, 1);
+    }
+}
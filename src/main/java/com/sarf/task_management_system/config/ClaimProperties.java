@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "claim")
+public class ClaimProperties {
+
+    private Duration lease = Duration.ofMinutes(5);
+    private Duration maxLease = Duration.ofHours(1);
+    private int reclaimBatchSize = 100;
+}
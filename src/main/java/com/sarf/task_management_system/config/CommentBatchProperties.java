@@ -0,0 +1,18 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "comments.group-commit")
+public class CommentBatchProperties {
+
+    private boolean enabled = false;
+    private int capacity = 4096;
+    private int maxBatch = 64;
+    private Duration maxDelay = Duration.ofMillis(5);
+}
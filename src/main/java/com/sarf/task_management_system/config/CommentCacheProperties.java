@@ -0,0 +1,19 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "cache.comments")
+public class CommentCacheProperties {
+
+    private boolean enabled = false;
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+    private int perTask = 200;
+    private Duration ttl = Duration.ofSeconds(30);
+}
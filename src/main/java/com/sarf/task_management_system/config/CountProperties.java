@@ -0,0 +1,13 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "counts")
+public class CountProperties {
+
+    private int reconcileBatchSize = 500;
+}
@@ -0,0 +1,23 @@
+package com.sarf.task_management_system.config;
+
+import com.sarf.task_management_system.domain.events.OverflowPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "events.bus")
+public class EventBusProperties {
+
+    private int capacity = 1024;
+    private int maxBatch = 256;
+    private Duration blockTimeout = Duration.ofMillis(50);
+    private int spillCapacity = 100_000;
+    private OverflowPolicy spillFallback = OverflowPolicy.DROP;
+    private Map<String, OverflowPolicy> overflow = new HashMap<>();
+}
@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "feed")
+public class FeedProperties {
+
+    private Duration retention = Duration.ofDays(30);
+    private int cleanupBatchSize = 1000;
+}
@@ -0,0 +1,40 @@
+package com.sarf.task_management_system.config;
+
+import com.sarf.task_management_system.domain.ids.TimeOrderedIdGenerator;
+import com.sarf.task_management_system.domain.ids.TsidGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Настройка генератора идентификаторов сущностей.
+ * <p>
+ * Номер узла задается свойством {@code ids.node}. Если он не задан, номер выводится из имени хоста
+ * и идентификатора процесса; при нескольких узлах его следует задавать явно, чтобы исключить совпадения.
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public TsidGenerator tsidGenerator(final IdProperties properties) {
+        int node;
+        if (properties.getNode() != null) {
+            node = properties.getNode();
+        } else {
+            node = ManagementFactory.getRuntimeMXBean().getName().hashCode() & TsidGenerator.MAX_NODE;
+            log.warn("Property ids.node is not set, using derived node {}", node);
+        }
+        log.info("Id generator started for node {}", node);
+        return new TsidGenerator(node);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorCustomizer(final TsidGenerator tsidGenerator) {
+        return properties -> properties.put(TimeOrderedIdGenerator.SETTING, tsidGenerator);
+    }
+}
@@ -0,0 +1,27 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 100;
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(10);
+    private int maxAttempts = 20;
+    private Duration claimTimeout = Duration.ofMinutes(1);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Duration retention = Duration.ofDays(1);
+    private int cleanupBatchSize = 1000;
+    private String sink = "log";
+    private String file = "outbox.jsonl";
+    private String url;
+}
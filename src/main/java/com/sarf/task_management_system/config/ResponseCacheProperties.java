@@ -0,0 +1,15 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "cache.response")
+public class ResponseCacheProperties {
+
+    private boolean enabled = false;
+    private int maxEntries = 512;
+    private int gzipMinSize = 1024;
+}
@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "task-detail")
+public class TaskDetailProperties {
+
+    private Duration timeout = Duration.ofSeconds(2);
+    private int comments = 20;
+    private int maxConcurrentFetches = 6;
+}
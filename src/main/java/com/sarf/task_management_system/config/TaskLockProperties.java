@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "task-lock")
+public class TaskLockProperties {
+
+    private int stripes = 1024;
+    private Duration timeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,152 @@
+package com.sarf.task_management_system.domain.assignment;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Индексированная двоичная min-куча нагрузок пользователей.
+ * <p>
+ * Вершина кучи — пользователь с наименьшей нагрузкой (при равенстве — с меньшим идентификатором).
+ * Индекс позиций позволяет изменить нагрузку или удалить произвольного пользователя за {@code O(log n)},
+ * не перестраивая кучу. Класс не потокобезопасен.
+ * </p>
+ */
+public class LoadHeap {
+
+    private long[] users = new long[16];
+    private long[] loads = new long[16];
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private int size;
+
+    /**
+     * Добавляет пользователя с указанной нагрузкой или заменяет нагрузку уже добавленного.
+     *
+     * @param userId идентификатор пользователя.
+     * @param load нагрузка.
+     */
+    public void put(final long userId, final long load) {
+        Integer position = positions.get(userId);
+        if (position != null) {
+            adjust(userId, load - loads[position]);
+            return;
+        }
+        if (size == users.length) {
+            users = Arrays.copyOf(users, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+        }
+        users[size] = userId;
+        loads[size] = load;
+        positions.put(userId, size);
+        siftUp(size++);
+    }
+
+    /**
+     * Изменяет нагрузку пользователя на указанную величину. Отсутствующие пользователи пропускаются.
+     *
+     * @param userId идентификатор пользователя.
+     * @param delta величина изменения.
+     */
+    public void adjust(final long userId, final long delta) {
+        Integer position = positions.get(userId);
+        if (position == null || delta == 0) {
+            return;
+        }
+        loads[position] += delta;
+        if (delta < 0) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * Удаляет пользователя из кучи.
+     *
+     * @param userId идентификатор пользователя.
+     */
+    public void remove(final long userId) {
+        Integer position = positions.remove(userId);
+        if (position == null) {
+            return;
+        }
+        int last = --size;
+        if (position != last) {
+            move(last, position);
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Возвращает пользователя с наименьшей нагрузкой.
+     *
+     * @return идентификатор пользователя или {@code null}, если куча пуста.
+     */
+    public Long peek() {
+        return size == 0 ? null : users[0];
+    }
+
+    /**
+     * Возвращает текущую нагрузку пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return нагрузка или {@code null}, если пользователя нет в куче.
+     */
+    public Long load(final long userId) {
+        Integer position = positions.get(userId);
+        return position == null ? null : loads[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(position, parent)) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < size && less(right, left) ? right : left;
+            if (!less(smallest, position)) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private boolean less(final int a, final int b) {
+        return loads[a] < loads[b] || loads[a] == loads[b] && users[a] < users[b];
+    }
+
+    private void swap(final int a, final int b) {
+        long user = users[a];
+        long load = loads[a];
+        users[a] = users[b];
+        loads[a] = loads[b];
+        users[b] = user;
+        loads[b] = load;
+        positions.put(users[a], a);
+        positions.put(users[b], b);
+    }
+
+    private void move(final int from, final int to) {
+        users[to] = users[from];
+        loads[to] = loads[from];
+        positions.put(users[to], to);
+    }
+}
@@ -0,0 +1,275 @@
+package com.sarf.task_management_system.domain.batching;
+
+import com.sarf.task_management_system.config.CommentBatchProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.ids.TsidGenerator;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.services.TaskService;
+import com.sarf.task_management_system.domain.services.UnreadService;
+import com.sarf.task_management_system.domain.services.VersionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Групповая фиксация новых комментариев.
+ * <p>
+ * При включенном {@code comments.group-commit.enabled} сохранения комментариев, пришедшие почти одновременно,
+ * записываются выделенным потоком-писателем вместе: он ждет следующие комментарии не дольше
+ * {@code comments.group-commit.max-delay} или до {@code comments.group-commit.max-batch} штук и вставляет их
+ * одним пакетом JDBC в одной транзакции. Порядковые номера выделяются одним обновлением строки каждой задачи
+ * на весь пакет. Так одна фиксация и один сброс журнала базы данных приходятся на пачку комментариев,
+ * а не на каждый.
+ * </p>
+ * <p>
+ * Вставка выполняется через {@link JdbcTemplate#batchUpdate}, а не через Hibernate: значение {@code change_seq}
+ * генерируется базой, и Hibernate, которому пришлось бы читать его обратно, не объединяет такие вставки в пакет.
+ * Идентификаторы выдает {@link TsidGenerator}, {@code change_seq} берется из {@code nextval('change_seq')}
+ * в самом запросе и обратно не читается, поэтому у возвращаемых комментариев {@code changeSeq} не заполнен.
+ * Отметки прочтения собственных комментариев авторами записываются одним пакетным запросом.
+ * </p>
+ * <p>
+ * Надежность не ослабляется: будущий результат каждого вызывающего завершается только после фиксации общей
+ * транзакции. Если пакет не удалось записать, комментарии записываются повторно по одному, чтобы ошибка одного
+ * (например, удаленная задача) не отклоняла остальные. Размер пакетов и время их записи публикуются метриками
+ * {@code comments.batch.size} и {@code comments.batch.commit}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CommentBatcher implements Runnable {
+
+    private static final String INSERT = """
+            INSERT INTO comments (id, task_id, author_id, content, seq, parent_id, path, created_at, updated_at, change_seq)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, nextval('change_seq'))
+            """;
+
+    private final CommentBatchProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskService taskService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TsidGenerator tsidGenerator;
+    private final VersionService versionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskLocks taskLocks;
+    private final RecentCommentCache recentComments;
+    private final UnreadService unreadService;
+    private final BlockingQueue<Pending> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentBatcher(final CommentBatchProperties properties,
+                          final TransactionTemplate transactionTemplate,
+                          final TaskService taskService,
+                          final JdbcTemplate jdbcTemplate,
+                          final TsidGenerator tsidGenerator,
+                          final VersionService versionService,
+                          final ApplicationEventPublisher eventPublisher,
+                          final TaskLocks taskLocks,
+                          final RecentCommentCache recentComments,
+                          final UnreadService unreadService,
+                          final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.taskService = taskService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tsidGenerator = tsidGenerator;
+        this.versionService = versionService;
+        this.eventPublisher = eventPublisher;
+        this.taskLocks = taskLocks;
+        this.recentComments = recentComments;
+        this.unreadService = unreadService;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+        this.batchSizes = DistributionSummary.builder("comments.batch.size").register(meterRegistry);
+        this.commitTimer = Timer.builder("comments.batch.commit").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("comment-batcher")
+                .daemon()
+                .start(this);
+        log.info("Comment group commit started with batches of up to {} within {}",
+                properties.getMaxBatch(), properties.getMaxDelay());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Проверяет, включена ли групповая фиксация.
+     *
+     * @return {@code true}, если комментарии следует передавать в {@link #submit(Comment)}.
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Ставит комментарий в очередь на запись.
+     *
+     * @param comment новый комментарий с автором и задачей; порядковый номер назначается при записи.
+     * @return будущий результат, который завершается сохраненным комментарием после фиксации транзакции
+     * или ошибкой записи.
+     */
+    public CompletableFuture<Comment> submit(final Comment comment) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Comment group commit is not running"));
+        }
+        Pending pending = new Pending(comment, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            log.warn("Comment write queue is full, rejecting comment for task {}", comment.getTask().getId());
+            return CompletableFuture.failedFuture(new IllegalStateException("Comment write queue is full"));
+        }
+        return pending.future();
+    }
+
+    @Override
+    public void run() {
+        List<Pending> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Pending head = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (head == null) {
+                    continue;
+                }
+                batch.add(head);
+                collect(batch);
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        batch.addAll(queue);
+        batch.forEach(pending -> pending.future()
+                .completeExceptionally(new IllegalStateException("Comment group commit stopped")));
+    }
+
+    /**
+     * Записывает пакет комментариев в одной транзакции и завершает будущие результаты после фиксации.
+     *
+     * @param batch пакет ожидающих записи комментариев.
+     */
+    void flush(final List<Pending> batch) {
+        try {
+            commitTimer.record(() -> transactionTemplate.execute(status -> write(batch)));
+            batchSizes.record(batch.size());
+            batch.forEach(pending -> pending.future().complete(pending.comment()));
+            log.debug("Group commit wrote {} comments", batch.size());
+        } catch (RuntimeException exception) {
+            if (batch.size() == 1) {
+                log.warn("Comment for task {} was not written: {}",
+                        batch.getFirst().comment().getTask().getId(), exception.getMessage());
+                batch.getFirst().future().completeExceptionally(exception);
+                return;
+            }
+            log.warn("Group commit of {} comments failed, writing them one by one: {}",
+                    batch.size(), exception.getMessage());
+            for (Pending pending : batch) {
+                flush(List.of(pending));
+            }
+        }
+    }
+
+    private void collect(final List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (batch.size() < properties.getMaxBatch()) {
+            queue.drainTo(batch, properties.getMaxBatch() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getMaxBatch() || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private int write(final List<Pending> batch) {
+        Map<Long, List<Comment>> byTask = new TreeMap<>();
+        for (Pending pending : batch) {
+            byTask.computeIfAbsent(pending.comment().getTask().getId(), taskId -> new ArrayList<>())
+                    .add(pending.comment());
+        }
+        List<Comment> comments = new ArrayList<>(batch.size());
+        byTask.forEach((taskId, taskComments) -> {
+            taskLocks.lock(taskId);
+            long seq = taskService.reserveCommentSeqs(taskId, taskComments.size()) - taskComments.size();
+            for (Comment comment : taskComments) {
+                comment.assignSeq(++seq);
+                comments.add(comment);
+            }
+        });
+        insert(comments);
+        unreadService.markWritten(comments);
+        comments.forEach(recentComments::append);
+        byTask.keySet().forEach(versionService::bumpComments);
+        comments.forEach(comment -> eventPublisher.publishEvent(CommentAdded.of(comment)));
+        return comments.size();
+    }
+
+    private void insert(final List<Comment> comments) {
+        Instant now = Instant.now();
+        for (Comment comment : comments) {
+            comment.setId(tsidGenerator.next());
+            comment.setCreatedAt(now);
+            comment.setUpdatedAt(now);
+        }
+        jdbcTemplate.batchUpdate(INSERT, comments, comments.size(), (statement, comment) -> {
+            statement.setLong(1, comment.getId());
+            statement.setLong(2, comment.getTask().getId());
+            statement.setLong(3, comment.getAuthor().getId());
+            statement.setString(4, comment.getContent());
+            statement.setLong(5, comment.getSeq());
+            if (comment.getParentId() == null) {
+                statement.setNull(6, Types.BIGINT);
+            } else {
+                statement.setLong(6, comment.getParentId());
+            }
+            statement.setString(7, comment.getPath());
+            statement.setTimestamp(8, Timestamp.from(now));
+            statement.setTimestamp(9, Timestamp.from(now));
+        });
+    }
+
+    record Pending(Comment comment, CompletableFuture<Comment> future) {
+    }
+}
@@ -0,0 +1,335 @@
+package com.sarf.task_management_system.domain.cache;
+
+import com.sarf.task_management_system.config.CommentCacheProperties;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Кеш последних комментариев задач.
+ * <p>
+ * Для каждой задачи хранится окно из не более {@code cache.comments.per-task} самых новых комментариев
+ * в порядке порядковых номеров: все существующие комментарии задачи начиная с первого номера окна.
+ * Новые комментарии дописываются в конец окна, удаленные убираются из него, поэтому страницы «самые новые»,
+ * «перед курсором» в пределах окна и опрос «после номера» для активных задач отдаются из памяти.
+ * Изменения применяются после фиксации транзакции, чтобы откатившаяся запись не попала в кеш.
+ * </p>
+ * <p>
+ * Память ограничена суммарным оценочным размером комментариев ({@code cache.comments.max-size}), а не числом
+ * задач: при превышении вытесняются окна давно не читавшихся задач. Кеш локален для узла, поэтому окно
+ * перечитывается из базы данных не реже {@code cache.comments.ttl}; комментарии, добавленные на других узлах,
+ * становятся видны не позже этого срока.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RecentCommentCache {
+
+    private static final int STRIPES = 1024;
+    private static final long COMMENT_OVERHEAD = 96;
+
+    private final CommentCacheProperties properties;
+    private final Map<Long, Window> windows = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLongArray stamps = new AtomicLongArray(STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private long bytes;
+
+    public RecentCommentCache(final CommentCacheProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.hits = Counter.builder("comments.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("comments.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("comments.cache.bytes", this, RecentCommentCache::bytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Проверяет, включен ли кеш.
+     *
+     * @return {@code true}, если кеш включен в конфигурации.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Возвращает наибольшее количество комментариев в окне задачи.
+     *
+     * @return размер окна.
+     */
+    public int windowSize() {
+        return properties.getPerTask();
+    }
+
+    /**
+     * Возвращает метку изменений задачи, которую необходимо прочитать до загрузки окна из базы данных.
+     *
+     * @param taskId идентификатор задачи.
+     * @return текущая метка изменений.
+     */
+    public long stamp(final Long taskId) {
+        return stamps.get(stripe(taskId));
+    }
+
+    /**
+     * Проверяет, есть ли в кеше действующее окно задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @return {@code true}, если окно задачи загружено и не устарело.
+     */
+    public synchronized boolean contains(final Long taskId) {
+        return current(taskId) != null;
+    }
+
+    /**
+     * Отдает страницу комментариев задачи из кеша, если окно содержит ее целиком.
+     *
+     * @param taskId идентификатор задачи.
+     * @param before порядковый номер, перед которым начинается страница; {@code null} — с самого нового.
+     * @param since порядковый номер, после которого начинается страница; при указании {@code before} не учитывается.
+     * @param limit максимальное количество комментариев страницы.
+     * @return страница комментариев или пустой результат, если ее необходимо прочитать из базы данных.
+     */
+    public synchronized Optional<CommentPage> find(final Long taskId, final Long before, final Long since, final int limit) {
+        Window window = current(taskId);
+        Optional<CommentPage> page = window == null
+                ? Optional.empty()
+                : before == null && since != null ? window.after(since, limit) : window.before(before, limit);
+        (page.isPresent() ? hits : misses).increment();
+        return page;
+    }
+
+    /**
+     * Сохраняет окно самых новых комментариев задачи, загруженное из базы данных.
+     * <p>
+     * Окно не сохраняется, если после чтения метки {@code stamp} комментарии задачи менялись:
+     * загрузка могла не увидеть эти изменения.
+     * </p>
+     *
+     * @param taskId идентификатор задачи.
+     * @param newest комментарии задачи от новых к старым, не меньше {@code per-task + 1}, если они есть.
+     * @param stamp метка изменений, прочитанная до загрузки.
+     */
+    public synchronized void put(final Long taskId, final List<Comment> newest, final long stamp) {
+        if (stamp(taskId) != stamp) {
+            log.debug("Comments of task {} changed while loading, window not cached", taskId);
+            return;
+        }
+        removeWindow(taskId);
+        Window window = new Window(newest.size() > properties.getPerTask(), System.nanoTime());
+        for (int i = Math.min(newest.size(), properties.getPerTask()) - 1; i >= 0; i--) {
+            bytes += window.add(newest.get(i));
+        }
+        windows.put(taskId, window);
+        evict();
+        log.debug("Cached {} recent comments of task {}", window.comments.size(), taskId);
+    }
+
+    /**
+     * Дописывает новый комментарий в окно его задачи после фиксации текущей транзакции.
+     *
+     * @param comment сохраненный комментарий.
+     */
+    public void append(final Comment comment) {
+        afterCommit(() -> doAppend(comment));
+    }
+
+    /**
+     * Убирает комментарий из окна задачи после фиксации текущей транзакции.
+     *
+     * @param taskId идентификатор задачи.
+     * @param commentId идентификатор удаленного комментария.
+     */
+    public void remove(final Long taskId, final Long commentId) {
+        afterCommit(() -> doRemove(taskId, commentId));
+    }
+
+    /**
+     * Сбрасывает окно задачи после фиксации текущей транзакции.
+     *
+     * @param taskId идентификатор задачи.
+     */
+    public void invalidate(final Long taskId) {
+        afterCommit(() -> doInvalidate(taskId));
+    }
+
+    /**
+     * Сбрасывает все окна, например после массового удаления комментариев.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            stamps.incrementAndGet(i);
+        }
+        windows.clear();
+        bytes = 0;
+        log.debug("Recent comment cache cleared");
+    }
+
+    private synchronized void doAppend(final Comment comment) {
+        Long taskId = comment.getTask().getId();
+        stamps.incrementAndGet(stripe(taskId));
+        Window window = windows.get(taskId);
+        if (window == null) {
+            return;
+        }
+        if (!window.comments.isEmpty() && window.comments.getLast().getSeq() >= comment.getSeq()) {
+            removeWindow(taskId);
+            log.debug("Comment {} arrived out of order, window of task {} dropped", comment.getSeq(), taskId);
+            return;
+        }
+        bytes += window.add(comment);
+        while (window.comments.size() > properties.getPerTask()) {
+            bytes -= window.removeFirst();
+            window.hasOlder = true;
+        }
+        evict();
+    }
+
+    private synchronized void doRemove(final Long taskId, final Long commentId) {
+        stamps.incrementAndGet(stripe(taskId));
+        Window window = windows.get(taskId);
+        if (window != null) {
+            bytes -= window.remove(commentId);
+        }
+    }
+
+    private synchronized void doInvalidate(final Long taskId) {
+        stamps.incrementAndGet(stripe(taskId));
+        removeWindow(taskId);
+    }
+
+    private Window current(final Long taskId) {
+        Window window = windows.get(taskId);
+        if (window != null && System.nanoTime() - window.loadedAt > properties.getTtl().toNanos()) {
+            removeWindow(taskId);
+            return null;
+        }
+        return window;
+    }
+
+    private void removeWindow(final Long taskId) {
+        Window window = windows.remove(taskId);
+        if (window != null) {
+            bytes -= window.bytes;
+        }
+    }
+
+    private void evict() {
+        Iterator<Window> eldest = windows.values().iterator();
+        while (bytes > properties.getMaxSize().toBytes() && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    private synchronized long bytes() {
+        return bytes;
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(final Long taskId) {
+        return Long.hashCode(taskId) & (STRIPES - 1);
+    }
+
+    private static long sizeOf(final Comment comment) {
+        return COMMENT_OVERHEAD + 2L * (comment.getContent() == null ? 0 : comment.getContent().length());
+    }
+
+    private static final class Window {
+
+        private final List<Comment> comments = new ArrayList<>();
+        private final long loadedAt;
+        private boolean hasOlder;
+        private long bytes;
+
+        Window(final boolean hasOlder, final long loadedAt) {
+            this.hasOlder = hasOlder;
+            this.loadedAt = loadedAt;
+        }
+
+        long add(final Comment comment) {
+            long size = sizeOf(comment);
+            comments.add(comment);
+            bytes += size;
+            return size;
+        }
+
+        long removeFirst() {
+            long size = sizeOf(comments.removeFirst());
+            bytes -= size;
+            return size;
+        }
+
+        long remove(final Long commentId) {
+            for (Iterator<Comment> iterator = comments.iterator(); iterator.hasNext(); ) {
+                Comment comment = iterator.next();
+                if (commentId.equals(comment.getId())) {
+                    iterator.remove();
+                    long size = sizeOf(comment);
+                    bytes -= size;
+                    return size;
+                }
+            }
+            return 0;
+        }
+
+        Optional<CommentPage> before(final Long before, final int limit) {
+            List<Comment> page = new ArrayList<>(Math.min(limit, comments.size()));
+            int index = comments.size() - 1;
+            while (index >= 0 && before != null && comments.get(index).getSeq() >= before) {
+                index--;
+            }
+            for (; index >= 0 && page.size() < limit; index--) {
+                page.add(comments.get(index));
+            }
+            boolean hasMore = index >= 0 || hasOlder;
+            if (page.size() < limit && hasOlder) {
+                return Optional.empty();
+            }
+            return Optional.of(new CommentPage(page, page.isEmpty() ? null : page.getLast().getSeq(), hasMore));
+        }
+
+        Optional<CommentPage> after(final long since, final int limit) {
+            if (hasOlder && (comments.isEmpty() || since < comments.getFirst().getSeq() - 1)) {
+                return Optional.empty();
+            }
+            List<Comment> page = new ArrayList<>(Math.min(limit, comments.size()));
+            int index = 0;
+            while (index < comments.size() && comments.get(index).getSeq() <= since) {
+                index++;
+            }
+            for (; index < comments.size() && page.size() < limit; index++) {
+                page.add(comments.get(index));
+            }
+            boolean hasMore = index < comments.size();
+            return Optional.of(new CommentPage(page, page.isEmpty() ? null : page.getLast().getSeq(), hasMore));
+        }
+    }
+}
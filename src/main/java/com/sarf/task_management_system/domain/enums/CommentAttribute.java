@@ -0,0 +1,13 @@
+package com.sarf.task_management_system.domain.enums;
+
+public enum CommentAttribute {
+
+    ID,
+    TASK_ID,
+    PARENT_ID,
+    SEQ,
+    CONTENT,
+    AUTHOR_ID,
+    AUTHOR,
+    CREATED_AT,
+}
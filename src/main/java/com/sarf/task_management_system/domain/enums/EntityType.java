@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.domain.enums;
+
+public enum EntityType {
+
+    TASK,
+    COMMENT,
+    /**
+     * Пользователь перестал быть исполнителем задачи и больше ее не видит; для его локальной копии
+     * это равносильно удалению задачи.
+     */
+    TASK_ACCESS,
+    /**
+     * Пользователь стал исполнителем задачи. Старые комментарии задачи имеют номера изменений ниже курсора
+     * его клиента и в дельту не попадут, поэтому клиент загружает комментарии этой задачи целиком.
+     */
+    TASK_GRANT,
+}
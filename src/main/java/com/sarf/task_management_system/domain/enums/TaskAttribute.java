@@ -0,0 +1,14 @@
+package com.sarf.task_management_system.domain.enums;
+
+public enum TaskAttribute {
+
+    ID,
+    TITLE,
+    DESCRIPTION,
+    PRIORITY,
+    STATUS,
+    AUTHOR_ID,
+    AUTHOR,
+    ASSIGNEE_ID,
+    ASSIGNEE,
+}
@@ -0,0 +1,7 @@
+package com.sarf.task_management_system.domain.enums;
+
+public enum TaskField {
+
+    STATUS,
+    ASSIGNEE,
+}
@@ -0,0 +1,24 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.models.Comment;
+
+import java.time.Instant;
+
+public record CommentAdded(Long commentId,
+                           Long authorId,
+                           Long taskId,
+                           Long taskAuthorId,
+                           Long taskAssigneeId,
+                           Instant occurredAt) implements DomainEvent {
+
+    public static CommentAdded of(final Comment comment) {
+        return new CommentAdded(
+                comment.getId(),
+                DomainEvent.idOf(comment.getAuthor()),
+                comment.getTask().getId(),
+                DomainEvent.idOf(comment.getTask().getAuthor()),
+                DomainEvent.idOf(comment.getTask().getAssignee()),
+                Instant.now()
+        );
+    }
+}
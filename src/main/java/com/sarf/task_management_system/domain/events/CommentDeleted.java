@@ -0,0 +1,14 @@
+package com.sarf.task_management_system.domain.events;
+
+import java.time.Instant;
+
+public record CommentDeleted(Long commentId,
+                             Long taskId,
+                             Long taskAuthorId,
+                             Long taskAssigneeId,
+                             Instant occurredAt) implements DomainEvent {
+
+    public static CommentDeleted of(final Long commentId, final Long taskId) {
+        return new CommentDeleted(commentId, taskId, null, null, Instant.now());
+    }
+}
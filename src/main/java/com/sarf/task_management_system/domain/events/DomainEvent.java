@@ -0,0 +1,30 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+
+import java.time.Instant;
+
+/**
+ * Доменное событие об изменении задачи или комментария.
+ * <p>
+ * События публикуются сервисами через {@link org.springframework.context.ApplicationEventPublisher}
+ * и доставляются слушателям после фиксации транзакции, в которой произошло изменение.
+ * Каждое событие содержит идентификатор задачи, а также, если они известны в момент публикации,
+ * автора и исполнителя задачи, чтобы слушатели могли маршрутизировать его без обращения к базе данных.
+ * </p>
+ */
+public sealed interface DomainEvent
+        permits TaskCreated, TaskStatusChanged, TaskReassigned, TaskDeleted, CommentAdded, CommentDeleted {
+
+    Long taskId();
+
+    Long taskAuthorId();
+
+    Long taskAssigneeId();
+
+    Instant occurredAt();
+
+    static Long idOf(final ApplicationUser user) {
+        return user == null ? null : user.getId();
+    }
+}
@@ -0,0 +1,216 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.config.EventBusProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Внутрипроцессная асинхронная шина доменных событий.
+ * <p>
+ * Принимает опубликованные сервисами события после фиксации транзакции, помечает их идентификатором
+ * записавшей транзакции из {@link TransactionIds} и раскладывает по ограниченным очередям — по одной на каждого {@link DomainEventListener}. Каждую очередь разбирает выделенный
+ * поток-потребитель, поэтому время записи не зависит от количества и скорости слушателей.
+ * Потребитель забирает из очереди все накопившиеся события (не больше {@code events.bus.max-batch})
+ * и передает их слушателю одной пачкой: при росте нагрузки пачки укрупняются сами, а в простое
+ * событие обрабатывается сразу.
+ * При переполнении очереди применяется {@link OverflowPolicy} слушателя, которую можно переопределить
+ * свойством {@code events.bus.overflow.<имя слушателя>}. Для {@link OverflowPolicy#SPILL} очередь слушателя
+ * вмещает {@code events.bus.capacity + events.bus.spill-capacity} событий и остается единой, поэтому события
+ * доходят до слушателя в порядке постановки; когда заполнена и она, применяется {@code events.bus.spill-fallback},
+ * чтобы медленный слушатель не исчерпал память процесса.
+ * </p>
+ * <p>
+ * Для каждой очереди публикуются метрики: глубина ({@code events.bus.depth}), возраст самого старого
+ * необработанного события ({@code events.bus.lag}), отброшенные и перенесенные в переполнение события,
+ * события, не поместившиеся в очередь переполнения ({@code events.bus.spill.rejected}), и время обработки.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DomainEventBus {
+
+    private final List<DomainEventListener> listeners;
+    private final EventBusProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionIds transactionIds;
+
+    private final List<ListenerQueue> queues = new ArrayList<>();
+
+    @PostConstruct
+    public void start() {
+        for (DomainEventListener listener : listeners) {
+            OverflowPolicy policy = properties.getOverflow()
+                    .getOrDefault(listener.name(), listener.overflowPolicy());
+            ListenerQueue queue = new ListenerQueue(listener, policy);
+            queues.add(queue);
+            queue.start();
+            log.info("Event bus listener '{}' started with capacity {} and {} overflow policy",
+                    listener.name(), properties.getCapacity(), policy);
+        }
+    }
+
+    /**
+     * Принимает событие после фиксации транзакции и раскладывает его по очередям слушателей.
+     *
+     * @param event доменное событие.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(final DomainEvent event) {
+        Envelope envelope = new Envelope(event, transactionIds.current(), System.nanoTime());
+        for (ListenerQueue queue : queues) {
+            queue.offer(envelope);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        queues.forEach(ListenerQueue::stop);
+    }
+
+    private record Envelope(DomainEvent event, long transactionId, long enqueuedAt) {
+    }
+
+    private class ListenerQueue implements Runnable {
+
+        private final DomainEventListener listener;
+        private final OverflowPolicy policy;
+        private final BlockingQueue<Envelope> queue;
+        private final Counter dropped;
+        private final Counter overflowed;
+        private final Counter spillRejected;
+        private final Timer processing;
+        private volatile boolean running = true;
+        private Thread consumer;
+
+        ListenerQueue(final DomainEventListener listener, final OverflowPolicy policy) {
+            this.listener = listener;
+            this.policy = policy;
+            this.queue = policy == OverflowPolicy.SPILL
+                    ? new LinkedBlockingQueue<>(properties.getCapacity() + properties.getSpillCapacity())
+                    : new ArrayBlockingQueue<>(properties.getCapacity());
+
+            String name = listener.name();
+            Gauge.builder("events.bus.depth", this, ListenerQueue::depth)
+                    .tag("listener", name)
+                    .register(meterRegistry);
+            Gauge.builder("events.bus.lag", this, ListenerQueue::lagMillis)
+                    .tag("listener", name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("events.bus.dropped").tag("listener", name).register(meterRegistry);
+            this.overflowed = Counter.builder("events.bus.spilled").tag("listener", name).register(meterRegistry);
+            this.spillRejected = Counter.builder("events.bus.spill.rejected").tag("listener", name).register(meterRegistry);
+            this.processing = Timer.builder("events.bus.processing").tag("listener", name).register(meterRegistry);
+        }
+
+        void start() {
+            consumer = Thread.ofPlatform()
+                    .name("event-bus-" + listener.name())
+                    .daemon()
+                    .start(this);
+        }
+
+        void stop() {
+            running = false;
+            if (consumer != null) {
+                consumer.interrupt();
+            }
+        }
+
+        void offer(final Envelope envelope) {
+            if (queue.offer(envelope)) {
+                if (policy == OverflowPolicy.SPILL && queue.size() > properties.getCapacity()) {
+                    overflowed.increment();
+                }
+                return;
+            }
+            OverflowPolicy fallback = policy;
+            if (policy == OverflowPolicy.SPILL) {
+                spillRejected.increment();
+                fallback = properties.getSpillFallback();
+            }
+            if (fallback == OverflowPolicy.BLOCK) {
+                offerBlocking(envelope);
+            } else {
+                drop(envelope.event());
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Envelope> batch = new ArrayList<>();
+            while (running) {
+                try {
+                    Envelope head = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (head != null) {
+                        batch.add(head);
+                        queue.drainTo(batch, properties.getMaxBatch() - 1);
+                        handle(batch);
+                        batch.clear();
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void handle(final List<Envelope> batch) {
+            List<DomainEvent> events = batch.stream()
+                    .map(Envelope::event)
+                    .toList();
+            long[] transactionIds = batch.stream()
+                    .mapToLong(Envelope::transactionId)
+                    .toArray();
+            processing.record(() -> {
+                try {
+                    listener.onEvents(events, transactionIds);
+                } catch (Exception exception) {
+                    log.error("Event bus listener '{}' failed on batch of {} events",
+                            listener.name(), events.size(), exception);
+                }
+            });
+        }
+
+        private void offerBlocking(final Envelope envelope) {
+            try {
+                if (queue.offer(envelope, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            drop(envelope.event());
+        }
+
+        private void drop(final DomainEvent event) {
+            dropped.increment();
+            log.warn("Event bus queue of '{}' is full, dropping {}", listener.name(), event.getClass().getSimpleName());
+        }
+
+        private double depth() {
+            return queue.size();
+        }
+
+        private double lagMillis() {
+            Envelope head = queue.peek();
+            return head == null ? 0 : (System.nanoTime() - head.enqueuedAt()) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sarf.task_management_system.domain.events;
+
+import java.util.List;
+
+/**
+ * Асинхронный слушатель доменных событий.
+ * <p>
+ * Каждый слушатель получает собственную ограниченную очередь в {@link DomainEventBus} и выделенный поток-потребитель,
+ * поэтому медленный слушатель не задерживает ни запись, ни других слушателей.
+ * </p>
+ */
+public interface DomainEventListener {
+
+    /**
+     * Обрабатывает событие в потоке-потребителе шины.
+     *
+     * @param event доменное событие.
+     */
+    void onEvent(DomainEvent event);
+
+    /**
+     * Обрабатывает пачку событий, накопившихся в очереди к моменту выборки.
+     * Слушатели, которым выгодна групповая запись, переопределяют этот метод.
+     *
+     * @param events события в порядке публикации.
+     */
+    default void onEvents(final List<DomainEvent> events) {
+        events.forEach(this::onEvent);
+    }
+
+    /**
+     * Обрабатывает пачку событий вместе с идентификаторами записавших их транзакций из {@link TransactionIds}.
+     * Переопределяется слушателями, которым важно отличать события, уже учтенные в снимке базы данных.
+     *
+     * @param events события в порядке публикации.
+     * @param transactionIds идентификаторы транзакций; {@code transactionIds[i]} соответствует {@code events.get(i)}.
+     */
+    default void onEvents(final List<DomainEvent> events, final long[] transactionIds) {
+        onEvents(events);
+    }
+
+    /**
+     * Имя слушателя, используемое в метриках, именах потоков и настройках.
+     *
+     * @return имя слушателя.
+     */
+    String name();
+
+    /**
+     * Политика переполнения по умолчанию, если она не переопределена в настройках.
+     *
+     * @return политика переполнения.
+     */
+    default OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.DROP;
+    }
+}
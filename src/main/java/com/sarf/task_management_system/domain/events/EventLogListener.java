@@ -0,0 +1,38 @@
+package com.sarf.task_management_system.domain.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Журнал доменных событий.
+ * <p>
+ * Пишет информационные сообщения об изменениях задач и комментариев в потоке-потребителе шины,
+ * а не в потоке запроса.
+ * </p>
+ */
+@Slf4j
+@Component
+public class EventLogListener implements DomainEventListener {
+
+    @Override
+    public void onEvent(final DomainEvent event) {
+        switch (event) {
+            case TaskCreated created -> log.info("Task {} created by user {}",
+                    created.taskId(), created.taskAuthorId());
+            case TaskStatusChanged changed -> log.info("Task {} status changed from {} to {}",
+                    changed.taskId(), changed.oldStatus(), changed.newStatus());
+            case TaskReassigned reassigned -> log.info("Task {} reassigned from user {} to user {}",
+                    reassigned.taskId(), reassigned.oldAssigneeId(), reassigned.taskAssigneeId());
+            case TaskDeleted deleted -> log.info("Task {} deleted", deleted.taskId());
+            case CommentAdded added -> log.info("Comment {} added to task {} by user {}",
+                    added.commentId(), added.taskId(), added.authorId());
+            case CommentDeleted deleted -> log.info("Comment {} deleted from task {}",
+                    deleted.commentId(), deleted.taskId());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "log";
+    }
+}
@@ -0,0 +1,24 @@
+package com.sarf.task_management_system.domain.events;
+
+/**
+ * Поведение очереди слушателя при переполнении.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Публикующий поток ждет освобождения места не дольше настроенного времени, затем событие отбрасывается.
+     */
+    BLOCK,
+
+    /**
+     * Событие отбрасывается сразу.
+     */
+    DROP,
+
+    /**
+     * Очередь слушателя продолжается сверх {@code events.bus.capacity} еще на {@code events.bus.spill-capacity}
+     * событий с сохранением порядка; когда заполнена и она, применяется {@code events.bus.spill-fallback} —
+     * {@link #BLOCK} (ожидание места в той же очереди) или {@link #DROP}.
+     */
+    SPILL,
+}
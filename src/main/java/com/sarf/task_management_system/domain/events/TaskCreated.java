@@ -0,0 +1,26 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.models.Task;
+
+import java.time.Instant;
+
+public record TaskCreated(Long taskId,
+                          Long taskAuthorId,
+                          Long taskAssigneeId,
+                          Priority priority,
+                          Status status,
+                          Instant occurredAt) implements DomainEvent {
+
+    public static TaskCreated of(final Task task) {
+        return new TaskCreated(
+                task.getId(),
+                DomainEvent.idOf(task.getAuthor()),
+                DomainEvent.idOf(task.getAssignee()),
+                task.getPriority(),
+                task.getStatus(),
+                Instant.now()
+        );
+    }
+}
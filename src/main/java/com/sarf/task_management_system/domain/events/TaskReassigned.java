@@ -0,0 +1,30 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.models.Task;
+
+import java.time.Instant;
+
+public record TaskReassigned(Long taskId,
+                             Long taskAuthorId,
+                             Long taskAssigneeId,
+                             Priority priority,
+                             Status status,
+                             Long oldAssigneeId,
+                             Long actorId,
+                             Instant occurredAt) implements DomainEvent {
+
+    public static TaskReassigned of(final Task task, final Status status, final Long oldAssigneeId, final Long actorId) {
+        return new TaskReassigned(
+                task.getId(),
+                DomainEvent.idOf(task.getAuthor()),
+                DomainEvent.idOf(task.getAssignee()),
+                task.getPriority(),
+                status,
+                oldAssigneeId,
+                actorId,
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.models.Task;
+
+import java.time.Instant;
+
+public record TaskStatusChanged(Long taskId,
+                                Long taskAuthorId,
+                                Long taskAssigneeId,
+                                Priority priority,
+                                Status oldStatus,
+                                Status newStatus,
+                                Long actorId,
+                                Instant occurredAt) implements DomainEvent {
+
+    public static TaskStatusChanged of(final Task task, final Status oldStatus, final Long actorId) {
+        return new TaskStatusChanged(
+                task.getId(),
+                DomainEvent.idOf(task.getAuthor()),
+                DomainEvent.idOf(task.getAssignee()),
+                task.getPriority(),
+                oldStatus,
+                task.getStatus(),
+                actorId,
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,70 @@
+package com.sarf.task_management_system.domain.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Идентификаторы транзакций базы данных, опубликовавших доменные события.
+ * <p>
+ * Перед фиксацией транзакции, опубликовавшей хотя бы одно событие, ее идентификатор читается через
+ * {@code pg_current_xact_id()} — один раз на транзакцию — и хранится до ее завершения, поэтому
+ * {@link DomainEventBus}, получающий события после фиксации, передает слушателям идентификатор записавшей их
+ * транзакции. Слушатель, пересчитывающий состояние по снимку базы, сравнивает его с {@link TransactionSnapshot}
+ * и пропускает события, изменения которых снимок уже видит. Событие, опубликованное вне транзакции или без
+ * прочитанного идентификатора, получает {@code 0} и никогда не пропускается.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionIds {
+
+    private static final String SELECT_CURRENT = "SELECT pg_current_xact_id()::text::bigint";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Запоминает идентификатор текущей транзакции перед ее фиксацией.
+     *
+     * @param event опубликованное в транзакции событие.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void capture(final DomainEvent event) {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        Long id;
+        try {
+            id = jdbcTemplate.queryForObject(SELECT_CURRENT, Long.class);
+        } catch (RuntimeException exception) {
+            log.warn("Could not read transaction id for {}: {}", event.getClass().getSimpleName(), exception.getMessage());
+            return;
+        }
+        if (id == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionIds.this);
+            }
+        });
+    }
+
+    /**
+     * Возвращает идентификатор текущей транзакции, запомненный перед ее фиксацией.
+     *
+     * @return идентификатор транзакции или {@code 0}, если он неизвестен.
+     */
+    public long current() {
+        Object id = TransactionSynchronizationManager.getResource(this);
+        return id == null ? 0 : (Long) id;
+    }
+}
@@ -0,0 +1,51 @@
+package com.sarf.task_management_system.domain.events;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Снимок базы данных в формате {@code pg_current_snapshot()}: {@code xmin:xmax:xip,...}.
+ * <p>
+ * Транзакция видна в снимке, если она завершилась до его создания: ее идентификатор меньше {@code xmin}
+ * либо меньше {@code xmax} и не входит в список выполнявшихся. События приходят только от зафиксированных
+ * транзакций, поэтому для них видимость означает, что изменения события уже учтены в данных снимка.
+ * </p>
+ *
+ * @param xmin наименьший идентификатор транзакции, еще выполнявшейся в момент снимка.
+ * @param xmax идентификатор, начиная с которого транзакции в снимке не видны.
+ * @param inProgress транзакции между {@code xmin} и {@code xmax}, выполнявшиеся в момент снимка.
+ */
+public record TransactionSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+    /**
+     * Разбирает текстовое представление {@code pg_snapshot}.
+     *
+     * @param text снимок, например {@code 10:20:12,15}.
+     * @return разобранный снимок.
+     * @throws IllegalArgumentException если строка не является снимком.
+     */
+    public static TransactionSnapshot parse(final String text) {
+        String[] parts = text.split(":", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid snapshot: " + text);
+        }
+        Set<Long> inProgress = parts[2].isEmpty()
+                ? Set.of()
+                : Arrays.stream(parts[2].split(",")).map(Long::valueOf).collect(Collectors.toUnmodifiableSet());
+        return new TransactionSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+    }
+
+    /**
+     * Проверяет, видны ли в снимке изменения зафиксированной транзакции.
+     *
+     * @param transactionId идентификатор транзакции; {@code 0} — неизвестен.
+     * @return {@code true}, если изменения транзакции уже учтены в снимке.
+     */
+    public boolean includes(final long transactionId) {
+        if (transactionId <= 0) {
+            return false;
+        }
+        return transactionId < xmin || transactionId < xmax && !inProgress.contains(transactionId);
+    }
+}
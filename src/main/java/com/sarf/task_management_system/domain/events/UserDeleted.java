@@ -0,0 +1,4 @@
+package com.sarf.task_management_system.domain.events;
+
+public record UserDeleted(Long userId) {
+}
@@ -0,0 +1,13 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+
+import java.util.List;
+
+public record UserRegistered(Long userId, List<Role> roles) {
+
+    public static UserRegistered of(final ApplicationUser user) {
+        return new UserRegistered(user.getId(), user.getRoles());
+    }
+}
@@ -0,0 +1,8 @@
+package com.sarf.task_management_system.domain.exceptions;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sarf.task_management_system.domain.exceptions;
+
+public class LockTimeoutException extends RuntimeException {
+
+    public LockTimeoutException(final String message) {
+        super(message);
+    }
+}
@@ -1,17 +1,55 @@
 package com.sarf.task_management_system.domain.factories;
 
 import com.sarf.task_management_system.domain.security.JwtTokenProvider;
+import com.sarf.task_management_system.web.dto.response.ArchivedCommentResponse;
+import com.sarf.task_management_system.web.dto.response.ArchivedTaskResponse;
+import com.sarf.task_management_system.web.dto.response.ClaimResponse;
+import com.sarf.task_management_system.web.dto.response.CommentNodeResponse;
+import com.sarf.task_management_system.web.dto.response.CommentPageResponse;
 import com.sarf.task_management_system.web.dto.response.CommentResponse;
+import com.sarf.task_management_system.web.dto.response.CommentThreadResponse;
+import com.sarf.task_management_system.web.dto.response.CountResponse;
+import com.sarf.task_management_system.web.dto.response.FeedEntryResponse;
+import com.sarf.task_management_system.web.dto.response.FeedPageResponse;
 import com.sarf.task_management_system.web.dto.response.JwtResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedCommentPageResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedCommentResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedTaskListResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedTaskResponse;
+import com.sarf.task_management_system.web.dto.response.SparseCommentPageResponse;
+import com.sarf.task_management_system.web.dto.response.SyncResponse;
+import com.sarf.task_management_system.web.dto.response.TaskDetailResponse;
+import com.sarf.task_management_system.web.dto.response.TaskHistoryResponse;
 import com.sarf.task_management_system.web.dto.response.TaskResponse;
+import com.sarf.task_management_system.web.dto.response.TaskStatsResponse;
+import com.sarf.task_management_system.web.dto.response.TombstoneResponse;
 import com.sarf.task_management_system.web.dto.response.UserResponse;
 import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.ArchivedComment;
+import com.sarf.task_management_system.domain.models.ArchivedTask;
+import com.sarf.task_management_system.domain.models.ChangeSet;
 import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.CommentThread;
+import com.sarf.task_management_system.domain.models.Count;
+import com.sarf.task_management_system.domain.models.FeedEntry;
+import com.sarf.task_management_system.domain.models.FeedPage;
+import com.sarf.task_management_system.domain.models.SparsePage;
 import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.models.TaskDetail;
+import com.sarf.task_management_system.domain.models.TaskHistoryEntry;
+import com.sarf.task_management_system.domain.models.TaskStats;
+import com.sarf.task_management_system.domain.models.Tombstone;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 @RequiredArgsConstructor
 public class ResponseFactory {
@@ -42,14 +80,207 @@ public class ResponseFactory {
         return response;
     }
 
+    public static TaskDetailResponse createTaskDetail(TaskDetail detail) {
+        Task task = detail.task();
+        return new TaskDetailResponse(
+                createTask(task),
+                task.getAuthor() == null ? null : createUser(task.getAuthor()),
+                task.getAssignee() == null ? null : createUser(task.getAssignee()),
+                detail.comments().comments().stream()
+                        .map(ResponseFactory::createComment)
+                        .toList(),
+                detail.comments().cursor(),
+                detail.comments().hasMore(),
+                task.getCommentCount(),
+                detail.unread()
+        );
+    }
+
     public static CommentResponse createComment(Comment comment) {
         CommentResponse response = new CommentResponse();
 
         response.setId(comment.getId());
+        response.setTaskId(comment.getTask().getId());
+        response.setParentId(comment.getParentId());
+        response.setSeq(comment.getSeq());
         response.setContent(comment.getContent());
         response.setAuthor(
                 createUser(comment.getAuthor())
         );
+        response.setCreatedAt(comment.getCreatedAt());
+
+        return response;
+    }
+
+    public static CommentThreadResponse createCommentThread(CommentThread thread) {
+        Map<Long, CommentNodeResponse> nodes = new HashMap<>();
+        List<CommentNodeResponse> roots = new ArrayList<>();
+        for (Comment comment : thread.comments()) {
+            CommentNodeResponse node = new CommentNodeResponse(createComment(comment), new ArrayList<>());
+            CommentNodeResponse parent = comment.getParentId() == null ? null : nodes.get(comment.getParentId());
+            (parent == null ? roots : parent.getReplies()).add(node);
+            nodes.put(comment.getId(), node);
+        }
+        return new CommentThreadResponse(roots, thread.cursor(), thread.hasMore());
+    }
+
+    public static CommentPageResponse createCommentPage(CommentPage page) {
+        return new CommentPageResponse(
+                page.comments().stream()
+                        .map(ResponseFactory::createComment)
+                        .toList(),
+                page.cursor(),
+                page.hasMore()
+        );
+    }
+
+    public static FeedEntryResponse createFeedEntry(FeedEntry entry) {
+        return new FeedEntryResponse(
+                entry.id(),
+                entry.type(),
+                entry.taskId(),
+                entry.actorId(),
+                entry.commentId(),
+                entry.content(),
+                entry.oldStatus(),
+                entry.newStatus(),
+                entry.occurredAt()
+        );
+    }
+
+    public static FeedPageResponse createFeedPage(FeedPage page) {
+        return new FeedPageResponse(
+                page.entries().stream()
+                        .map(ResponseFactory::createFeedEntry)
+                        .toList(),
+                page.cursor(),
+                page.hasMore()
+        );
+    }
+
+    public static NormalizedTaskListResponse createNormalizedTasks(List<Task> tasks) {
+        Map<Long, UserResponse> users = new LinkedHashMap<>();
+        List<NormalizedTaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add(new NormalizedTaskResponse(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getPriority(),
+                    task.getStatus(),
+                    intern(users, task.getAuthor()),
+                    intern(users, task.getAssignee())
+            ));
+        }
+        return new NormalizedTaskListResponse(responses, users);
+    }
+
+    public static NormalizedCommentPageResponse createNormalizedCommentPage(CommentPage page) {
+        Map<Long, UserResponse> users = new LinkedHashMap<>();
+        List<NormalizedCommentResponse> responses = new ArrayList<>(page.comments().size());
+        for (Comment comment : page.comments()) {
+            responses.add(new NormalizedCommentResponse(
+                    comment.getId(),
+                    comment.getTask().getId(),
+                    comment.getParentId(),
+                    comment.getSeq(),
+                    comment.getContent(),
+                    intern(users, comment.getAuthor()),
+                    comment.getCreatedAt()
+            ));
+        }
+        return new NormalizedCommentPageResponse(responses, users, page.cursor(), page.hasMore());
+    }
+
+    public static SparseCommentPageResponse createSparseCommentPage(SparsePage page) {
+        return new SparseCommentPageResponse(page.items(), page.cursor(), page.hasMore());
+    }
+
+    public static TombstoneResponse createTombstone(Tombstone tombstone) {
+        return new TombstoneResponse(
+                tombstone.getEntityType(),
+                tombstone.getEntityId(),
+                tombstone.getTaskId()
+        );
+    }
+
+    public static TaskHistoryResponse createHistory(TaskHistoryEntry entry) {
+        return new TaskHistoryResponse(
+                entry.taskId(),
+                entry.field(),
+                entry.oldValue(),
+                entry.newValue(),
+                entry.changedBy(),
+                entry.changedAt()
+        );
+    }
+
+    public static TaskStatsResponse createStats(TaskStats stats) {
+        return new TaskStatsResponse(
+                stats.userId(),
+                stats.byStatus(),
+                stats.byPriority(),
+                stats.total()
+        );
+    }
+
+    public static ClaimResponse createClaim(Task task) {
+        return new ClaimResponse(createTask(task), task.getLeaseExpiresAt());
+    }
+
+    public static CountResponse createCount(Count count) {
+        return new CountResponse(count.value(), count.exact());
+    }
+
+    public static ArchivedTaskResponse createArchivedTask(ArchivedTask task) {
+        return new ArchivedTaskResponse(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.priority(),
+                task.status(),
+                task.authorId(),
+                task.assigneeId(),
+                task.commentCount(),
+                task.completedAt(),
+                task.archivedAt()
+        );
+    }
+
+    public static ArchivedCommentResponse createArchivedComment(ArchivedComment comment) {
+        return new ArchivedCommentResponse(
+                comment.id(),
+                comment.taskId(),
+                comment.seq(),
+                comment.parentId(),
+                comment.authorId(),
+                comment.content(),
+                comment.createdAt(),
+                comment.updatedAt()
+        );
+    }
+
+    public static SyncResponse createSync(ChangeSet changes) {
+        SyncResponse response = new SyncResponse();
+
+        response.setTasks(
+                changes.tasks().stream()
+                        .map(ResponseFactory::createTask)
+                        .toList()
+        );
+        response.setComments(
+                changes.comments().stream()
+                        .map(ResponseFactory::createComment)
+                        .toList()
+        );
+        response.setDeleted(
+                changes.tombstones().stream()
+                        .map(ResponseFactory::createTombstone)
+                        .toList()
+        );
+        response.setCursor(changes.cursor());
+        response.setHasMore(changes.hasMore());
+        response.setReset(changes.reset());
 
         return response;
     }
@@ -70,4 +301,12 @@ public class ResponseFactory {
                 refreshToken
         );
     }
+
+    private static Long intern(Map<Long, UserResponse> users, ApplicationUser user) {
+        if (user == null) {
+            return null;
+        }
+        users.computeIfAbsent(user.getId(), id -> createUser(user));
+        return user.getId();
+    }
 }
@@ -0,0 +1,52 @@
+package com.sarf.task_management_system.domain.ids;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+/**
+ * Генератор Hibernate для {@link TimeOrderedId}.
+ * <p>
+ * Идентификатор известен до выполнения {@code INSERT}, поэтому вставки можно объединять в JDBC-пакеты.
+ * Экземпляр {@link TsidGenerator} с номером узла передается через настройку {@link #SETTING}
+ * при создании фабрики сессий и общий для всех сущностей.
+ * </p>
+ */
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+    public static final String SETTING = "task_management_system.id_generator";
+
+    private final transient TsidGenerator generator;
+
+    public TimeOrderedIdGenerator(final TimeOrderedId config,
+                                  final Member member,
+                                  final CustomIdGeneratorCreationContext context) {
+        Object value = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(SETTING);
+        if (!(value instanceof TsidGenerator tsidGenerator)) {
+            throw new IllegalStateException("Hibernate setting %s must hold a TsidGenerator".formatted(SETTING));
+        }
+        this.generator = tsidGenerator;
+    }
+
+    @Override
+    public Object generate(final SharedSessionContractImplementor session,
+                           final Object owner,
+                           final Object currentValue,
+                           final EventType eventType) {
+        return generator.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
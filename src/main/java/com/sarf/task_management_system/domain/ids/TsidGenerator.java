@@ -0,0 +1,69 @@
+package com.sarf.task_management_system.domain.ids;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор 64-битных идентификаторов, упорядоченных по времени (в стиле TSID/Snowflake).
+ * <p>
+ * Идентификатор состоит из 42 бит миллисекунд от {@link #EPOCH}, 10 бит номера узла и 12 бит
+ * порядкового номера внутри миллисекунды. Идентификаторы разных узлов не пересекаются, а сортировка по ним
+ * совпадает с порядком создания с точностью до миллисекунды, поэтому они подходят для keyset-пагинации.
+ * </p>
+ * <p>
+ * Состояние (последняя миллисекунда и порядковый номер) упаковано в один {@link AtomicLong} и меняется
+ * через CAS без блокировок. При переполнении порядкового номера или отставании системных часов
+ * генератор «занимает» следующую миллисекунду, а не ждет: идентификаторы узла всегда строго возрастают.
+ * </p>
+ */
+public class TsidGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    public static final int NODE_BITS = 10;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+
+    private final long node;
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param node номер узла от {@code 0} до {@link #MAX_NODE}.
+     * @throws IllegalArgumentException если номер узла вне допустимого диапазона.
+     */
+    public TsidGenerator(final int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node must be between 0 and %d, got %d".formatted(MAX_NODE, node));
+        }
+        this.node = node;
+    }
+
+    /**
+     * Выдает следующий идентификатор.
+     *
+     * @return идентификатор, больший всех ранее выданных этим генератором.
+     */
+    public long next() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long current;
+        long next;
+        do {
+            current = state.get();
+            next = now > current ? now : current + 1;
+        } while (!state.compareAndSet(current, next));
+        long millis = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return millis << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | sequence;
+    }
+
+    /**
+     * Возвращает момент создания, закодированный в идентификаторе.
+     *
+     * @param id идентификатор, выданный генератором.
+     * @return момент создания с точностью до миллисекунды.
+     */
+    public static Instant instantOf(final long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+}
@@ -0,0 +1,131 @@
+package com.sarf.task_management_system.domain.locks;
+
+import com.sarf.task_management_system.config.TaskLockProperties;
+import com.sarf.task_management_system.domain.exceptions.LockTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Внутрипроцессные блокировки изменений задач.
+ * <p>
+ * Изменения одной задачи (обновление, удаление, добавление и удаление комментариев) на одном узле выполняются
+ * по очереди: транзакция берет блокировку полосы, в которую попадает идентификатор задачи, и держит ее до
+ * завершения транзакции, включая фиксацию. Поэтому параллельные запросы к «горячей» задаче ждут друг друга
+ * в памяти, а не на строковых блокировках базы данных, где конкурирующие {@code UPDATE} и внешние ключи
+ * комментариев приводили к взаимоблокировкам. Конфликты между узлами по-прежнему разрешает база данных.
+ * </p>
+ * <p>
+ * Полос фиксированное количество ({@code task-lock.stripes}, округляется до степени двойки), поэтому память
+ * не растет вместе с числом задач; разные задачи изредка делят полосу. Блокировки справедливые: ожидающие
+ * получают полосу в порядке очереди. Ожидание ограничено {@code task-lock.timeout}, после чего выбрасывается
+ * {@link LockTimeoutException}. Время ожидания и удержания публикуется метриками {@code tasks.lock.wait}
+ * и {@code tasks.lock.hold}, число тайм-аутов — счетчиком {@code tasks.lock.timeouts}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TaskLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final Timer waitTimer;
+    private final Timer holdTimer;
+    private final Counter timeouts;
+
+    public TaskLocks(final TaskLockProperties properties, final MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.waitTimer = Timer.builder("tasks.lock.wait").register(meterRegistry);
+        this.holdTimer = Timer.builder("tasks.lock.hold").register(meterRegistry);
+        this.timeouts = Counter.builder("tasks.lock.timeouts").register(meterRegistry);
+    }
+
+    /**
+     * Берет блокировку задачи до завершения текущей транзакции.
+     * <p>
+     * Повторный вызов в той же транзакции для той же полосы не блокирует поток.
+     * </p>
+     *
+     * @param taskId идентификатор задачи.
+     * @throws LockTimeoutException если блокировку не удалось получить за отведенное время.
+     * @throws IllegalStateException если вызов выполнен вне транзакции.
+     */
+    public void lock(final Long taskId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task lock requires an active transaction");
+        }
+        ReentrantLock stripe = stripeOf(taskId);
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = stripe.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long acquiredAt = System.nanoTime();
+        waitTimer.record(acquiredAt - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            timeouts.increment();
+            log.warn("Timed out waiting for lock of task {}", taskId);
+            throw new LockTimeoutException("Task %d is busy, try again later".formatted(taskId));
+        }
+
+        releaseOnCompletion(stripe, acquiredAt);
+        log.debug("Lock of task {} acquired", taskId);
+    }
+
+    /**
+     * Берет блокировку задачи до завершения текущей транзакции, только если она свободна.
+     * <p>
+     * Используется там, где строка задачи уже заблокирована в базе данных: ожидание полосы в такой транзакции
+     * встречно ожиданию строки транзакцией, держащей полосу, поэтому занятая задача пропускается.
+     * </p>
+     *
+     * @param taskId идентификатор задачи.
+     * @return {@code true}, если блокировка получена.
+     * @throws IllegalStateException если вызов выполнен вне транзакции.
+     */
+    public boolean tryLock(final Long taskId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Task lock requires an active transaction");
+        }
+        ReentrantLock stripe = stripeOf(taskId);
+        if (!stripe.tryLock()) {
+            log.debug("Lock of task {} is busy", taskId);
+            return false;
+        }
+        releaseOnCompletion(stripe, System.nanoTime());
+        log.debug("Lock of task {} acquired", taskId);
+        return true;
+    }
+
+    private void releaseOnCompletion(final ReentrantLock stripe, final long acquiredAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                stripe.unlock();
+                holdTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private ReentrantLock stripeOf(final Long taskId) {
+        int hash = Long.hashCode(taskId);
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
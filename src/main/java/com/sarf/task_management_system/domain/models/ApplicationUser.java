@@ -1,12 +1,16 @@
 package com.sarf.task_management_system.domain.models;
 
 import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.ids.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
@@ -19,7 +23,7 @@ import java.util.Set;
 public class ApplicationUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private long id;
 
     @Column(unique = true)
@@ -31,10 +35,16 @@ public class ApplicationUser {
 
     private List<Role> roles;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "author")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Task> tasksCreatedByUser;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "assignee")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Task> tasksAssignedToUser;
+
+    private Instant deletedAt;
 }
 
@@ -0,0 +1,25 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.time.Instant;
+
+/**
+ * Комментарий архивной задачи.
+ *
+ * @param id идентификатор комментария.
+ * @param taskId идентификатор задачи.
+ * @param seq порядковый номер комментария в задаче.
+ * @param parentId идентификатор комментария, на который дан ответ; {@code null} для комментария верхнего уровня.
+ * @param authorId идентификатор автора.
+ * @param content содержимое комментария.
+ * @param createdAt момент создания комментария.
+ * @param updatedAt момент последнего изменения комментария.
+ */
+public record ArchivedComment(Long id,
+                              Long taskId,
+                              long seq,
+                              Long parentId,
+                              Long authorId,
+                              String content,
+                              Instant createdAt,
+                              Instant updatedAt) {
+}
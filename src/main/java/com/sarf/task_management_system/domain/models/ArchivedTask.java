@@ -0,0 +1,32 @@
+package com.sarf.task_management_system.domain.models;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+
+import java.time.Instant;
+
+/**
+ * Завершенная задача, перенесенная в архив.
+ *
+ * @param id идентификатор задачи.
+ * @param title заголовок задачи.
+ * @param description описание задачи.
+ * @param priority приоритет задачи.
+ * @param status статус задачи на момент архивации.
+ * @param authorId идентификатор автора.
+ * @param assigneeId идентификатор исполнителя.
+ * @param commentCount количество комментариев задачи.
+ * @param completedAt момент последнего изменения задачи перед архивацией.
+ * @param archivedAt момент переноса в архив.
+ */
+public record ArchivedTask(Long id,
+                           String title,
+                           String description,
+                           Priority priority,
+                           Status status,
+                           Long authorId,
+                           Long assigneeId,
+                           long commentCount,
+                           Instant completedAt,
+                           Instant archivedAt) {
+}
@@ -0,0 +1,22 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.util.List;
+
+/**
+ * Набор изменений с момента курсора синхронизации.
+ *
+ * @param tasks созданные или измененные задачи.
+ * @param comments созданные или измененные комментарии.
+ * @param tombstones записи об удаленных задачах и комментариях.
+ * @param cursor курсор, с которого следует запрашивать следующий набор изменений.
+ * @param hasMore {@code true}, если после курсора остались неотданные изменения.
+ * @param reset {@code true}, если записи об удалениях после курсора уже очищены: клиент должен сбросить
+ *              локальную копию и синхронизироваться заново с курсора {@code 0}.
+ */
+public record ChangeSet(List<Task> tasks,
+                        List<Comment> comments,
+                        List<Tombstone> tombstones,
+                        long cursor,
+                        boolean hasMore,
+                        boolean reset) {
+}
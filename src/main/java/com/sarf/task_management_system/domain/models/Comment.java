@@ -1,16 +1,33 @@
 package com.sarf.task_management_system.domain.models;
 
+import com.sarf.task_management_system.domain.ids.TimeOrderedId;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.generator.EventType;
+
+import java.time.Instant;
 
 @Entity
 @Data
 @Table(name = "comments")
-@AllArgsConstructor
+@NoArgsConstructor
 public class Comment {
+
+    /**
+     * Наибольшая глубина вложенности ответов.
+     */
+    public static final int MAX_DEPTH = 32;
+
+    private static final int PATH_SEGMENT = 12;
+    private static final String PATH_FORMAT = "%0" + PATH_SEGMENT + "x";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private long id;
 
     @ManyToOne
@@ -20,4 +37,72 @@ public class Comment {
     private Task task;
 
     private String content;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long seq;
+
+    @Column(updatable = false)
+    private Long parentId;
+
+    @Column(updatable = false, columnDefinition = "varchar(384) collate \"C\"")
+    private String path;
+
+    @Transient
+    private String parentPath;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE}, sql = "nextval('change_seq')")
+    private Long changeSeq;
+
+    public Comment(final ApplicationUser author, final Task task, final String content) {
+        this.author = author;
+        this.task = task;
+        this.content = content;
+    }
+
+    public Comment(final ApplicationUser author, final Task task, final String content, final long seq) {
+        this(author, task, content);
+        assignSeq(seq);
+    }
+
+    public Comment(final long id, final ApplicationUser author, final Task task, final String content) {
+        this(author, task, content);
+        this.id = id;
+    }
+
+    /**
+     * Делает комментарий ответом на указанный комментарий той же задачи.
+     *
+     * @param parent комментарий, на который дается ответ.
+     * @throws IllegalArgumentException если превышена наибольшая глубина вложенности.
+     */
+    public void replyTo(final Comment parent) {
+        if (parent.getPath().length() / PATH_SEGMENT >= MAX_DEPTH) {
+            throw new IllegalArgumentException("Replies can be nested at most %d levels deep".formatted(MAX_DEPTH));
+        }
+        this.parentId = parent.getId();
+        this.parentPath = parent.getPath();
+    }
+
+    /**
+     * Назначает комментарию порядковый номер и материализованный путь.
+     * <p>
+     * Путь — путь родителя, дополненный номером комментария в виде 12 шестнадцатеричных цифр.
+     * Сортировка путей дает обход дерева в глубину с ответами в порядке номеров, а поддерево
+     * комментария — это диапазон путей, начинающихся с его пути.
+     * </p>
+     *
+     * @param seq порядковый номер комментария в задаче.
+     */
+    public void assignSeq(final long seq) {
+        this.seq = seq;
+        this.path = (parentPath == null ? "" : parentPath) + PATH_FORMAT.formatted(seq);
+    }
 }
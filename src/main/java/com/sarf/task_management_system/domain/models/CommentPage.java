@@ -0,0 +1,15 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.util.List;
+
+/**
+ * Страница комментариев, полученная по курсору.
+ *
+ * @param comments комментарии страницы в порядке выдачи.
+ * @param cursor курсор, с которого следует запрашивать следующую страницу; {@code null}, если страница пуста.
+ * @param hasMore {@code true}, если за курсором остались неотданные комментарии.
+ */
+public record CommentPage(List<Comment> comments,
+                          Long cursor,
+                          boolean hasMore) {
+}
@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.util.List;
+
+/**
+ * Часть дерева комментариев в порядке материализованных путей.
+ *
+ * @param comments комментарии в порядке обхода дерева в глубину.
+ * @param cursor путь последнего отданного комментария, с которого следует запрашивать продолжение;
+ *               {@code null}, если комментариев нет.
+ * @param hasMore {@code true}, если за курсором остались неотданные комментарии дерева.
+ */
+public record CommentThread(List<Comment> comments,
+                            String cursor,
+                            boolean hasMore) {
+}
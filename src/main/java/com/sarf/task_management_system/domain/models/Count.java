@@ -0,0 +1,18 @@
+package com.sarf.task_management_system.domain.models;
+
+/**
+ * Результат подсчета строк.
+ *
+ * @param value количество.
+ * @param exact {@code true}, если количество получено точным {@code COUNT(*)}, {@code false} — если это оценка.
+ */
+public record Count(long value, boolean exact) {
+
+    public static Count exact(final long value) {
+        return new Count(value, true);
+    }
+
+    public static Count estimated(final long value) {
+        return new Count(value, false);
+    }
+}
@@ -0,0 +1,30 @@
+package com.sarf.task_management_system.domain.models;
+
+import com.sarf.task_management_system.domain.enums.FeedEntryType;
+import com.sarf.task_management_system.domain.enums.Status;
+
+import java.time.Instant;
+
+/**
+ * Запись ленты активности пользователя.
+ *
+ * @param id идентификатор записи; записи ленты упорядочены по нему; {@code null} до сохранения.
+ * @param type вид записи.
+ * @param taskId идентификатор задачи.
+ * @param actorId идентификатор пользователя, выполнившего действие; {@code null}, если он неизвестен.
+ * @param commentId идентификатор комментария для записей {@link FeedEntryType#COMMENT}.
+ * @param content текст комментария для записей {@link FeedEntryType#COMMENT}; заполняется при чтении.
+ * @param oldStatus прежний статус для записей {@link FeedEntryType#STATUS}.
+ * @param newStatus новый статус для записей {@link FeedEntryType#STATUS}.
+ * @param occurredAt момент действия.
+ */
+public record FeedEntry(Long id,
+                        FeedEntryType type,
+                        Long taskId,
+                        Long actorId,
+                        Long commentId,
+                        String content,
+                        Status oldStatus,
+                        Status newStatus,
+                        Instant occurredAt) {
+}
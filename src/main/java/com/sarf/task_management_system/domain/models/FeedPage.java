@@ -0,0 +1,15 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.util.List;
+
+/**
+ * Страница ленты активности, полученная по курсору.
+ *
+ * @param entries записи страницы от новых к старым.
+ * @param cursor курсор, с которого следует запрашивать следующую страницу; {@code null}, если страница пуста.
+ * @param hasMore {@code true}, если за курсором остались более старые записи.
+ */
+public record FeedPage(List<FeedEntry> entries,
+                       Long cursor,
+                       boolean hasMore) {
+}
@@ -0,0 +1,47 @@
+package com.sarf.task_management_system.domain.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "outbox")
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private String eventType;
+
+    private Long taskId;
+
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    private Instant createdAt;
+
+    private int attempts;
+
+    private Instant nextAttemptAt;
+
+    private Instant deliveredAt;
+
+    private Instant deadAt;
+
+    private Instant projectedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public OutboxMessage(final String eventType, final Long taskId, final String payload, final Instant createdAt) {
+        this.eventType = eventType;
+        this.taskId = taskId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.nextAttemptAt = createdAt;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.domain.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Страница записей, в которых оставлены только запрошенные поля.
+ *
+ * @param items записи страницы в порядке выдачи; ключи — имена полей ответа.
+ * @param cursor курсор, с которого следует запрашивать следующую страницу; {@code null}, если страница пуста.
+ * @param hasMore {@code true}, если за курсором остались неотданные записи.
+ */
+public record SparsePage(List<Map<String, Object>> items,
+                         Long cursor,
+                         boolean hasMore) {
+}
@@ -2,10 +2,18 @@ package com.sarf.task_management_system.domain.models;
 
 import com.sarf.task_management_system.domain.enums.Priority;
 import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.ids.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.generator.EventType;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,7 +22,7 @@ import java.util.List;
 @Table(name = "tasks")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private long id;
 
     @Column(unique = true)
@@ -34,8 +42,28 @@ public class Task {
     @ManyToOne
     private ApplicationUser assignee;
 
-    @OneToMany
+    @OneToMany(mappedBy = "task")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Comment> comments = new ArrayList<>();
+
+    private Long claimedBy;
+
+    private Instant leaseExpiresAt;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long commentCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long commentSeq;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    @Generated(event = {EventType.INSERT, EventType.UPDATE}, sql = "nextval('change_seq')")
+    private Long changeSeq;
 }
 
 
@@ -0,0 +1,13 @@
+package com.sarf.task_management_system.domain.models;
+
+/**
+ * Задача вместе с данными, которые нужны для ее просмотра.
+ *
+ * @param task задача с автором и исполнителем.
+ * @param comments последние комментарии задачи.
+ * @param unread количество комментариев задачи, не прочитанных пользователем.
+ */
+public record TaskDetail(Task task,
+                         CommentPage comments,
+                         long unread) {
+}
@@ -0,0 +1,23 @@
+package com.sarf.task_management_system.domain.models;
+
+import com.sarf.task_management_system.domain.enums.TaskField;
+
+import java.time.Instant;
+
+/**
+ * Запись истории изменения задачи.
+ *
+ * @param taskId идентификатор задачи.
+ * @param field измененное поле.
+ * @param oldValue значение до изменения.
+ * @param newValue значение после изменения.
+ * @param changedBy идентификатор пользователя, выполнившего изменение, если он известен.
+ * @param changedAt момент изменения.
+ */
+public record TaskHistoryEntry(Long taskId,
+                               TaskField field,
+                               String oldValue,
+                               String newValue,
+                               Long changedBy,
+                               Instant changedAt) {
+}
@@ -0,0 +1,20 @@
+package com.sarf.task_management_system.domain.models;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+
+import java.util.Map;
+
+/**
+ * Количество задач исполнителя по статусам и приоритетам.
+ *
+ * @param userId идентификатор исполнителя.
+ * @param byStatus количество задач по статусам.
+ * @param byPriority количество задач по приоритетам.
+ * @param total общее количество задач.
+ */
+public record TaskStats(Long userId,
+                        Map<Status, Long> byStatus,
+                        Map<Priority, Long> byPriority,
+                        long total) {
+}
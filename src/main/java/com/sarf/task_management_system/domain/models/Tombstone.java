@@ -0,0 +1,46 @@
+package com.sarf.task_management_system.domain.models;
+
+import com.sarf.task_management_system.domain.enums.EntityType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "tombstones")
+public class Tombstone {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    private EntityType entityType;
+
+    private Long entityId;
+
+    private Long taskId;
+
+    private Long authorId;
+
+    private Long assigneeId;
+
+    @CreationTimestamp
+    private Instant deletedAt;
+
+    @Generated(event = EventType.INSERT, sql = "nextval('change_seq')")
+    private Long changeSeq;
+
+    public Tombstone(final EntityType entityType, final Long entityId, final Task task) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.taskId = task.getId();
+        this.authorId = task.getAuthor() == null ? null : task.getAuthor().getId();
+        this.assigneeId = task.getAssignee() == null ? null : task.getAssignee().getId();
+    }
+}
@@ -0,0 +1,37 @@
+package com.sarf.task_management_system.domain.outbox;
+
+import com.sarf.task_management_system.config.OutboxProperties;
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final OutboxProperties properties;
+
+    @Override
+    public synchronized void deliver(final OutboxMessage message) throws IOException {
+        String line = "{\"id\":%d,\"type\":\"%s\",\"event\":%s}%n"
+                .formatted(message.getId(), message.getEventType(), message.getPayload());
+        Files.writeString(
+                Path.of(properties.getFile()),
+                line,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        );
+        log.debug("Outbox event #{} appended to {}", message.getId(), properties.getFile());
+    }
+}
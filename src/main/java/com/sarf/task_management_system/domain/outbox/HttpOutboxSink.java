@@ -0,0 +1,40 @@
+package com.sarf.task_management_system.domain.outbox;
+
+import com.sarf.task_management_system.config.OutboxProperties;
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    public HttpOutboxSink(final OutboxProperties properties) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.getConnectTimeout());
+        requestFactory.setReadTimeout(properties.getReadTimeout());
+        this.restClient = RestClient.builder()
+                .baseUrl(properties.getUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public void deliver(final OutboxMessage message) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Event-Type", message.getEventType())
+                .header("X-Event-Id", String.valueOf(message.getId()))
+                .body(message.getPayload())
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("Outbox event #{} posted", message.getId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.domain.outbox;
+
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(final OutboxMessage message) {
+        log.info("Outbox event {} #{}: {}", message.getEventType(), message.getId(), message.getPayload());
+    }
+}
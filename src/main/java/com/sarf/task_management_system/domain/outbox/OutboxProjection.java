@@ -0,0 +1,20 @@
+package com.sarf.task_management_system.domain.outbox;
+
+import com.sarf.task_management_system.domain.events.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Проекция событий исходящей очереди в таблицы самого приложения.
+ * <p>
+ * Диспетчер {@link com.sarf.task_management_system.domain.services.OutboxService} передает проекциям события
+ * забранной пачки, которые еще не были спроецированы, в той же транзакции, в которой отмечает их
+ * спроецированными. Событие сохраняется в исходящую очередь вместе с изменением, поэтому попадает в проекцию
+ * ровно один раз и не теряется ни при остановке процесса, ни при переполнении очередей шины событий.
+ * Исключение проекции откатывает забор пачки, и попытка повторяется при следующем опросе.
+ * </p>
+ */
+public interface OutboxProjection {
+
+    void project(List<DomainEvent> events);
+}
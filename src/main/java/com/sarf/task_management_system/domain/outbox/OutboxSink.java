@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.domain.outbox;
+
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+
+/**
+ * Получатель сообщений исходящей очереди событий.
+ * <p>
+ * Реализация выбирается свойством {@code outbox.sink}. Исключение при доставке
+ * приводит к повторной попытке с экспоненциальной задержкой, поэтому доставка выполняется
+ * не менее одного раза и получатель должен быть готов к дубликатам. Доставка выполняется вне транзакции,
+ * поэтому реализация должна ограничивать время ожидания получателя.
+ * </p>
+ */
+public interface OutboxSink {
+
+    void deliver(OutboxMessage message) throws Exception;
+}
@@ -33,12 +33,13 @@ public class ApplicationUserDetailsService implements UserDetailsService {
      *
      * @param email адрес электронной почты пользователя.
      * @return объект UserDetails, содержащий информацию о пользователе.
-     * @throws UsernameNotFoundException если пользователь с указанным email не найден.
+     * @throws UsernameNotFoundException если пользователь с указанным email не найден или удален.
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         log.debug("Entering loadUserByUsername with email: {}", email);
         ApplicationUser user = userRepository.findByEmail(email)
+                .filter(found -> found.getDeletedAt() == null)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         log.debug("User found for email: {}", email);
         log.info("User loaded by username");
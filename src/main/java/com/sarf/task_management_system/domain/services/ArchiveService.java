@@ -0,0 +1,279 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.ArchiveProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.ArchivedComment;
+import com.sarf.task_management_system.domain.models.ArchivedTask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Сервис архивации завершенных задач.
+ * <p>
+ * Задачи со статусом {@link Status#DONE}, не менявшиеся дольше {@code archive.age}, вместе с комментариями
+ * переносятся из {@code tasks} и {@code comments} в таблицы {@code tasks_archive} и {@code comments_archive}.
+ * Рабочие таблицы и их индексы остаются небольшими, поэтому списки задач пользователей и подсчеты читают
+ * только актуальные данные.
+ * </p>
+ * <p>
+ * Перенос выполняется в фоне порциями по {@code archive.batch-size} задач, каждая в отдельной короткой
+ * транзакции. Строки порции блокируются с {@code FOR UPDATE SKIP LOCKED}: задачи, которые в этот момент
+ * меняются, пропускаются до следующего запуска. Между порциями делается пауза {@code archive.pause},
+ * чтобы фоновая работа не вытесняла запросы пользователей. Архив доступен только для чтения.
+ * </p>
+ * <p>
+ * Для клиентов синхронизации и подписчиков SSE перенос в архив — удаление задачи из рабочего набора:
+ * в той же транзакции записываются tombstone-записи {@code TASK}, а для каждой задачи публикуется
+ * {@link TaskDeleted}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveService {
+
+    private static final String LOCK_BATCH = """
+            SELECT id, author_id, assignee_id, priority, status
+            FROM tasks
+            WHERE status = 'DONE' AND updated_at < ?
+            ORDER BY updated_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String MOVE_COMMENTS = """
+            WITH moved AS (
+                DELETE FROM comments WHERE task_id = ANY (?)
+                RETURNING id, task_id, seq, parent_id, path, author_id, content, created_at, updated_at
+            )
+            INSERT INTO comments_archive (id, task_id, seq, parent_id, path, author_id, content, created_at, updated_at)
+            SELECT id, task_id, seq, parent_id, path, author_id, content, created_at, updated_at FROM moved
+            """;
+    private static final String MOVE_TASKS = """
+            WITH moved AS (
+                DELETE FROM tasks WHERE id = ANY (?)
+                RETURNING id, title, description, priority, status, author_id, assignee_id, comment_count, updated_at
+            ), archived AS (
+                INSERT INTO tasks_archive (id, title, description, priority, status, author_id, assignee_id,
+                                           comment_count, completed_at, archived_at)
+                SELECT id, title, description, priority, status, author_id, assignee_id, comment_count, updated_at, now()
+                FROM moved
+            )
+            INSERT INTO tombstones (entity_type, entity_id, task_id, author_id, assignee_id, deleted_at, change_seq)
+            SELECT 'TASK', id, id, author_id, assignee_id, now(), nextval('change_seq') FROM moved
+            """;
+    private static final String SELECT_TASKS = """
+            SELECT id, title, description, priority, status, author_id, assignee_id,
+                   comment_count, completed_at, archived_at
+            FROM tasks_archive
+            """;
+    private static final String SELECT_COMMENTS = """
+            SELECT id, task_id, seq, parent_id, author_id, content, created_at, updated_at
+            FROM comments_archive
+            """;
+
+    private static final RowMapper<ArchivedTask> TASK_MAPPER = (rs, rowNum) -> new ArchivedTask(
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getString("priority") == null ? null : Priority.valueOf(rs.getString("priority")),
+            rs.getString("status") == null ? null : Status.valueOf(rs.getString("status")),
+            rs.getObject("author_id", Long.class),
+            rs.getObject("assignee_id", Long.class),
+            rs.getLong("comment_count"),
+            toInstant(rs.getTimestamp("completed_at")),
+            toInstant(rs.getTimestamp("archived_at"))
+    );
+    private static final RowMapper<ArchivedComment> COMMENT_MAPPER = (rs, rowNum) -> new ArchivedComment(
+            rs.getLong("id"),
+            rs.getLong("task_id"),
+            rs.getLong("seq"),
+            rs.getObject("parent_id", Long.class),
+            rs.getObject("author_id", Long.class),
+            rs.getString("content"),
+            toInstant(rs.getTimestamp("created_at")),
+            toInstant(rs.getTimestamp("updated_at"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+    private final VersionService versionService;
+    private final TaskStatsService taskStatsService;
+    private final RecentCommentCache recentComments;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Переносит в архив завершенные задачи старше {@code archive.age} порциями, пока они не закончатся.
+     *
+     * @return количество перенесенных задач.
+     */
+    @Scheduled(fixedDelayString = "${archive.interval:1h}", initialDelayString = "${archive.interval:1h}")
+    public int archiveCompleted() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        Instant threshold = Instant.now().minus(properties.getAge());
+        log.debug("Archiving tasks completed before {}", threshold);
+        int moved;
+        int total = 0;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(threshold));
+            total += moved;
+            if (moved == properties.getBatchSize() && !pause()) {
+                break;
+            }
+        } while (moved == properties.getBatchSize());
+
+        if (total > 0) {
+            taskStatsService.reconcile();
+            log.info("Archived {} completed tasks", total);
+        }
+        return total;
+    }
+
+    /**
+     * Получает архивные задачи в порядке идентификаторов.
+     *
+     * @param afterId идентификатор последней полученной задачи; {@code null} — с начала.
+     * @param limit максимальное количество задач.
+     * @return архивные задачи.
+     */
+    public List<ArchivedTask> getTasks(final Long afterId, final int limit) {
+        log.debug("Fetching archived tasks after {}", afterId);
+        return jdbcTemplate.query(
+                SELECT_TASKS + "WHERE id > ? ORDER BY id LIMIT ?",
+                TASK_MAPPER,
+                afterId == null ? Long.MIN_VALUE : afterId,
+                limit
+        );
+    }
+
+    /**
+     * Получает архивные задачи, где пользователь является автором или исполнителем, в порядке идентификаторов.
+     *
+     * @param userId идентификатор пользователя.
+     * @param afterId идентификатор последней полученной задачи; {@code null} — с начала.
+     * @param limit максимальное количество задач.
+     * @return архивные задачи пользователя.
+     */
+    public List<ArchivedTask> getTasksByUser(final Long userId, final Long afterId, final int limit) {
+        log.debug("Fetching archived tasks of user {} after {}", userId, afterId);
+        return jdbcTemplate.query(
+                SELECT_TASKS + "WHERE (author_id = ? OR assignee_id = ?) AND id > ? ORDER BY id LIMIT ?",
+                TASK_MAPPER,
+                userId,
+                userId,
+                afterId == null ? Long.MIN_VALUE : afterId,
+                limit
+        );
+    }
+
+    /**
+     * Получает архивную задачу по идентификатору.
+     *
+     * @param id идентификатор задачи.
+     * @return архивная задача.
+     * @throws ResourceNotFoundException если задачи с указанным идентификатором нет в архиве.
+     */
+    public ArchivedTask getTask(final Long id) {
+        log.debug("Fetching archived task {}", id);
+        return jdbcTemplate.query(SELECT_TASKS + "WHERE id = ?", TASK_MAPPER, id)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.warn("Archived task with id {} not found", id);
+                    return new ResourceNotFoundException("Archived task with ID %d not found".formatted(id));
+                });
+    }
+
+    /**
+     * Получает комментарии архивной задачи в порядке идентификаторов.
+     *
+     * @param taskId идентификатор задачи.
+     * @param afterId идентификатор последнего полученного комментария; {@code null} — с начала.
+     * @param limit максимальное количество комментариев.
+     * @return комментарии архивной задачи.
+     */
+    public List<ArchivedComment> getComments(final Long taskId, final Long afterId, final int limit) {
+        log.debug("Fetching archived comments of task {} after {}", taskId, afterId);
+        return jdbcTemplate.query(
+                SELECT_COMMENTS + "WHERE task_id = ? AND id > ? ORDER BY id LIMIT ?",
+                COMMENT_MAPPER,
+                taskId,
+                afterId == null ? Long.MIN_VALUE : afterId,
+                limit
+        );
+    }
+
+    private int archiveBatch(final Instant threshold) {
+        Instant now = Instant.now();
+        List<TaskDeleted> removed = jdbcTemplate.query(LOCK_BATCH, (rs, rowNum) -> new TaskDeleted(
+                rs.getLong("id"),
+                rs.getObject("author_id", Long.class),
+                rs.getObject("assignee_id", Long.class),
+                rs.getString("priority") == null ? null : Priority.valueOf(rs.getString("priority")),
+                Status.valueOf(rs.getString("status")),
+                now
+        ), Timestamp.from(threshold), properties.getBatchSize());
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        List<Long> taskIds = removed.stream()
+                .map(TaskDeleted::taskId)
+                .toList();
+
+        int comments = jdbcTemplate.update(MOVE_COMMENTS,
+                statement -> statement.setArray(1, toArray(statement.getConnection(), taskIds)));
+        int tasks = jdbcTemplate.update(MOVE_TASKS,
+                statement -> statement.setArray(1, toArray(statement.getConnection(), taskIds)));
+
+        versionService.bumpUserTasks(removed.stream()
+                .flatMap(task -> Stream.of(task.taskAuthorId(), task.taskAssigneeId()))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new));
+        taskIds.forEach(versionService::bumpComments);
+        taskIds.forEach(recentComments::invalidate);
+        removed.forEach(eventPublisher::publishEvent);
+        log.debug("Archived {} tasks with {} comments", tasks, comments);
+        return tasks;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause());
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("Archiving interrupted");
+            return false;
+        }
+    }
+
+    private static Array toArray(final Connection connection, final List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+
+    private static Instant toInstant(final Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+}
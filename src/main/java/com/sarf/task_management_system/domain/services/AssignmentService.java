@@ -0,0 +1,279 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.AssignmentProperties;
+import com.sarf.task_management_system.domain.assignment.LoadHeap;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.DomainEventListener;
+import com.sarf.task_management_system.domain.events.OverflowPolicy;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.events.TransactionIds;
+import com.sarf.task_management_system.domain.events.TransactionSnapshot;
+import com.sarf.task_management_system.domain.events.UserDeleted;
+import com.sarf.task_management_system.domain.events.UserRegistered;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.repositories.ApplicationUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Сервис автоматического назначения исполнителей.
+ * <p>
+ * Для каждого пользователя с ролью {@link Role#ROLE_USER} хранится открытая нагрузка: сумма весов приоритетов
+ * его незавершенных задач. Нагрузки лежат в индексированной min-куче {@link LoadHeap}, поэтому выбор
+ * наименее загруженного исполнителя и любое изменение нагрузки выполняются за {@code O(log n)} без обращения
+ * к задачам. Куча поддерживается доменными событиями из {@link com.sarf.task_management_system.domain.events.DomainEventBus}
+ * и строится заново из базы данных при запуске и периодически.
+ * </p>
+ * <p>
+ * Выбранному исполнителю вес новой задачи начисляется сразу и запоминается как резерв, чтобы следующие назначения
+ * учитывали его еще до прихода события; событие создания этой задачи лишь погашает резерв. Резервы
+ * откатившихся транзакций сбрасываются при перестроении.
+ * </p>
+ * <p>
+ * Нагрузки перестраиваются так же, как счетчики {@link TaskStatsService}: вместе с ними тем же запросом читается
+ * снимок базы, и события транзакций, видимых в снимке, после замены кучи пропускаются, даже если еще ждали
+ * в очереди слушателя. События, примененные во время запроса и не видимые в снимке, повторно применяются
+ * к новой куче.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AssignmentService implements DomainEventListener {
+
+    private static final String SELECT_LOADS = """
+            SELECT s.snapshot, c.assignee_id, c.priority, c.total
+            FROM (SELECT pg_current_snapshot()::text AS snapshot) s
+            LEFT JOIN (
+                SELECT assignee_id, priority, count(*) AS total
+                FROM tasks
+                WHERE assignee_id IS NOT NULL AND status <> 'DONE'
+                GROUP BY assignee_id, priority
+            ) c ON true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationUserRepository userRepository;
+    private final AssignmentProperties properties;
+
+    private final Object rebuildLock = new Object();
+    private LoadHeap heap = new LoadHeap();
+    private final Map<Long, Long> reserved = new HashMap<>();
+    private TransactionSnapshot snapshot;
+    private List<Applied> appliedDuringRebuild;
+
+    /**
+     * Выбирает исполнителя с наименьшей открытой нагрузкой.
+     *
+     * @param priority приоритет назначаемой задачи.
+     * @param status статус назначаемой задачи; завершенные задачи не увеличивают нагрузку.
+     * @return идентификатор исполнителя или пустой результат, если исполнителей нет.
+     */
+    public synchronized Optional<Long> assign(final Priority priority, final Status status) {
+        Long userId = heap.peek();
+        if (userId == null) {
+            log.warn("No assignees available for automatic assignment");
+            return Optional.empty();
+        }
+        if (isOpen(status)) {
+            long weight = properties.weightOf(priority);
+            heap.adjust(userId, weight);
+            reserved.merge(userId, weight, Long::sum);
+        }
+        log.debug("Task with priority {} automatically assigned to user {}", priority, userId);
+        return Optional.of(userId);
+    }
+
+    /**
+     * Возвращает текущую открытую нагрузку пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return нагрузка или пустой результат, если пользователь не участвует в назначении.
+     */
+    public synchronized Optional<Long> getLoad(final Long userId) {
+        return Optional.ofNullable(heap.load(userId));
+    }
+
+    @Override
+    public synchronized void onEvent(final DomainEvent event) {
+        switch (event) {
+            case TaskCreated created when isOpen(created.status()) ->
+                    addCreated(created.taskAssigneeId(), properties.weightOf(created.priority()));
+            case TaskStatusChanged changed when isOpen(changed.oldStatus()) != isOpen(changed.newStatus()) ->
+                    adjust(changed.taskAssigneeId(), isOpen(changed.newStatus())
+                            ? properties.weightOf(changed.priority())
+                            : -properties.weightOf(changed.priority()));
+            case TaskReassigned reassigned when isOpen(reassigned.status()) -> {
+                adjust(reassigned.oldAssigneeId(), -properties.weightOf(reassigned.priority()));
+                adjust(reassigned.taskAssigneeId(), properties.weightOf(reassigned.priority()));
+            }
+            case TaskDeleted deleted when isOpen(deleted.status()) ->
+                    adjust(deleted.taskAssigneeId(), -properties.weightOf(deleted.priority()));
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onEvents(final List<DomainEvent> events) {
+        events.forEach(this::onEvent);
+    }
+
+    /**
+     * Применяет события пачки, пропуская события транзакций, видимых в снимке последнего перестроения.
+     *
+     * @param events события в порядке публикации.
+     * @param transactionIds идентификаторы записавших события транзакций ({@link TransactionIds}).
+     */
+    @Override
+    public synchronized void onEvents(final List<DomainEvent> events, final long[] transactionIds) {
+        for (int i = 0; i < events.size(); i++) {
+            if (snapshot != null && snapshot.includes(transactionIds[i])) {
+                continue;
+            }
+            onEvent(events.get(i));
+            if (appliedDuringRebuild != null) {
+                appliedDuringRebuild.add(new Applied(events.get(i), transactionIds[i]));
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "assignment";
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.SPILL;
+    }
+
+    /**
+     * Добавляет зарегистрированного пользователя в кучу с нулевой нагрузкой.
+     *
+     * @param event событие регистрации пользователя.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserRegistered(final UserRegistered event) {
+        if (event.roles() != null && event.roles().contains(Role.ROLE_USER) && heap.load(event.userId()) == null) {
+            heap.put(event.userId(), 0);
+            log.debug("User {} added to automatic assignment", event.userId());
+        }
+    }
+
+    /**
+     * Исключает удаленного пользователя из назначения.
+     *
+     * @param event событие удаления пользователя.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserDeleted(final UserDeleted event) {
+        heap.remove(event.userId());
+        reserved.remove(event.userId());
+        log.debug("User {} removed from automatic assignment", event.userId());
+    }
+
+    /**
+     * Строит кучу нагрузок заново по пользователям и незавершенным задачам.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${assignment.rebuild-interval:10m}", initialDelayString = "${assignment.rebuild-interval:10m}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            log.debug("Rebuilding assignee loads");
+            synchronized (this) {
+                appliedDuringRebuild = new ArrayList<>();
+            }
+            LoadHeap fresh = new LoadHeap();
+            List<LoadRow> rows;
+            try {
+                for (ApplicationUser user : userRepository.findByDeletedAtIsNull()) {
+                    if (user.getRoles() != null && user.getRoles().contains(Role.ROLE_USER)) {
+                        fresh.put(user.getId(), 0);
+                    }
+                }
+                rows = jdbcTemplate.query(SELECT_LOADS, (rs, rowNum) -> new LoadRow(
+                        rs.getString("snapshot"),
+                        rs.getObject("assignee_id", Long.class),
+                        rs.getString("priority") == null ? null : Priority.valueOf(rs.getString("priority")),
+                        rs.getLong("total")
+                ));
+            } catch (RuntimeException exception) {
+                synchronized (this) {
+                    appliedDuringRebuild = null;
+                }
+                throw exception;
+            }
+            swap(fresh, rows);
+        }
+    }
+
+    private synchronized void swap(final LoadHeap fresh, final List<LoadRow> rows) {
+        TransactionSnapshot freshSnapshot = TransactionSnapshot.parse(rows.getFirst().snapshot());
+        for (LoadRow row : rows) {
+            if (row.priority() != null) {
+                fresh.adjust(row.assigneeId(), row.total() * properties.weightOf(row.priority()));
+            }
+        }
+        heap = fresh;
+        reserved.clear();
+        for (Applied applied : appliedDuringRebuild) {
+            if (!freshSnapshot.includes(applied.transactionId())) {
+                onEvent(applied.event());
+            }
+        }
+        snapshot = freshSnapshot;
+        appliedDuringRebuild = null;
+        log.info("Assignee loads rebuilt for {} users", fresh.size());
+    }
+
+    private void addCreated(final Long userId, final long weight) {
+        if (userId == null) {
+            return;
+        }
+        Long reservation = reserved.get(userId);
+        if (reservation != null && reservation >= weight) {
+            if (reservation == weight) {
+                reserved.remove(userId);
+            } else {
+                reserved.put(userId, reservation - weight);
+            }
+            return;
+        }
+        heap.adjust(userId, weight);
+    }
+
+    private void adjust(final Long userId, final long delta) {
+        if (userId != null) {
+            heap.adjust(userId, delta);
+        }
+    }
+
+    private static boolean isOpen(final Status status) {
+        return status != null && status != Status.DONE;
+    }
+
+    private record LoadRow(String snapshot, Long assigneeId, Priority priority, long total) {
+    }
+
+    private record Applied(DomainEvent event, long transactionId) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.ClaimProperties;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Сервис очереди задач для исполнителей.
+ * <p>
+ * Исполнитель забирает следующую задачу со статусом {@link Status#TODO}, назначенную ему или не назначенную никому,
+ * в порядке приоритета и идентификатора. Выборка идет по частичному индексу {@code (priority_rank, id)}
+ * с {@code FOR UPDATE SKIP LOCKED}: параллельные исполнители пропускают строки, уже заблокированные другими,
+ * и не выстраиваются в очередь за одной блокировкой, поэтому пропускная способность растет вместе с их числом.
+ * </p>
+ * <p>
+ * Взятая задача переводится в {@link Status#IN_PROGRESS} с арендой на ограниченное время. Исполнитель продлевает
+ * аренду, пока работает; задачи с истекшей арендой периодически возвращаются в очередь.
+ * </p>
+ * <p>
+ * Не назначенная никому задача при взятии назначается исполнителю, взявшему ее, с публикацией
+ * {@link TaskReassigned}, поэтому проверки доступа, лента, синхронизация и счетчики, опирающиеся на исполнителя
+ * задачи, видят его без отдельной обработки аренды.
+ * </p>
+ * <p>
+ * Взятие, продление и возврат аренды берут блокировку задачи {@link TaskLocks}, как и изменение задачи
+ * через {@link TaskService}: иначе полное обновление строки по устаревшему состоянию перезаписало бы
+ * исполнителя, статус и аренду. Взятие и возврат уже держат блокировку строки в базе данных, поэтому не ждут
+ * блокировку задачи, а пропускают задачу, которая сейчас изменяется.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClaimService {
+
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final SyncService syncService;
+    private final VersionService versionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClaimProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskLocks taskLocks;
+
+    /**
+     * Забирает следующую доступную задачу с наивысшим приоритетом и назначает ее исполнителю, если она
+     * не была назначена.
+     * <p>
+     * Задачи, заблокированные изменением на этом узле, пропускаются до конца транзакции.
+     * </p>
+     *
+     * @param userId идентификатор исполнителя.
+     * @param lease запрошенная длительность аренды; {@code null} — длительность по умолчанию.
+     * @return взятая задача или пустой результат, если доступных задач нет.
+     */
+    @Transactional
+    public Optional<Task> claim(final Long userId, final Duration lease) {
+        log.debug("User {} is claiming next task", userId);
+        Optional<Task> claimed = lockNextClaimable(userId);
+        claimed.ifPresent(task -> {
+            Status oldStatus = task.getStatus();
+            boolean unassigned = task.getAssignee() == null;
+            if (unassigned) {
+                task.setAssignee(userService.getById(userId));
+            }
+            task.setStatus(Status.IN_PROGRESS);
+            task.setClaimedBy(userId);
+            task.setLeaseExpiresAt(Instant.now().plus(leaseOf(lease)));
+            taskRepository.save(task);
+            versionService.bumpUserTasks(userIdOf(task.getAuthor()), userIdOf(task.getAssignee()));
+            if (unassigned) {
+                if (!Objects.equals(userId, userIdOf(task.getAuthor()))) {
+                    syncService.recordTaskGrant(task, userId);
+                }
+                eventPublisher.publishEvent(TaskReassigned.of(task, oldStatus, null, userId));
+            }
+            eventPublisher.publishEvent(TaskStatusChanged.of(task, oldStatus, userId));
+            log.debug("User {} claimed task {} until {}", userId, task.getId(), task.getLeaseExpiresAt());
+        });
+        return claimed;
+    }
+
+    /**
+     * Продлевает аренду задачи, взятой исполнителем.
+     *
+     * @param taskId идентификатор задачи.
+     * @param userId идентификатор исполнителя.
+     * @param lease запрошенная длительность аренды; {@code null} — длительность по умолчанию.
+     * @return новый момент окончания аренды.
+     * @throws ResourceNotFoundException если у исполнителя нет действующей аренды задачи.
+     */
+    @Transactional
+    public Instant renew(final Long taskId, final Long userId, final Duration lease) {
+        taskLocks.lock(taskId);
+        Instant until = Instant.now().plus(leaseOf(lease));
+        if (taskRepository.renewLease(taskId, userId, until) == 0) {
+            log.warn("User {} has no active claim of task {}", userId, taskId);
+            throw new ResourceNotFoundException("Active claim of task %d not found".formatted(taskId));
+        }
+        log.debug("User {} renewed claim of task {} until {}", userId, taskId, until);
+        return until;
+    }
+
+    /**
+     * Возвращает в очередь задачи с истекшей арендой порциями, не блокируя строки, занятые другими транзакциями.
+     * <p>
+     * Задачи, заблокированные изменением на этом узле, остаются до следующего запуска.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${claim.reclaim-interval:30s}")
+    public void reclaimExpired() {
+        int reclaimed;
+        int total = 0;
+        do {
+            reclaimed = transactionTemplate.execute(status -> reclaimBatch());
+            total += reclaimed;
+        } while (reclaimed == properties.getReclaimBatchSize());
+        if (total > 0) {
+            log.info("Returned {} tasks with expired leases to the queue", total);
+        }
+    }
+
+    private int reclaimBatch() {
+        List<Task> expired = taskRepository.lockExpiredLeases(Instant.now(), properties.getReclaimBatchSize());
+        int reclaimed = 0;
+        for (Task task : expired) {
+            if (!taskLocks.tryLock(task.getId())) {
+                log.debug("Task {} is being changed, its expired lease is left for the next run", task.getId());
+                continue;
+            }
+            Long claimedBy = task.getClaimedBy();
+            task.setStatus(Status.TODO);
+            task.setClaimedBy(null);
+            task.setLeaseExpiresAt(null);
+            taskRepository.save(task);
+            versionService.bumpUserTasks(userIdOf(task.getAuthor()), userIdOf(task.getAssignee()));
+            eventPublisher.publishEvent(TaskStatusChanged.of(task, Status.IN_PROGRESS, null));
+            log.debug("Lease of task {} held by user {} expired", task.getId(), claimedBy);
+            reclaimed++;
+        }
+        return reclaimed;
+    }
+
+    private Optional<Task> lockNextClaimable(final Long userId) {
+        Optional<Task> next = taskRepository.lockNextClaimable(userId);
+        List<Long> skipped = new ArrayList<>();
+        while (next.isPresent() && !taskLocks.tryLock(next.get().getId())) {
+            log.debug("Task {} is being changed, user {} skips it", next.get().getId(), userId);
+            skipped.add(next.get().getId());
+            next = taskRepository.lockNextClaimableExcept(userId, skipped);
+        }
+        return next;
+    }
+
+    private Duration leaseOf(final Duration requested) {
+        if (requested == null || requested.isNegative() || requested.isZero()) {
+            return properties.getLease();
+        }
+        return requested.compareTo(properties.getMaxLease()) > 0 ? properties.getMaxLease() : requested;
+    }
+
+    private static Long userIdOf(final ApplicationUser user) {
+        return user == null ? null : user.getId();
+    }
+}
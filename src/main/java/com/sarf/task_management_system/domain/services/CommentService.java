@@ -1,22 +1,42 @@
 package com.sarf.task_management_system.domain.services;
 
+import com.sarf.task_management_system.domain.batching.CommentBatcher;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.events.CommentDeleted;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
 import com.sarf.task_management_system.domain.exceptions.AccessDeniedException;
+import com.sarf.task_management_system.domain.exceptions.LockTimeoutException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
 import com.sarf.task_management_system.domain.models.ApplicationUser;
 import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.CommentThread;
 import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.repositories.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.function.ToLongFunction;
 
 /**
  * Сервисный класс для управления комментариями в приложении.
  * Этот класс предоставляет методы для выполнения операций с комментариями,
  * такими как получение комментариев по задаче или автору, а также сохранение и удаление комментариев.
+ * Комментарии задачи нумеруются последовательно при сохранении, списки отдаются страницами по курсору.
  *
  * <p>
  * Класс аннотирован {@link Service}, чтобы указать, что он является компонентом сервиса в контексте Spring.
@@ -28,34 +48,140 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class CommentService {
 
+	/**
+	 * Символ, который больше любой шестнадцатеричной цифры пути: пути поддерева лежат в {@code [путь, путь + PATH_END)}.
+	 */
+	private static final String PATH_END = "g";
+
 	private final TaskService taskService;
 	private final UserService userService;
 	private final CommentRepository commentRepository;
+	private final VersionService versionService;
+	private final SyncService syncService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TaskLocks taskLocks;
+	private final CommentBatcher commentBatcher;
+	private final TransactionTemplate transactionTemplate;
+	private final RecentCommentCache recentComments;
+	private final UnreadService unreadService;
 
 	/**
-	 * Получает список комментариев для задачи с указанным идентификатором.
+	 * Получает страницу комментариев задачи по порядковым номерам.
+	 * <p>
+	 * Без {@code since} комментарии отдаются от новых к старым, начиная с номера перед {@code before}
+	 * (или с самого нового), и курсор указывает на самый старый отданный номер. С {@code since} отдаются
+	 * комментарии с номерами больше указанного от старых к новым, и курсор указывает на самый новый отданный номер.
+	 * Выборка идет по индексу {@code (task_id, seq)} и не зависит от общего количества комментариев задачи.
+	 * Страницы, целиком попадающие в окно последних комментариев {@link RecentCommentCache}, отдаются из памяти.
+	 * </p>
 	 *
 	 * @param taskId идентификатор задачи.
-	 * @return список комментариев для указанной задачи.
+	 * @param before номер, перед которым начинается страница; {@code null} — с самого нового комментария.
+	 * @param since номер, после которого начинается страница; при указании {@code before} не учитывается.
+	 * @param limit максимальное количество комментариев страницы.
+	 * @return страница комментариев задачи.
 	 */
-	public List<Comment> getByTask(final Long taskId) {
-		log.debug("Fetching comments for task with id: {}", taskId);
-		List<Comment> comments = commentRepository.findByTaskId(taskId);
-		log.debug("Fetched {} comments for task with id: {}", comments.size(), taskId);
-		return comments;
+	public CommentPage getByTask(final Long taskId, final Long before, final Long since, final int limit) {
+		log.debug("Fetching comments for task with id: {} before {} since {}", taskId, before, since);
+		if (recentComments.isEnabled()) {
+			Optional<CommentPage> cached = findCached(taskId, before, since, limit);
+			if (cached.isPresent()) {
+				log.debug("Served {} comments for task with id: {} from cache", cached.get().comments().size(), taskId);
+				return cached.get();
+			}
+		}
+		Limit fetch = Limit.of(limit + 1);
+		List<Comment> comments;
+		if (before != null) {
+			comments = commentRepository.findByTaskIdAndSeqLessThanOrderBySeqDesc(taskId, before, fetch);
+		} else if (since != null) {
+			comments = commentRepository.findByTaskIdAndSeqGreaterThanOrderBySeqAsc(taskId, since, fetch);
+		} else {
+			comments = commentRepository.findByTaskIdOrderBySeqDesc(taskId, fetch);
+		}
+		CommentPage page = toPage(comments, limit, Comment::getSeq);
+		log.debug("Fetched {} comments for task with id: {}", page.comments().size(), taskId);
+		return page;
 	}
 
 	/**
-	 * Получает список комментариев, созданных автором с указанным идентификатором.
+	 * Получает страницу комментариев автора от новых к старым.
 	 *
 	 * @param authorId идентификатор автора.
-	 * @return список комментариев, созданных автором.
+	 * @param before идентификатор комментария, перед которым начинается страница; {@code null} — с самого нового.
+	 * @param limit максимальное количество комментариев страницы.
+	 * @return страница комментариев автора; курсор — идентификатор самого старого отданного комментария.
+	 */
+	public CommentPage getByAuthor(final Long authorId, final Long before, final int limit) {
+		log.debug("Fetching comments for author with id: {} before {}", authorId, before);
+		Limit fetch = Limit.of(limit + 1);
+		List<Comment> comments = before == null
+				? commentRepository.findByAuthorIdOrderByIdDesc(authorId, fetch)
+				: commentRepository.findByAuthorIdAndIdLessThanOrderByIdDesc(authorId, before, fetch);
+		CommentPage page = toPage(comments, limit, Comment::getId);
+		log.debug("Fetched {} comments for author with id: {}", page.comments().size(), authorId);
+		return page;
+	}
+
+	/**
+	 * Получает дерево комментариев задачи в порядке обхода в глубину.
+	 * <p>
+	 * Дерево читается одним диапазонным запросом по индексу {@code (task_id, path)} без рекурсии.
+	 * Продолжение запрашивается с курсором предыдущей части в {@code after}.
+	 * </p>
+	 *
+	 * @param taskId идентификатор задачи.
+	 * @param after путь последнего полученного комментария; {@code null} — с начала.
+	 * @param limit максимальное количество комментариев.
+	 * @return часть дерева комментариев задачи.
 	 */
-	public List<Comment> getByAuthor(final Long authorId) {
-		log.debug("Fetching comments for author with id: {}", authorId);
-		List<Comment> comments = commentRepository.findByAuthorId(authorId);
-		log.debug("Fetched {} comments for author with id: {}", comments.size(), authorId);
-		return comments;
+	public CommentThread getThread(final Long taskId, final String after, final int limit) {
+		log.debug("Fetching comment thread of task {} after {}", taskId, after);
+		return findThread(taskId, "", after, limit);
+	}
+
+	/**
+	 * Получает комментарий вместе со всеми ответами на него в порядке обхода в глубину.
+	 *
+	 * @param commentId идентификатор корневого комментария поддерева.
+	 * @param after путь последнего полученного комментария; {@code null} — с корня поддерева.
+	 * @param limit максимальное количество комментариев.
+	 * @return часть поддерева комментариев.
+	 * @throws ResourceNotFoundException если комментарий с указанным идентификатором не найден.
+	 */
+	public CommentThread getSubtree(final Long commentId, final String after, final int limit) {
+		log.debug("Fetching replies of comment {} after {}", commentId, after);
+		Comment root = commentRepository.findById(commentId)
+				.orElseThrow(() -> {
+					log.warn("Comment with id {} not found", commentId);
+					return new ResourceNotFoundException("Comment with ID %d not found".formatted(commentId));
+				});
+		return findThread(root.getTask().getId(), root.getPath(), after, limit);
+	}
+
+	/**
+	 * Получает последние комментарии сразу нескольких задач одним запросом.
+	 * <p>
+	 * Для каждой задачи отдаются не более {@code perTask} комментариев с наибольшими порядковыми номерами,
+	 * выбранные по индексу {@code (task_id, seq)}. Результат сгруппирован по задачам в порядке запрошенных
+	 * идентификаторов; задачи без комментариев и несуществующие задачи получают пустой список.
+	 * </p>
+	 *
+	 * @param taskIds идентификаторы задач.
+	 * @param perTask максимальное количество комментариев на задачу.
+	 * @return комментарии задач от новых к старым, сгруппированные по идентификатору задачи.
+	 */
+	public Map<Long, List<Comment>> getLatestByTasks(final Collection<Long> taskIds, final int perTask) {
+		log.debug("Fetching latest {} comments for {} tasks", perTask, taskIds.size());
+		Map<Long, List<Comment>> result = new LinkedHashMap<>();
+		taskIds.forEach(taskId -> result.put(taskId, new ArrayList<>()));
+		if (result.isEmpty()) {
+			return result;
+		}
+		List<Comment> comments = commentRepository.findLatestByTaskIds(result.keySet(), perTask);
+		comments.forEach(comment -> result.get(comment.getTask().getId()).add(comment));
+		log.debug("Fetched {} latest comments for {} tasks", comments.size(), result.size());
+		return result;
 	}
 
 	/**
@@ -64,45 +190,155 @@ public class CommentService {
 	 * @param token токен пользователя, создающего комментарий.
 	 * @param taskId идентификатор задачи, к которой добавляется комментарий.
 	 * @param content содержимое комментария.
+	 * @param parentId идентификатор комментария, на который дается ответ; {@code null} — комментарий верхнего уровня.
 	 * @throws AccessDeniedException если пользователь не имеет прав на добавление комментария к задаче.
+	 * @throws ResourceNotFoundException если родительский комментарий не найден в задаче.
+	 * @throws LockTimeoutException если задача слишком долго занята другим изменением.
 	 */
+	@Transactional
 	public void save(final String token,
 					 final Long taskId,
-					 final String content) throws AccessDeniedException {
+					 final String content,
+					 final Long parentId) throws AccessDeniedException {
 
 		log.debug("Attempting to save a comment for task id: {} with content: {}", taskId, content);
-		ApplicationUser author = userService.getByToken(token);
-
-		log.debug("Retrieved author with id: {}", author.getId());
-		Task task = taskService.getById(taskId);
-
-		log.debug("Retrieved task with id: {}", task.getId());
-
-		if (author.getTasksAssignedToUser().contains(task) ||
-				author.getTasksCreatedByUser().contains(task)) {
-			Comment comment = new Comment(1, author, task, content);
-			commentRepository.save(comment);
-			log.info("Comment saved successfully for task id: {} by author id: {}", taskId, author.getId());
+		taskLocks.lock(taskId);
+		Comment comment = prepare(token, taskId, content, parentId);
+		comment.assignSeq(taskService.nextCommentSeq(taskId));
+		comment = commentRepository.save(comment);
+		unreadService.markRead(comment.getAuthor().getId(), taskId, comment.getSeq());
+		recentComments.append(comment);
+		versionService.bumpComments(taskId);
+		eventPublisher.publishEvent(CommentAdded.of(comment));
+		log.debug("Comment saved successfully for task id: {} by author id: {}", taskId, comment.getAuthor().getId());
+	}
 
-		} else {
-			log.warn("Access denied: User with id {} is not authorized to comment on task id: {}", author.getId(), taskId);
-			throw new AccessDeniedException("Only creator, assignee or admin can comment task");
+	/**
+	 * Сохраняет новый комментарий через групповую фиксацию {@link CommentBatcher}.
+	 * <p>
+	 * Права проверяются в короткой транзакции чтения, после чего комментарий записывается вместе
+	 * с другими одновременными комментариями. Метод не держит транзакцию и соединение, пока ждет записи,
+	 * и возвращает управление только после фиксации.
+	 * </p>
+	 *
+	 * @param token токен пользователя, создающего комментарий.
+	 * @param taskId идентификатор задачи, к которой добавляется комментарий.
+	 * @param content содержимое комментария.
+	 * @param parentId идентификатор комментария, на который дается ответ; {@code null} — комментарий верхнего уровня.
+	 * @return сохраненный комментарий.
+	 * @throws AccessDeniedException если пользователь не имеет прав на добавление комментария к задаче.
+	 * @throws ResourceNotFoundException если родительский комментарий не найден в задаче.
+	 */
+	public Comment saveGrouped(final String token,
+							   final Long taskId,
+							   final String content,
+							   final Long parentId) throws AccessDeniedException {
+		log.debug("Submitting a comment for task id: {} to group commit", taskId);
+		Comment comment = transactionTemplate.execute(status -> prepare(token, taskId, content, parentId));
+		try {
+			return commentBatcher.submit(comment).join();
+		} catch (CompletionException exception) {
+			if (exception.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw exception;
 		}
 	}
 
+	/**
+	 * Проверяет, сохраняются ли комментарии через групповую фиксацию.
+	 *
+	 * @return {@code true}, если следует вызывать {@link #saveGrouped(String, Long, String, Long)}.
+	 */
+	public boolean isGroupCommitEnabled() {
+		return commentBatcher.isEnabled();
+	}
+
 	/**
 	 * Удаляет комментарий по его идентификатору.
 	 *
 	 * @param id идентификатор комментария, который необходимо удалить.
 	 * @throws NoSuchElementException если комментарий с указанным идентификатором не найден.
+	 * @throws LockTimeoutException если задача комментария слишком долго занята другим изменением.
 	 */
+	@Transactional
 	public void delete(final Long id) throws NoSuchElementException {
 		log.debug("Attempting to delete comment with id: {}", id);
-		if (!commentRepository.existsById(id)) {
-			log.warn("Deletion failed: Comment with id {} does not exist", id);
-			throw new ResourceNotFoundException("Trying to delete comment what does not exist");
+		Long taskId = commentRepository.findTaskIdById(id)
+				.orElseThrow(() -> {
+					log.warn("Deletion failed: Comment with id {} does not exist", id);
+					return new ResourceNotFoundException("Trying to delete comment what does not exist");
+				});
+		taskLocks.lock(taskId);
+		commentRepository.removeById(id);
+		recentComments.remove(taskId, id);
+		taskService.addCommentCount(taskId, -1);
+		syncService.recordCommentDeletion(id, taskId);
+		versionService.bumpComments(taskId);
+		eventPublisher.publishEvent(CommentDeleted.of(id, taskId));
+		log.debug("Comment with id {} deleted successfully", id);
+	}
+
+	private static CommentPage toPage(final List<Comment> fetched,
+									  final int limit,
+									  final ToLongFunction<Comment> cursorOf) {
+		boolean hasMore = fetched.size() > limit;
+		List<Comment> comments = hasMore ? fetched.subList(0, limit) : fetched;
+		Long cursor = comments.isEmpty() ? null : cursorOf.applyAsLong(comments.getLast());
+		return new CommentPage(comments, cursor, hasMore);
+	}
+
+	private Optional<CommentPage> findCached(final Long taskId, final Long before, final Long since, final int limit) {
+		Optional<CommentPage> cached = recentComments.find(taskId, before, since, limit);
+		if (cached.isPresent() || before != null || recentComments.contains(taskId)) {
+			return cached;
 		}
-		commentRepository.deleteById(id);
-		log.info("Comment with id {} deleted successfully", id);
+		long stamp = recentComments.stamp(taskId);
+		List<Comment> newest = commentRepository.findByTaskIdOrderBySeqDesc(taskId, Limit.of(recentComments.windowSize() + 1));
+		recentComments.put(taskId, newest, stamp);
+		return recentComments.find(taskId, null, since, limit);
+	}
+
+	private CommentThread findThread(final Long taskId, final String prefix, final String after, final int limit) {
+		List<Comment> fetched = commentRepository.findThread(
+				taskId,
+				prefix,
+				prefix + PATH_END,
+				after == null ? "" : after,
+				Limit.of(limit + 1)
+		);
+		boolean hasMore = fetched.size() > limit;
+		List<Comment> comments = hasMore ? fetched.subList(0, limit) : fetched;
+		log.debug("Fetched {} comments of thread {} in task {}", comments.size(), prefix, taskId);
+		return new CommentThread(comments, comments.isEmpty() ? null : comments.getLast().getPath(), hasMore);
+	}
+
+	private Comment prepare(final String token, final Long taskId, final String content, final Long parentId) {
+		ApplicationUser author = userService.getByToken(token);
+
+		log.debug("Retrieved author with id: {}", author.getId());
+		Task task = taskService.getById(taskId);
+
+		log.debug("Retrieved task with id: {}", task.getId());
+
+		if (UserService.isParticipant(author, task)) {
+			Comment comment = new Comment(author, task, content);
+			if (parentId != null) {
+				comment.replyTo(getParent(parentId, taskId));
+			}
+			return comment;
+		}
+		log.warn("Access denied: User with id {} is not authorized to comment on task id: {}", author.getId(), taskId);
+		throw new AccessDeniedException("Only creator, assignee or admin can comment task");
+	}
+
+	private Comment getParent(final Long parentId, final Long taskId) {
+		return commentRepository.findById(parentId)
+				.filter(parent -> parent.getTask().getId() == taskId)
+				.orElseThrow(() -> {
+					log.warn("Parent comment {} not found in task {}", parentId, taskId);
+					return new ResourceNotFoundException(
+							"Comment with ID %d not found in task %d".formatted(parentId, taskId));
+				});
 	}
 }
@@ -0,0 +1,165 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.CountProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.Count;
+import com.sarf.task_management_system.domain.models.TaskStats;
+import com.sarf.task_management_system.repositories.CommentRepository;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Сервис подсчета задач и комментариев.
+ * <p>
+ * Каждый метод работает в двух режимах. Точный режим выполняет {@code COUNT(*)}, стоимость которого растет
+ * вместе с таблицей. Приблизительный режим отвечает за постоянное время: количество задач берется из
+ * счетчиков {@link TaskStatsService}, количество комментариев задачи — из столбца {@code tasks.comment_count},
+ * который {@link CommentService} меняет в транзакции записи (каскадные удаления его не обновляют),
+ * а общее количество комментариев — из оценки планировщика ({@code pg_class.reltuples}). Если для сочетания фильтров поддерживаемого счетчика нет,
+ * выполняется точный подсчет; признак {@link Count#exact()} всегда отражает фактический способ.
+ * </p>
+ * <p>
+ * Расхождения {@code tasks.comment_count} с фактическим количеством периодически исправляются сверкой:
+ * задачи обходятся порциями по {@code counts.reconcile-batch-size}, строки порции блокируются
+ * с {@code FOR UPDATE SKIP LOCKED}, и только затем комментарии пересчитываются, поэтому параллельная запись
+ * комментария, которая меняет счетчик под той же блокировкой, не теряется.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CountService {
+
+    private static final String RELTUPLES = "SELECT greatest(reltuples, 0)::bigint FROM pg_class WHERE oid = ?::regclass";
+    private static final String LOCK_TASKS = """
+            SELECT id FROM tasks WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED
+            """;
+    private static final String FIX_COMMENT_COUNTS = """
+            UPDATE tasks t SET comment_count = actual.n
+            FROM (
+                SELECT b.id, count(c.id) AS n
+                FROM unnest(?) AS b(id)
+                LEFT JOIN comments c ON c.task_id = b.id
+                GROUP BY b.id
+            ) actual
+            WHERE t.id = actual.id AND t.comment_count <> actual.n
+            """;
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TaskStatsService taskStatsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CountProperties properties;
+
+    /**
+     * Подсчитывает задачи, удовлетворяющие фильтрам.
+     *
+     * @param status статус задачи; {@code null} — любой.
+     * @param priority приоритет задачи; {@code null} — любой.
+     * @param assigneeId идентификатор исполнителя; {@code null} — любой.
+     * @param exact {@code true}, если требуется точный подсчет.
+     * @return количество задач.
+     */
+    public Count countTasks(final Status status, final Priority priority, final Long assigneeId, final boolean exact) {
+        if (!exact && (status == null || priority == null)) {
+            TaskStats stats = assigneeId == null ? taskStatsService.getTotal() : taskStatsService.getByUser(assigneeId);
+            long value;
+            if (status != null) {
+                value = stats.byStatus().get(status);
+            } else if (priority != null) {
+                value = stats.byPriority().get(priority);
+            } else {
+                value = stats.total();
+            }
+            log.debug("Estimated {} tasks with status {}, priority {} and assignee {}", value, status, priority, assigneeId);
+            return Count.estimated(value);
+        }
+        long value = taskRepository.countFiltered(status, priority, assigneeId);
+        log.debug("Counted {} tasks with status {}, priority {} and assignee {}", value, status, priority, assigneeId);
+        return Count.exact(value);
+    }
+
+    /**
+     * Подсчитывает комментарии задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @param exact {@code true}, если требуется точный подсчет.
+     * @return количество комментариев задачи.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     */
+    public Count countComments(final Long taskId, final boolean exact) {
+        if (!exact) {
+            long value = taskRepository.findCommentCountById(taskId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Task with ID %d not found".formatted(taskId)));
+            log.debug("Estimated {} comments of task {}", value, taskId);
+            return Count.estimated(value);
+        }
+        long value = commentRepository.countByTaskId(taskId);
+        log.debug("Counted {} comments of task {}", value, taskId);
+        return Count.exact(value);
+    }
+
+    /**
+     * Подсчитывает все комментарии.
+     *
+     * @param exact {@code true}, если требуется точный подсчет.
+     * @return количество комментариев.
+     */
+    public Count countAllComments(final boolean exact) {
+        if (!exact) {
+            Long value = jdbcTemplate.queryForObject(RELTUPLES, Long.class, "comments");
+            log.debug("Planner estimates {} comments", value);
+            return Count.estimated(value == null ? 0 : value);
+        }
+        long value = commentRepository.count();
+        log.debug("Counted {} comments", value);
+        return Count.exact(value);
+    }
+
+    /**
+     * Сверяет {@code tasks.comment_count} с фактическим количеством комментариев порциями задач,
+     * каждая в отдельной короткой транзакции.
+     *
+     * @return количество исправленных задач.
+     */
+    @Scheduled(fixedDelayString = "${counts.reconcile-interval:1h}", initialDelayString = "${counts.reconcile-interval:1h}")
+    public int reconcileCommentCounts() {
+        log.debug("Reconciling comment counts");
+        long afterId = Long.MIN_VALUE;
+        int fixed = 0;
+        Batch batch;
+        do {
+            long from = afterId;
+            batch = transactionTemplate.execute(status -> reconcileBatch(from));
+            afterId = batch.lastId();
+            fixed += batch.fixed();
+        } while (batch.size() == properties.getReconcileBatchSize());
+        if (fixed > 0) {
+            log.warn("Comment counts of {} tasks drifted and were reconciled", fixed);
+        }
+        return fixed;
+    }
+
+    private Batch reconcileBatch(final long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_TASKS, Long.class, afterId, properties.getReconcileBatchSize());
+        if (ids.isEmpty()) {
+            return new Batch(afterId, 0, 0);
+        }
+        int fixed = jdbcTemplate.update(FIX_COMMENT_COUNTS,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())));
+        return new Batch(ids.getLast(), ids.size(), fixed);
+    }
+
+    private record Batch(long lastId, int size, int fixed) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.FeedProperties;
+import com.sarf.task_management_system.domain.enums.FeedEntryType;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.FeedEntry;
+import com.sarf.task_management_system.domain.models.FeedPage;
+import com.sarf.task_management_system.domain.outbox.OutboxProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Сервис ленты активности пользователя.
+ * <p>
+ * Лента строится при записи: сервис является {@link OutboxProjection} и для каждого нового комментария и смены
+ * статуса из пачки исходящей очереди добавляет запись в {@code feed_entries} автору и исполнителю задачи одним
+ * пакетным {@code INSERT}. События сохраняются в исходящую очередь в транзакции изменения и проецируются
+ * ровно один раз, поэтому запись ленты не теряется ни при остановке процесса, ни при переполнении очереди,
+ * а ошибка вставки повторяется при следующем опросе очереди.
+ * </p>
+ * <p>
+ * Чтение ленты — один обратный проход по индексу {@code (user_id, id)} независимо от количества задач
+ * пользователя, без выборки его задач и запросов по каждой из них.
+ * </p>
+ * <p>
+ * При чтении записи соединяются с задачами и комментариями: записи задач, которые удалены, перенесены в архив
+ * или у которых пользователь больше не автор и не исполнитель, а также удаленных комментариев не выдаются.
+ * Записи старше {@code feed.retention} периодически удаляются.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FeedService implements OutboxProjection {
+
+    private static final String INSERT = """
+            INSERT INTO feed_entries (user_id, type, task_id, actor_id, comment_id, old_status, new_status, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SELECT = """
+            SELECT f.id, f.type, f.task_id, f.actor_id, f.comment_id, c.content, f.old_status, f.new_status, f.occurred_at
+            FROM feed_entries f
+            JOIN tasks t ON t.id = f.task_id AND (t.author_id = f.user_id OR t.assignee_id = f.user_id)
+            LEFT JOIN comments c ON c.id = f.comment_id
+            WHERE f.user_id = ?
+              AND f.id < ?
+              AND (f.comment_id IS NULL OR c.id IS NOT NULL)
+            ORDER BY f.id DESC
+            LIMIT ?
+            """;
+    private static final String DELETE_EXPIRED = """
+            DELETE FROM feed_entries
+            WHERE id IN (SELECT id FROM feed_entries WHERE occurred_at < ? LIMIT ?)
+            """;
+
+    private static final RowMapper<FeedEntry> ROW_MAPPER = (rs, rowNum) -> new FeedEntry(
+            rs.getLong("id"),
+            FeedEntryType.valueOf(rs.getString("type")),
+            rs.getLong("task_id"),
+            rs.getObject("actor_id", Long.class),
+            rs.getObject("comment_id", Long.class),
+            rs.getString("content"),
+            rs.getString("old_status") == null ? null : Status.valueOf(rs.getString("old_status")),
+            rs.getString("new_status") == null ? null : Status.valueOf(rs.getString("new_status")),
+            rs.getTimestamp("occurred_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedProperties properties;
+
+    /**
+     * Раздает записи пачки событий лентам авторов и исполнителей задач одним пакетным запросом.
+     *
+     * @param events события пачки исходящей очереди.
+     */
+    @Override
+    public void project(final List<DomainEvent> events) {
+        List<Delivery> deliveries = events.stream()
+                .flatMap(FeedService::toDeliveries)
+                .toList();
+        if (deliveries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, deliveries, deliveries.size(), (statement, delivery) -> {
+            FeedEntry entry = delivery.entry();
+            statement.setLong(1, delivery.userId());
+            statement.setString(2, entry.type().name());
+            statement.setLong(3, entry.taskId());
+            setLong(statement, 4, entry.actorId());
+            setLong(statement, 5, entry.commentId());
+            statement.setString(6, Objects.toString(entry.oldStatus(), null));
+            statement.setString(7, Objects.toString(entry.newStatus(), null));
+            statement.setTimestamp(8, Timestamp.from(entry.occurredAt()));
+        });
+        log.debug("Wrote {} feed entries from {} events", deliveries.size(), events.size());
+    }
+
+    /**
+     * Получает ленту активности пользователя от новых записей к старым.
+     *
+     * @param userId идентификатор пользователя.
+     * @param before курсор предыдущей страницы; {@code null} — с самых новых записей.
+     * @param limit максимальное количество записей.
+     * @return страница ленты.
+     */
+    public FeedPage getFeed(final Long userId, final Long before, final int limit) {
+        log.debug("Fetching feed of user {} before {}", userId, before);
+        List<FeedEntry> entries = jdbcTemplate.query(
+                SELECT,
+                ROW_MAPPER,
+                userId,
+                before == null ? Long.MAX_VALUE : before,
+                limit + 1
+        );
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        Long cursor = entries.isEmpty() ? null : entries.getLast().id();
+        log.debug("Fetched {} feed entries of user {}", entries.size(), userId);
+        return new FeedPage(entries, cursor, hasMore);
+    }
+
+    /**
+     * Удаляет записи ленты старше срока хранения порциями, чтобы не держать длинных блокировок.
+     */
+    @Scheduled(fixedDelayString = "${feed.cleanup-interval:1h}")
+    public void cleanup() {
+        Timestamp before = Timestamp.from(Instant.now().minus(properties.getRetention()));
+        int deleted;
+        int total = 0;
+        do {
+            deleted = jdbcTemplate.update(DELETE_EXPIRED, before, properties.getCleanupBatchSize());
+            total += deleted;
+        } while (deleted == properties.getCleanupBatchSize());
+        if (total > 0) {
+            log.info("Feed cleanup removed {} expired entries", total);
+        }
+    }
+
+    private static Stream<Delivery> toDeliveries(final DomainEvent event) {
+        FeedEntry entry = switch (event) {
+            case CommentAdded added -> new FeedEntry(
+                    null,
+                    FeedEntryType.COMMENT,
+                    added.taskId(),
+                    added.authorId(),
+                    added.commentId(),
+                    null,
+                    null,
+                    null,
+                    added.occurredAt()
+            );
+            case TaskStatusChanged changed when changed.oldStatus() != changed.newStatus() -> new FeedEntry(
+                    null,
+                    FeedEntryType.STATUS,
+                    changed.taskId(),
+                    changed.actorId(),
+                    null,
+                    null,
+                    changed.oldStatus(),
+                    changed.newStatus(),
+                    changed.occurredAt()
+            );
+            default -> null;
+        };
+        if (entry == null) {
+            return Stream.empty();
+        }
+        return Stream.of(event.taskAuthorId(), event.taskAssigneeId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(userId -> new Delivery(userId, entry));
+    }
+
+    private static void setLong(final PreparedStatement statement, final int index, final Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private record Delivery(Long userId, FeedEntry entry) {
+    }
+}
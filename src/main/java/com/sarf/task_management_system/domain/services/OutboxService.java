@@ -0,0 +1,273 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarf.task_management_system.config.OutboxProperties;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import com.sarf.task_management_system.domain.outbox.OutboxProjection;
+import com.sarf.task_management_system.domain.outbox.OutboxSink;
+import com.sarf.task_management_system.repositories.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис транзакционной исходящей очереди событий (transactional outbox).
+ * <p>
+ * Каждое доменное событие сохраняется в таблицу {@code outbox} синхронно, в той же транзакции,
+ * что и изменение задачи или комментария, поэтому событие не теряется при падении процесса
+ * и не добавляет к записи задержку внешней доставки. Фоновый диспетчер забирает пачки сообщений
+ * через {@code FOR UPDATE SKIP LOCKED}, так что несколько узлов разбирают очередь без конфликтов,
+ * и передает их в {@link OutboxSink}. Неудачная доставка повторяется с экспоненциальной задержкой,
+ * доставленные сообщения удаляются по истечении срока хранения.
+ * </p>
+ * <p>
+ * Блокировки строк не держатся во время доставки: короткая транзакция забирает пачку, откладывая следующую
+ * попытку на {@code outbox.claim-timeout}, и фиксируется; затем сообщения доставляются, и результат записывается
+ * второй короткой транзакцией: одним {@code UPDATE ... WHERE id = ANY(?)} на каждый исход доставки, без чтения
+ * строк перед обновлением. Если узел упадет между ними, сообщения будут доставлены повторно после истечения
+ * {@code outbox.claim-timeout}. После {@code outbox.max-attempts} неудачных попыток сообщение переводится
+ * в состояние недоставляемого ({@code dead_at}) и больше не выбирается.
+ * </p>
+ * <p>
+ * Транзакция забора пачки также передает еще не спроецированные события в {@link OutboxProjection}
+ * и отмечает их {@code projected_at}: так история изменений и лента активности пишутся пакетами
+ * вне транзакции изменения, но ровно один раз. При {@code outbox.enabled: false} проекции не заполняются.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = Arrays
+            .stream(DomainEvent.class.getPermittedSubclasses())
+            .map(type -> type.asSubclass(DomainEvent.class))
+            .collect(Collectors.toMap(Class::getSimpleName, Function.identity()));
+
+    private static final String MARK_DELIVERED = """
+            UPDATE outbox SET delivered_at = ?, last_error = NULL
+            WHERE id = ANY(?)
+            """;
+    private static final String MARK_FAILED = """
+            UPDATE outbox SET attempts = ?, next_attempt_at = ?, dead_at = ?, last_error = ?
+            WHERE id = ANY(?)
+            """;
+
+    private final OutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxSink sink;
+    private final List<OutboxProjection> projections;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Сохраняет доменное событие в исходящую очередь в текущей транзакции.
+     *
+     * @param event доменное событие.
+     */
+    @EventListener
+    @SneakyThrows
+    public void enqueue(final DomainEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        OutboxMessage message = new OutboxMessage(
+                event.getClass().getSimpleName(),
+                event.taskId(),
+                objectMapper.writeValueAsString(event),
+                event.occurredAt()
+        );
+        outboxRepository.save(message);
+        log.debug("Outbox message {} enqueued for task {}", message.getEventType(), event.taskId());
+    }
+
+    /**
+     * Доставляет очередную пачку готовых к отправке сообщений: забирает ее короткой транзакцией, доставляет
+     * без открытой транзакции и записывает результат второй короткой транзакцией.
+     *
+     * @return количество обработанных сообщений.
+     */
+    @Scheduled(fixedDelayString = "${outbox.poll-interval:1s}")
+    public int dispatch() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> claim(Instant.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        for (OutboxMessage message : batch) {
+            deliver(message, now);
+        }
+        transactionTemplate.executeWithoutResult(status -> record(batch, now));
+        log.debug("Outbox dispatcher processed {} messages", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Удаляет доставленные сообщения старше срока хранения порциями, чтобы не держать длинных блокировок.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval:10m}")
+    public void cleanup() {
+        Instant before = Instant.now().minus(properties.getRetention());
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(
+                    status -> outboxRepository.deleteDelivered(before, properties.getCleanupBatchSize())
+            );
+            total += deleted;
+        } while (deleted == properties.getCleanupBatchSize());
+        if (total > 0) {
+            log.info("Outbox cleanup removed {} delivered messages", total);
+        }
+    }
+
+    private List<OutboxMessage> claim(final Instant now) {
+        List<OutboxMessage> batch = outboxRepository.lockPending(now, properties.getBatchSize());
+        Instant claimedUntil = now.plus(properties.getClaimTimeout());
+        batch.forEach(message -> message.setNextAttemptAt(claimedUntil));
+        project(batch, now);
+        return batch;
+    }
+
+    private void project(final List<OutboxMessage> batch, final Instant now) {
+        List<OutboxMessage> unprojected = batch.stream()
+                .filter(message -> message.getProjectedAt() == null)
+                .toList();
+        if (unprojected.isEmpty()) {
+            return;
+        }
+        List<DomainEvent> events = unprojected.stream()
+                .map(this::toEvent)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!events.isEmpty()) {
+            projections.forEach(projection -> projection.project(events));
+        }
+        unprojected.forEach(message -> message.setProjectedAt(now));
+        log.debug("Outbox projected {} events", events.size());
+    }
+
+    private DomainEvent toEvent(final OutboxMessage message) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(message.getEventType());
+        if (type == null) {
+            log.error("Outbox message #{} has unknown event type {}, skipping projection",
+                    message.getId(), message.getEventType());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException exception) {
+            log.error("Outbox message #{} cannot be read, skipping projection: {}",
+                    message.getId(), exception.getMessage());
+            return null;
+        }
+    }
+
+    private void record(final List<OutboxMessage> batch, final Instant now) {
+        List<Long> delivered = batch.stream()
+                .filter(message -> message.getDeliveredAt() != null)
+                .map(OutboxMessage::getId)
+                .toList();
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.update(MARK_DELIVERED, statement -> {
+                statement.setTimestamp(1, Timestamp.from(now));
+                setIds(statement, 2, delivered);
+            });
+        }
+        Map<Failure, List<Long>> failed = batch.stream()
+                .filter(message -> message.getDeliveredAt() == null)
+                .collect(Collectors.groupingBy(
+                        Failure::of,
+                        LinkedHashMap::new,
+                        Collectors.mapping(OutboxMessage::getId, Collectors.toList())
+                ));
+        failed.forEach((failure, ids) -> jdbcTemplate.update(MARK_FAILED, statement -> {
+            statement.setInt(1, failure.attempts());
+            setTimestamp(statement, 2, failure.nextAttemptAt());
+            setTimestamp(statement, 3, failure.deadAt());
+            statement.setString(4, failure.lastError());
+            setIds(statement, 5, ids);
+        }));
+        log.debug("Outbox recorded {} delivered messages and {} failure groups", delivered.size(), failed.size());
+    }
+
+    private static void setTimestamp(final PreparedStatement statement, final int index, final Instant value)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            statement.setTimestamp(index, Timestamp.from(value));
+        }
+    }
+
+    private static void setIds(final PreparedStatement statement, final int index, final List<Long> ids)
+            throws SQLException {
+        statement.setArray(index, statement.getConnection().createArrayOf("bigint", ids.toArray()));
+    }
+
+    private void deliver(final OutboxMessage message, final Instant now) {
+        try {
+            sink.deliver(message);
+            message.setDeliveredAt(now);
+            message.setLastError(null);
+        } catch (Exception exception) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setLastError(truncate(String.valueOf(exception.getMessage())));
+            if (attempts >= properties.getMaxAttempts()) {
+                message.setDeadAt(now);
+                log.error("Outbox message #{} moved to dead letters after {} attempts: {}",
+                        message.getId(), attempts, exception.getMessage());
+                return;
+            }
+            Duration backoff = backoff(attempts);
+            message.setNextAttemptAt(now.plus(backoff));
+            log.warn("Outbox message #{} delivery failed (attempt {}), retry in {}: {}",
+                    message.getId(), attempts, backoff, exception.getMessage());
+        }
+    }
+
+    private static String truncate(final String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private Duration backoff(final int attempts) {
+        Duration initial = properties.getInitialBackoff();
+        Duration max = properties.getMaxBackoff();
+        int shift = Math.min(attempts - 1, 30);
+        Duration backoff = initial.multipliedBy(1L << shift);
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private record Failure(int attempts, Instant nextAttemptAt, Instant deadAt, String lastError) {
+
+        static Failure of(final OutboxMessage message) {
+            return new Failure(message.getAttempts(), message.getNextAttemptAt(), message.getDeadAt(), message.getLastError());
+        }
+    }
+}
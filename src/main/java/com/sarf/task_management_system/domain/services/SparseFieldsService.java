@@ -0,0 +1,321 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.CommentAttribute;
+import com.sarf.task_management_system.domain.enums.TaskAttribute;
+import com.sarf.task_management_system.domain.models.SparsePage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис чтения задач и комментариев с выборочными полями.
+ * <p>
+ * Клиент перечисляет нужные поля в параметре {@code fields}, и запрос выбирает только их столбцы: соединение
+ * с {@code users} добавляется, лишь когда запрошен вложенный {@code author} или {@code assignee}, а идентификаторы
+ * {@code authorId} и {@code assigneeId} читаются из самой задачи или комментария без соединения. Записи отдаются
+ * словарями с запрошенными полями, поэтому ответ содержит только их. Вложенный пользователь содержит
+ * {@code id}, {@code email} и {@code name}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SparseFieldsService {
+
+    private static final Map<String, TaskAttribute> TASK_ATTRIBUTES = byName(TaskAttribute.values(), TaskAttribute::name);
+    private static final Map<String, CommentAttribute> COMMENT_ATTRIBUTES = byName(CommentAttribute.values(), CommentAttribute::name);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Разбирает список полей задачи.
+     *
+     * @param fields имена полей ответа через запятую.
+     * @return запрошенные поля.
+     * @throws IllegalArgumentException если список пуст или содержит неизвестное поле.
+     */
+    public static Set<TaskAttribute> parseTaskFields(final String fields) {
+        return parse(fields, TASK_ATTRIBUTES, EnumSet.noneOf(TaskAttribute.class));
+    }
+
+    /**
+     * Разбирает список полей комментария.
+     *
+     * @param fields имена полей ответа через запятую.
+     * @return запрошенные поля.
+     * @throws IllegalArgumentException если список пуст или содержит неизвестное поле.
+     */
+    public static Set<CommentAttribute> parseCommentFields(final String fields) {
+        return parse(fields, COMMENT_ATTRIBUTES, EnumSet.noneOf(CommentAttribute.class));
+    }
+
+    /**
+     * Возвращает компактный ключ набора полей для ключей кеша и ETag, одинаковый на всех узлах.
+     *
+     * @param fields запрошенные поля.
+     * @return шестнадцатеричная битовая маска полей.
+     */
+    public static String keyOf(final Set<? extends Enum<?>> fields) {
+        long mask = 0;
+        for (Enum<?> field : fields) {
+            mask |= 1L << field.ordinal();
+        }
+        return Long.toHexString(mask);
+    }
+
+    /**
+     * Получает все задачи с запрошенными полями.
+     *
+     * @param fields запрошенные поля.
+     * @return задачи.
+     */
+    public List<Map<String, Object>> getAllTasks(final Set<TaskAttribute> fields) {
+        return queryTasks(fields, "TRUE");
+    }
+
+    /**
+     * Получает задачи автора с запрошенными полями.
+     *
+     * @param authorId идентификатор автора.
+     * @param fields запрошенные поля.
+     * @return задачи автора.
+     */
+    public List<Map<String, Object>> getTasksByAuthor(final Long authorId, final Set<TaskAttribute> fields) {
+        return queryTasks(fields, "t.author_id = ?", authorId);
+    }
+
+    /**
+     * Получает задачи исполнителя с запрошенными полями.
+     *
+     * @param assigneeId идентификатор исполнителя.
+     * @param fields запрошенные поля.
+     * @return задачи исполнителя.
+     */
+    public List<Map<String, Object>> getTasksByAssignee(final Long assigneeId, final Set<TaskAttribute> fields) {
+        return queryTasks(fields, "t.assignee_id = ?", assigneeId);
+    }
+
+    /**
+     * Получает задачи, где пользователь является автором или исполнителем, с запрошенными полями.
+     *
+     * @param userId идентификатор пользователя.
+     * @param fields запрошенные поля.
+     * @return задачи пользователя.
+     */
+    public List<Map<String, Object>> getTasksByUser(final Long userId, final Set<TaskAttribute> fields) {
+        return queryTasks(fields, "(t.assignee_id = ? OR t.author_id = ?)", userId, userId);
+    }
+
+    /**
+     * Получает страницу комментариев задачи с запрошенными полями в том же порядке и с теми же курсорами,
+     * что и {@link CommentService#getByTask}.
+     *
+     * @param taskId идентификатор задачи.
+     * @param before порядковый номер, перед которым начинается страница.
+     * @param since порядковый номер, после которого начинается страница.
+     * @param limit размер страницы.
+     * @param fields запрошенные поля.
+     * @return страница комментариев.
+     */
+    public SparsePage getCommentsByTask(final Long taskId,
+                                        final Long before,
+                                        final Long since,
+                                        final int limit,
+                                        final Set<CommentAttribute> fields) {
+        if (before != null) {
+            return queryComments(fields, "c.seq", "c.task_id = ? AND c.seq < ? ORDER BY c.seq DESC", limit, taskId, before);
+        }
+        if (since != null) {
+            return queryComments(fields, "c.seq", "c.task_id = ? AND c.seq > ? ORDER BY c.seq", limit, taskId, since);
+        }
+        return queryComments(fields, "c.seq", "c.task_id = ? ORDER BY c.seq DESC", limit, taskId);
+    }
+
+    /**
+     * Получает страницу комментариев автора от новых к старым с запрошенными полями.
+     *
+     * @param authorId идентификатор автора.
+     * @param before курсор предыдущей страницы; {@code null} — с самого нового комментария.
+     * @param limit размер страницы.
+     * @param fields запрошенные поля.
+     * @return страница комментариев.
+     */
+    public SparsePage getCommentsByAuthor(final Long authorId,
+                                          final Long before,
+                                          final int limit,
+                                          final Set<CommentAttribute> fields) {
+        if (before != null) {
+            return queryComments(fields, "c.id", "c.author_id = ? AND c.id < ? ORDER BY c.id DESC", limit, authorId, before);
+        }
+        return queryComments(fields, "c.id", "c.author_id = ? ORDER BY c.id DESC", limit, authorId);
+    }
+
+    private List<Map<String, Object>> queryTasks(final Set<TaskAttribute> fields, final String where, final Object... args) {
+        StringJoiner columns = new StringJoiner(", ");
+        StringBuilder joins = new StringBuilder();
+        for (TaskAttribute field : fields) {
+            switch (field) {
+                case ID -> columns.add("t.id");
+                case TITLE -> columns.add("t.title");
+                case DESCRIPTION -> columns.add("t.description");
+                case PRIORITY -> columns.add("t.priority");
+                case STATUS -> columns.add("t.status");
+                case AUTHOR_ID -> columns.add("t.author_id");
+                case ASSIGNEE_ID -> columns.add("t.assignee_id");
+                case AUTHOR -> {
+                    columns.add(userColumns("au"));
+                    joins.append(" LEFT JOIN users au ON au.id = t.author_id");
+                }
+                case ASSIGNEE -> {
+                    columns.add(userColumns("asg"));
+                    joins.append(" LEFT JOIN users asg ON asg.id = t.assignee_id");
+                }
+            }
+        }
+        String sql = "SELECT " + columns + " FROM tasks t" + joins + " WHERE " + where;
+        RowMapper<Map<String, Object>> mapper = (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TaskAttribute field : fields) {
+                row.put(jsonName(field.name()), switch (field) {
+                    case ID -> rs.getLong("id");
+                    case TITLE -> rs.getString("title");
+                    case DESCRIPTION -> rs.getString("description");
+                    case PRIORITY -> rs.getString("priority");
+                    case STATUS -> rs.getString("status");
+                    case AUTHOR_ID -> rs.getObject("author_id", Long.class);
+                    case ASSIGNEE_ID -> rs.getObject("assignee_id", Long.class);
+                    case AUTHOR -> readUser(rs, "au");
+                    case ASSIGNEE -> readUser(rs, "asg");
+                });
+            }
+            return row;
+        };
+        List<Map<String, Object>> tasks = jdbcTemplate.query(sql, mapper, args);
+        log.debug("Fetched {} tasks with fields {}", tasks.size(), fields);
+        return tasks;
+    }
+
+    private SparsePage queryComments(final Set<CommentAttribute> fields,
+                                     final String cursorColumn,
+                                     final String whereAndOrder,
+                                     final int limit,
+                                     final Object... args) {
+        StringJoiner columns = new StringJoiner(", ");
+        columns.add(cursorColumn + " AS page_cursor");
+        String join = "";
+        for (CommentAttribute field : fields) {
+            switch (field) {
+                case ID -> columns.add("c.id");
+                case TASK_ID -> columns.add("c.task_id");
+                case PARENT_ID -> columns.add("c.parent_id");
+                case SEQ -> columns.add("c.seq");
+                case CONTENT -> columns.add("c.content");
+                case AUTHOR_ID -> columns.add("c.author_id");
+                case CREATED_AT -> columns.add("c.created_at");
+                case AUTHOR -> {
+                    columns.add(userColumns("au"));
+                    join = " LEFT JOIN users au ON au.id = c.author_id";
+                }
+            }
+        }
+        String sql = "SELECT " + columns + " FROM comments c" + join + " WHERE " + whereAndOrder + " LIMIT ?";
+        List<Long> cursors = new ArrayList<>();
+        RowMapper<Map<String, Object>> mapper = (rs, rowNum) -> {
+            cursors.add(rs.getLong("page_cursor"));
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (CommentAttribute field : fields) {
+                row.put(jsonName(field.name()), switch (field) {
+                    case ID -> rs.getLong("id");
+                    case TASK_ID -> rs.getLong("task_id");
+                    case PARENT_ID -> rs.getObject("parent_id", Long.class);
+                    case SEQ -> rs.getLong("seq");
+                    case CONTENT -> rs.getString("content");
+                    case AUTHOR_ID -> rs.getObject("author_id", Long.class);
+                    case CREATED_AT -> toInstant(rs.getTimestamp("created_at"));
+                    case AUTHOR -> readUser(rs, "au");
+                });
+            }
+            return row;
+        };
+        Object[] params = Arrays.copyOf(args, args.length + 1);
+        params[args.length] = limit + 1;
+        List<Map<String, Object>> comments = jdbcTemplate.query(sql, mapper, params);
+
+        boolean hasMore = comments.size() > limit;
+        if (hasMore) {
+            comments = comments.subList(0, limit);
+        }
+        Long cursor = comments.isEmpty() ? null : cursors.get(comments.size() - 1);
+        log.debug("Fetched {} comments with fields {}", comments.size(), fields);
+        return new SparsePage(comments, cursor, hasMore);
+    }
+
+    private static String userColumns(final String alias) {
+        return "%1$s.id AS %1$s_id, %1$s.email AS %1$s_email, %1$s.name AS %1$s_name".formatted(alias);
+    }
+
+    private static Map<String, Object> readUser(final ResultSet rs, final String alias) throws SQLException {
+        Long id = rs.getObject(alias + "_id", Long.class);
+        if (id == null) {
+            return null;
+        }
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", id);
+        user.put("email", rs.getString(alias + "_email"));
+        user.put("name", rs.getString(alias + "_name"));
+        return user;
+    }
+
+    private static Instant toInstant(final Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private static <E extends Enum<E>> Set<E> parse(final String fields, final Map<String, E> attributes, final Set<E> result) {
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            E attribute = attributes.get(name.trim());
+            if (attribute == null) {
+                throw new IllegalArgumentException("Unknown field '%s'".formatted(name.trim()));
+            }
+            result.add(attribute);
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return result;
+    }
+
+    private static <E> Map<String, E> byName(final E[] values, final Function<E, String> name) {
+        return Arrays.stream(values)
+                .collect(Collectors.toUnmodifiableMap(value -> jsonName(name.apply(value)), Function.identity()));
+    }
+
+    private static String jsonName(final String constant) {
+        String[] words = constant.toLowerCase(Locale.ROOT).split("_");
+        StringBuilder name = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            name.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,278 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.SyncProperties;
+import com.sarf.task_management_system.domain.enums.EntityType;
+import com.sarf.task_management_system.domain.models.ChangeSet;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.models.Tombstone;
+import com.sarf.task_management_system.repositories.CommentRepository;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import com.sarf.task_management_system.repositories.TombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Сервис дельта-синхронизации задач и комментариев.
+ * <p>
+ * Каждая вставка и изменение задачи или комментария получает новое значение из общей последовательности
+ * {@code change_seq}, а удаления фиксируются записями {@link Tombstone} из той же последовательности.
+ * Клиент передает последний полученный курсор и получает только строки, измененные после него,
+ * вместо повторной загрузки полных списков.
+ * </p>
+ * <p>
+ * Номер последовательности выдается до фиксации транзакции, поэтому транзакция с меньшим номером может
+ * зафиксироваться позже транзакции с большим. Чтобы курсор клиента не перескочил через такую строку,
+ * изменения отдаются только до безопасного горизонта — номера, все транзакции до которого завершены.
+ * Раз в {@code sync.horizon-interval} сервис запоминает последнее выданное значение {@code change_seq}
+ * вместе с {@code pg_snapshot_xmax} следующего снимка и считает это значение безопасным, когда
+ * {@code pg_snapshot_xmin} текущего снимка его догоняет: все транзакции, которые могли получить номер
+ * не больше него, к этому моменту зафиксированы или откатены. Изменения становятся видны синхронизации
+ * с задержкой в пару интервалов.
+ * </p>
+ * <p>
+ * Пользователь, переставший быть исполнителем задачи, получает запись {@link EntityType#TASK_ACCESS}
+ * и удаляет задачу из локальной копии. Пользователь, ставший исполнителем, получает запись
+ * {@link EntityType#TASK_GRANT}: комментарии задачи, измененные до назначения, лежат ниже его курсора,
+ * поэтому клиент загружает их целиком отдельным запросом. Записи об удалениях старше {@code sync.tombstone-retention}
+ * периодически очищаются, а наибольший очищенный номер сохраняется в {@code sync_state}: клиент с курсором
+ * меньше него получает признак сброса и синхронизируется заново.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private static final String SELECT_HORIZON = """
+            SELECT CASE WHEN is_called THEN last_value ELSE last_value - 1 END AS last_seq,
+                   pg_snapshot_xmin(pg_current_snapshot())::text::bigint AS xmin,
+                   pg_snapshot_xmax(pg_current_snapshot())::text::bigint AS xmax
+            FROM change_seq
+            """;
+    private static final String PRUNE_TOMBSTONES = """
+            WITH pruned AS (
+                DELETE FROM tombstones
+                WHERE id IN (SELECT id FROM tombstones WHERE deleted_at < ? ORDER BY change_seq LIMIT ?)
+                RETURNING change_seq
+            )
+            UPDATE sync_state
+            SET pruned_seq = greatest(pruned_seq, (SELECT coalesce(max(change_seq), 0) FROM pruned))
+            WHERE id = 1
+            RETURNING (SELECT count(*) FROM pruned)
+            """;
+    private static final String SELECT_PRUNED = "SELECT pruned_seq FROM sync_state WHERE id = 1";
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncProperties properties;
+
+    private final Deque<HorizonSample> samples = new ArrayDeque<>();
+    private long pendingSeq = -1;
+    private volatile long horizon;
+
+    /**
+     * Получает изменения, видимые пользователю, начиная с указанного курсора.
+     * <p>
+     * Из каждого источника выбирается не более {@code limit} строк до безопасного горизонта, после чего они
+     * сливаются по номеру изменения и обрезаются до {@code limit}; курсором становится номер последней
+     * отданной строки.
+     * </p>
+     *
+     * @param userId идентификатор пользователя.
+     * @param all {@code true}, если пользователю видны изменения всех задач (администратор).
+     * @param since курсор, после которого необходимо вернуть изменения.
+     * @param limit максимальное количество строк в ответе.
+     * @return набор изменений.
+     */
+    @Transactional(readOnly = true)
+    public ChangeSet getChanges(final Long userId, final boolean all, final long since, final int limit) {
+        log.debug("Fetching changes since {} for user {} (all: {})", since, userId, all);
+        if (since > 0 && since < prunedSeq()) {
+            log.debug("Cursor {} is behind pruned tombstones, client must resync", since);
+            return new ChangeSet(List.of(), List.of(), List.of(), 0, false, true);
+        }
+        long until = horizon;
+        List<Task> tasks = taskRepository.findChanges(since, until, userId, all, Limit.of(limit + 1));
+        List<Comment> comments = commentRepository.findChanges(since, until, userId, all, Limit.of(limit + 1));
+        List<Tombstone> tombstones = tombstoneRepository.findChanges(since, until, userId, all, Limit.of(limit + 1));
+
+        int total = tasks.size() + comments.size() + tombstones.size();
+        long cursor = since;
+        if (total > limit) {
+            cursor = nthSeq(tasks, comments, tombstones, limit);
+            long bound = cursor;
+            tasks = tasks.stream().filter(task -> task.getChangeSeq() <= bound).toList();
+            comments = comments.stream().filter(comment -> comment.getChangeSeq() <= bound).toList();
+            tombstones = tombstones.stream().filter(tombstone -> tombstone.getChangeSeq() <= bound).toList();
+        } else {
+            cursor = Math.max(cursor, lastSeq(tasks, Task::getChangeSeq));
+            cursor = Math.max(cursor, lastSeq(comments, Comment::getChangeSeq));
+            cursor = Math.max(cursor, lastSeq(tombstones, Tombstone::getChangeSeq));
+        }
+
+        log.debug("Fetched {} tasks, {} comments, {} tombstones up to cursor {}",
+                tasks.size(), comments.size(), tombstones.size(), cursor);
+        return new ChangeSet(tasks, comments, tombstones, cursor, total > limit, false);
+    }
+
+    /**
+     * Продвигает безопасный горизонт синхронизации.
+     * <p>
+     * Значение {@code change_seq}, прочитанное на одном такте, связывается с {@code pg_snapshot_xmax} снимка
+     * следующего такта, чтобы учесть транзакции, уже получившие номер, но еще не получившие идентификатор.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${sync.horizon-interval:1s}")
+    public synchronized void advanceHorizon() {
+        HorizonSnapshot snapshot = jdbcTemplate.queryForObject(SELECT_HORIZON, (rs, rowNum) -> new HorizonSnapshot(
+                rs.getLong("last_seq"),
+                rs.getLong("xmin"),
+                rs.getLong("xmax")
+        ));
+        if (snapshot == null) {
+            return;
+        }
+        if (pendingSeq >= 0) {
+            samples.addLast(new HorizonSample(pendingSeq, snapshot.xmax()));
+        }
+        pendingSeq = snapshot.lastSeq();
+        long safe = horizon;
+        while (!samples.isEmpty() && samples.peekFirst().xmax() <= snapshot.xmin()) {
+            safe = Math.max(safe, samples.pollFirst().seq());
+        }
+        if (safe != horizon) {
+            horizon = safe;
+            log.trace("Sync horizon advanced to {}", safe);
+        }
+    }
+
+    /**
+     * Удаляет записи об удалениях старше {@code sync.tombstone-retention} порциями и запоминает наибольший
+     * удаленный номер, чтобы клиенты с более старым курсором синхронизировались заново.
+     */
+    @Scheduled(fixedDelayString = "${sync.tombstone-cleanup-interval:1h}")
+    public void pruneTombstones() {
+        Timestamp before = Timestamp.from(Instant.now().minus(properties.getTombstoneRetention()));
+        long pruned;
+        long total = 0;
+        do {
+            Long deleted = jdbcTemplate.queryForObject(PRUNE_TOMBSTONES, Long.class, before, properties.getCleanupBatchSize());
+            pruned = deleted == null ? 0 : deleted;
+            total += pruned;
+        } while (pruned == properties.getCleanupBatchSize());
+        if (total > 0) {
+            log.info("Sync cleanup removed {} expired tombstones", total);
+        }
+    }
+
+    /**
+     * Фиксирует удаление задачи.
+     *
+     * @param task удаляемая задача.
+     */
+    public void recordTaskDeletion(final Task task) {
+        log.debug("Recording tombstone for task {}", task.getId());
+        tombstoneRepository.save(new Tombstone(EntityType.TASK, task.getId(), task));
+    }
+
+    /**
+     * Фиксирует, что пользователь перестал видеть задачу, потому что больше не является ее исполнителем.
+     *
+     * @param task задача.
+     * @param userId идентификатор прежнего исполнителя.
+     */
+    public void recordTaskRevocation(final Task task, final Long userId) {
+        log.debug("Recording revocation of task {} for user {}", task.getId(), userId);
+        recordAccess(EntityType.TASK_ACCESS, task, userId);
+    }
+
+    /**
+     * Фиксирует, что пользователь стал исполнителем задачи и должен загрузить ее комментарии целиком.
+     *
+     * @param task задача.
+     * @param userId идентификатор нового исполнителя.
+     */
+    public void recordTaskGrant(final Task task, final Long userId) {
+        log.debug("Recording grant of task {} for user {}", task.getId(), userId);
+        recordAccess(EntityType.TASK_GRANT, task, userId);
+    }
+
+    /**
+     * Фиксирует удаление комментария без загрузки задачи и комментария.
+     *
+     * @param commentId идентификатор удаляемого комментария.
+     * @param taskId идентификатор задачи комментария.
+     */
+    public void recordCommentDeletion(final Long commentId, final Long taskId) {
+        log.debug("Recording tombstone for comment {} of task {}", commentId, taskId);
+        tombstoneRepository.insertCommentTombstone(commentId, taskId);
+    }
+
+    /**
+     * Находит номер изменения, на котором заканчиваются первые {@code n} строк при слиянии трех упорядоченных списков.
+     */
+    private static long nthSeq(final List<Task> tasks,
+                               final List<Comment> comments,
+                               final List<Tombstone> tombstones,
+                               final int n) {
+        int t = 0;
+        int c = 0;
+        int d = 0;
+        long seq = 0;
+        for (int taken = 0; taken < n; taken++) {
+            long taskSeq = t < tasks.size() ? tasks.get(t).getChangeSeq() : Long.MAX_VALUE;
+            long commentSeq = c < comments.size() ? comments.get(c).getChangeSeq() : Long.MAX_VALUE;
+            long tombstoneSeq = d < tombstones.size() ? tombstones.get(d).getChangeSeq() : Long.MAX_VALUE;
+            if (taskSeq <= commentSeq && taskSeq <= tombstoneSeq) {
+                seq = taskSeq;
+                t++;
+            } else if (commentSeq <= tombstoneSeq) {
+                seq = commentSeq;
+                c++;
+            } else {
+                seq = tombstoneSeq;
+                d++;
+            }
+        }
+        return seq;
+    }
+
+    private void recordAccess(final EntityType type, final Task task, final Long userId) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.setEntityType(type);
+        tombstone.setEntityId(task.getId());
+        tombstone.setTaskId(task.getId());
+        tombstone.setAssigneeId(userId);
+        tombstoneRepository.save(tombstone);
+    }
+
+    private long prunedSeq() {
+        List<Long> pruned = jdbcTemplate.queryForList(SELECT_PRUNED, Long.class);
+        return pruned.isEmpty() ? 0 : pruned.getFirst();
+    }
+
+    private static <T> long lastSeq(final List<T> rows, final Function<T, Long> seq) {
+        return rows.isEmpty() ? 0 : seq.apply(rows.get(rows.size() - 1));
+    }
+
+    private record HorizonSnapshot(long lastSeq, long xmin, long xmax) {
+    }
+
+    private record HorizonSample(long seq, long xmax) {
+    }
+}
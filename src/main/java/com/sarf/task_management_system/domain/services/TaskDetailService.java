@@ -0,0 +1,131 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.TaskDetailProperties;
+import com.sarf.task_management_system.domain.exceptions.DeadlineExceededException;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.models.TaskDetail;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервис просмотра задачи.
+ * <p>
+ * Задача, ее последние комментарии и количество непрочитанных комментариев не зависят друг от друга, поэтому
+ * читаются одновременно, каждое на своем виртуальном потоке, и время ответа определяется самым медленным запросом,
+ * а не их суммой. Автор и исполнитель приходят вместе с задачей, а общее количество комментариев — из ее
+ * столбца {@code comment_count}, отдельных запросов для них нет.
+ * </p>
+ * <p>
+ * Потоки одного просмотра принадлежат его собственному исполнителю и не переживают вызов: у всех запросов общий
+ * срок {@code task-detail.timeout}. Результаты ожидаются в порядке завершения, поэтому первая же ошибка
+ * или истечение срока сразу прерывают незавершенные запросы, не дожидаясь более медленных.
+ * </p>
+ * <p>
+ * Каждый запрос просмотра занимает собственное соединение из пула, то есть один просмотр держит до трех соединений
+ * одновременно. Чтобы параллельные просмотры не исчерпали пул, число одновременных запросов всех просмотров
+ * ограничено {@code task-detail.max-concurrent-fetches}; запрос, не получивший разрешения до истечения срока,
+ * завершается {@link DeadlineExceededException}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TaskDetailService {
+
+    private final TaskService taskService;
+    private final CommentService commentService;
+    private final UnreadService unreadService;
+    private final TaskDetailProperties properties;
+    private final Semaphore fetchPermits;
+
+    public TaskDetailService(final TaskService taskService,
+                             final CommentService commentService,
+                             final UnreadService unreadService,
+                             final TaskDetailProperties properties) {
+        this.taskService = taskService;
+        this.commentService = commentService;
+        this.unreadService = unreadService;
+        this.properties = properties;
+        this.fetchPermits = new Semaphore(properties.getMaxConcurrentFetches());
+    }
+
+    /**
+     * Получает задачу вместе с последними комментариями и количеством непрочитанных комментариев.
+     *
+     * @param taskId идентификатор задачи.
+     * @param userId идентификатор пользователя, для которого считаются непрочитанные комментарии.
+     * @return данные для просмотра задачи.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     * @throws DeadlineExceededException если данные не получены за {@code task-detail.timeout}.
+     */
+    public TaskDetail getDetail(final Long taskId, final Long userId) {
+        log.debug("Fetching detail of task {} for user {}", taskId, userId);
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+            Future<Object> task = completion.submit(limited(() -> taskService.getById(taskId), deadline, taskId));
+            Future<Object> comments = completion.submit(limited(
+                    () -> commentService.getByTask(taskId, null, null, properties.getComments()), deadline, taskId
+            ));
+            Future<Object> unread = completion.submit(limited(() -> unreadService.getUnread(userId, taskId), deadline, taskId));
+            for (int remaining = 3; remaining > 0; remaining--) {
+                await(completion, deadline, taskId);
+            }
+            TaskDetail detail = new TaskDetail(
+                    (Task) task.resultNow(),
+                    (CommentPage) comments.resultNow(),
+                    (Long) unread.resultNow()
+            );
+            log.debug("Fetched detail of task {} with {} comments", taskId, detail.comments().comments().size());
+            return detail;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<Object> limited(final Callable<Object> fetch, final long deadline, final Long taskId) {
+        return () -> {
+            if (!fetchPermits.tryAcquire(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                throw new DeadlineExceededException(
+                        "No connection slot for detail of task %d was available in time".formatted(taskId)
+                );
+            }
+            try {
+                return fetch.call();
+            } finally {
+                fetchPermits.release();
+            }
+        };
+    }
+
+    private static void await(final CompletionService<Object> completion, final long deadline, final Long taskId) {
+        try {
+            Future<Object> done = completion.poll(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                log.warn("Detail of task {} was not fetched in time", taskId);
+                throw new DeadlineExceededException("Detail of task %d was not fetched in time".formatted(taskId));
+            }
+            done.get();
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching detail of task %d".formatted(taskId));
+        }
+    }
+}
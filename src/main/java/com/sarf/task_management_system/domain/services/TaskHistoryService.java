@@ -0,0 +1,207 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.TaskField;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.TaskHistoryEntry;
+import com.sarf.task_management_system.domain.outbox.OutboxProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Сервис истории изменений задач.
+ * <p>
+ * История заполняется как {@link OutboxProjection}: события изменения статуса и исполнителя уже сохраняются
+ * в исходящую очередь в транзакции изменения, и диспетчер очереди передает их сервису пачками. Транзакция
+ * {@code TaskController.change} не получает дополнительных вставок, вся пачка записывается одним пакетным
+ * {@code INSERT}, а запись аудита не теряется ни при переполнении очередей
+ * {@link com.sarf.task_management_system.domain.events.DomainEventBus}, ни при остановке процесса.
+ * История отстает от изменения на интервал опроса очереди {@code outbox.poll-interval}.
+ * </p>
+ * <p>
+ * Таблица {@code task_history} только дополняется и секционирована по месяцам столбца {@code changed_at}
+ * (см. {@code schema.sql}); секции на текущий и следующий месяцы создаются заранее при запуске и ежедневно.
+ * Запросы за интервал времени затрагивают только нужные секции.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryService implements OutboxProjection {
+
+    private static final String INSERT = """
+            INSERT INTO task_history (task_id, field, old_value, new_value, changed_by, changed_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final String SELECT = """
+            SELECT task_id, field, old_value, new_value, changed_by, changed_at
+            FROM task_history
+            """;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final int PARTITIONS_AHEAD = 1;
+
+    private static final RowMapper<TaskHistoryEntry> ROW_MAPPER = (rs, rowNum) -> new TaskHistoryEntry(
+            rs.getLong("task_id"),
+            TaskField.valueOf(rs.getString("field")),
+            rs.getString("old_value"),
+            rs.getString("new_value"),
+            rs.getObject("changed_by", Long.class),
+            rs.getTimestamp("changed_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Записывает историю пачки событий исходящей очереди одним пакетным запросом.
+     *
+     * @param events доменные события; события, не меняющие статус или исполнителя, пропускаются.
+     */
+    @Override
+    public void project(final List<DomainEvent> events) {
+        List<TaskHistoryEntry> entries = events.stream()
+                .flatMap(TaskHistoryService::toEntries)
+                .toList();
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (statement, entry) -> {
+            statement.setLong(1, entry.taskId());
+            statement.setString(2, entry.field().name());
+            statement.setString(3, entry.oldValue());
+            statement.setString(4, entry.newValue());
+            if (entry.changedBy() == null) {
+                statement.setNull(5, Types.BIGINT);
+            } else {
+                statement.setLong(5, entry.changedBy());
+            }
+            statement.setTimestamp(6, Timestamp.from(entry.changedAt()));
+        });
+        log.debug("Wrote {} task history entries from {} events", entries.size(), events.size());
+    }
+
+    /**
+     * Получает историю задачи в хронологическом порядке.
+     *
+     * @param taskId идентификатор задачи.
+     * @param from начало интервала включительно; {@code null} — без ограничения.
+     * @param to конец интервала не включительно; {@code null} — без ограничения.
+     * @param limit максимальное количество записей.
+     * @return записи истории задачи.
+     */
+    public List<TaskHistoryEntry> getByTask(final Long taskId, final Instant from, final Instant to, final int limit) {
+        log.debug("Fetching history of task {} between {} and {}", taskId, from, to);
+        List<TaskHistoryEntry> entries = jdbcTemplate.query(
+                SELECT + """
+                        WHERE task_id = ?
+                          AND changed_at >= ?
+                          AND changed_at < ?
+                        ORDER BY changed_at
+                        LIMIT ?
+                        """,
+                ROW_MAPPER,
+                taskId,
+                Timestamp.from(from == null ? Instant.EPOCH : from),
+                Timestamp.from(to == null ? Instant.now() : to),
+                limit
+        );
+        log.debug("Fetched {} history entries of task {}", entries.size(), taskId);
+        return entries;
+    }
+
+    /**
+     * Получает историю всех задач за интервал времени в хронологическом порядке.
+     * Условие по {@code changed_at} позволяет планировщику исключить секции вне интервала.
+     *
+     * @param from начало интервала включительно.
+     * @param to конец интервала не включительно.
+     * @param limit максимальное количество записей.
+     * @return записи истории за интервал.
+     */
+    public List<TaskHistoryEntry> getRange(final Instant from, final Instant to, final int limit) {
+        log.debug("Fetching task history between {} and {}", from, to);
+        List<TaskHistoryEntry> entries = jdbcTemplate.query(
+                SELECT + """
+                        WHERE changed_at >= ?
+                          AND changed_at < ?
+                        ORDER BY changed_at
+                        LIMIT ?
+                        """,
+                ROW_MAPPER,
+                Timestamp.from(from),
+                Timestamp.from(to),
+                limit
+        );
+        log.debug("Fetched {} task history entries", entries.size());
+        return entries;
+    }
+
+    /**
+     * Создает секции истории на текущий и следующие месяцы, чтобы записи не попадали в секцию по умолчанию.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${history.partition-cron:0 0 3 * * *}")
+    public void createPartitions() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= PARTITIONS_AHEAD; i++) {
+            createPartition(month.plusMonths(i));
+        }
+    }
+
+    private void createPartition(final YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        String sql = "CREATE TABLE IF NOT EXISTS task_history_%s PARTITION OF task_history FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(month.format(PARTITION_SUFFIX), start.atStartOfDay(ZoneOffset.UTC), end.atStartOfDay(ZoneOffset.UTC));
+        try {
+            jdbcTemplate.execute(sql);
+            log.debug("Task history partition for {} is ready", month);
+        } catch (DataAccessException exception) {
+            log.warn("Failed to create task history partition for {}: {}", month, exception.getMessage());
+        }
+    }
+
+    private static Stream<TaskHistoryEntry> toEntries(final DomainEvent event) {
+        return switch (event) {
+            case TaskStatusChanged changed when changed.oldStatus() != changed.newStatus() -> Stream.of(
+                    new TaskHistoryEntry(
+                            changed.taskId(),
+                            TaskField.STATUS,
+                            Objects.toString(changed.oldStatus(), null),
+                            Objects.toString(changed.newStatus(), null),
+                            changed.actorId(),
+                            changed.occurredAt()
+                    )
+            );
+            case TaskReassigned reassigned -> Stream.of(
+                    new TaskHistoryEntry(
+                            reassigned.taskId(),
+                            TaskField.ASSIGNEE,
+                            Objects.toString(reassigned.oldAssigneeId(), null),
+                            Objects.toString(reassigned.taskAssigneeId(), null),
+                            reassigned.actorId(),
+                            reassigned.occurredAt()
+                    )
+            );
+            default -> Stream.empty();
+        };
+    }
+}
@@ -1,16 +1,29 @@
 package com.sarf.task_management_system.domain.services;
 
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.enums.Role;
 import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.exceptions.AccessDeniedException;
+import com.sarf.task_management_system.domain.exceptions.LockTimeoutException;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
 import com.sarf.task_management_system.web.dto.requsts.TaskRequest;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
 import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.repositories.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Сервисный класс для управления задачами в приложении.
@@ -30,6 +43,12 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final UserService userService;
+    private final VersionService versionService;
+    private final SyncService syncService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AssignmentService assignmentService;
+    private final TaskLocks taskLocks;
+    private final RecentCommentCache recentComments;
 
 
     /**
@@ -62,6 +81,20 @@ public class TaskService {
         return task;
     }
 
+    /**
+     * Проверяет, что пользователь может изменять задачу и читать ее историю: он автор или исполнитель задачи
+     * либо администратор.
+     *
+     * @param id идентификатор задачи.
+     * @param userId идентификатор пользователя.
+     * @param admin {@code true}, если пользователь — администратор.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     * @throws AccessDeniedException если пользователь не автор, не исполнитель и не администратор.
+     */
+    public void checkAccess(final Long id, final Long userId, final boolean admin) {
+        checkAccess(getById(id), userId, admin);
+    }
+
     /**
      * Получает список задач, созданных автором с указанным идентификатором.
      *
@@ -111,11 +144,35 @@ public class TaskService {
      *
      * @param taskRequest объект, содержащий данные для создания задачи.
      */
+    @Transactional
     public void save(TaskRequest taskRequest) {
-        log.debug("Saving task from TaskRequest: {}", taskRequest);
-        Task task = convertRequestToTask(taskRequest);
-        taskRepository.save(task);
-        log.info("Task saved successfully with title: {}", task.getTitle());
+        save(taskRequest, false);
+    }
+
+    /**
+     * Сохраняет новую задачу, используя данные из TaskRequest.
+     * <p>
+     * В режиме автоматического назначения исполнитель из запроса игнорируется: задача назначается
+     * пользователю с наименьшей открытой нагрузкой, выбранному {@link AssignmentService}.
+     * </p>
+     *
+     * @param taskRequest объект, содержащий данные для создания задачи.
+     * @param autoAssign {@code true}, если исполнителя нужно выбрать автоматически.
+     * @throws ResourceNotFoundException если для автоматического назначения нет ни одного исполнителя.
+     */
+    @Transactional
+    public void save(TaskRequest taskRequest, boolean autoAssign) {
+        log.debug("Saving task from TaskRequest: {} (auto assign: {})", taskRequest, autoAssign);
+        Task task = convertRequestToTask(taskRequest, autoAssign);
+        if (autoAssign) {
+            Long assigneeId = assignmentService.assign(taskRequest.getPriority(), taskRequest.getStatus())
+                    .orElseThrow(() -> new ResourceNotFoundException("No assignee available"));
+            task.setAssignee(userService.getById(assigneeId));
+        }
+        task = taskRepository.save(task);
+        versionService.bumpUserTasks(userIdOf(task.getAuthor()), userIdOf(task.getAssignee()));
+        eventPublisher.publishEvent(TaskCreated.of(task));
+        log.debug("Task saved successfully with title: {}", task.getTitle());
     }
 
     /**
@@ -125,35 +182,152 @@ public class TaskService {
      * @param status новый статус задачи.
      * @param accessToken токен доступа пользователя.
      */
+    @Transactional
     public void update(Long id, Status status, String accessToken) {
-        log.debug("Updating task with id: {} to status: {}", id, status);
+        ApplicationUser user = userService.getByToken(accessToken);
+        update(id, status, null, user.getId(), user.getRoles().contains(Role.ROLE_ADMIN));
+    }
+
+    /**
+     * Обновляет статус и (или) исполнителя задачи по её идентификатору.
+     * <p>
+     * Каждое фактическое изменение публикуется доменным событием, из которого перед фиксацией
+     * транзакции обновления записывается история задачи, поэтому аудит фиксируется вместе с изменением.
+     * Если меняются и исполнитель, и статус, сначала публикуется переназначение с прежним статусом,
+     * затем смена статуса, чтобы слушатели, ведущие счетчики по исполнителям, видели согласованную последовательность.
+     * Параллельные изменения одной задачи на узле выполняются по очереди под {@link TaskLocks}.
+     * </p>
+     *
+     * @param id идентификатор задачи.
+     * @param status новый статус задачи; {@code null}, если статус не меняется.
+     * @param assigneeEmail адрес электронной почты нового исполнителя; {@code null}, если исполнитель не меняется.
+     * @param actorId идентификатор пользователя, выполняющего изменение.
+     * @param admin {@code true}, если изменение выполняет администратор.
+     * @throws AccessDeniedException если пользователь не автор, не исполнитель задачи и не администратор.
+     * @throws LockTimeoutException если задача слишком долго занята другим изменением.
+     */
+    @Transactional
+    public void update(Long id, Status status, String assigneeEmail, Long actorId, boolean admin) {
+        log.debug("Updating task with id: {} to status: {} and assignee: {}", id, status, assigneeEmail);
+        taskLocks.lock(id);
         Task task = getById(id);
-        task.setStatus(status);
+        checkAccess(task, actorId, admin);
+        Status oldStatus = task.getStatus();
+        Long oldAssigneeId = userIdOf(task.getAssignee());
+        if (status != null) {
+            task.setStatus(status);
+            if (status != Status.IN_PROGRESS) {
+                task.setClaimedBy(null);
+                task.setLeaseExpiresAt(null);
+            }
+        }
+        if (assigneeEmail != null) {
+            task.setAssignee(userService.getByEmail(assigneeEmail));
+        }
         taskRepository.save(task);
-        log.info("Task with id {} updated to status {}", id, status);
+
+        Long assigneeId = userIdOf(task.getAssignee());
+        versionService.bumpUserTasks(userIdOf(task.getAuthor()), oldAssigneeId, assigneeId);
+        if (oldAssigneeId != null && !Objects.equals(oldAssigneeId, assigneeId)
+                && !Objects.equals(oldAssigneeId, userIdOf(task.getAuthor()))) {
+            syncService.recordTaskRevocation(task, oldAssigneeId);
+        }
+        if (assigneeId != null && !Objects.equals(oldAssigneeId, assigneeId)
+                && !Objects.equals(assigneeId, userIdOf(task.getAuthor()))) {
+            syncService.recordTaskGrant(task, assigneeId);
+        }
+        if (!Objects.equals(oldAssigneeId, assigneeId)) {
+            eventPublisher.publishEvent(TaskReassigned.of(task, oldStatus, oldAssigneeId, actorId));
+        }
+        if (status != null) {
+            eventPublisher.publishEvent(TaskStatusChanged.of(task, oldStatus, actorId));
+        }
+        log.debug("Task with id {} updated to status {} and assignee {}", id, task.getStatus(), assigneeId);
     }
 
     /**
      * Удаляет задачу по её идентификатору.
+     * <p>
+     * Задача и ее комментарии удаляются множественными {@code DELETE} без загрузки комментариев и каскадов;
+     * сама задача читается только для событий и tombstone-записи.
+     * </p>
      *
      * @param id идентификатор задачи, которую необходимо удалить.
      * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     * @throws LockTimeoutException если задача слишком долго занята другим изменением.
      */
+    @Transactional
     public void delete(Long id) {
         log.debug("Deleting task with id: {}", id);
+        taskLocks.lock(id);
         Task task = getById(id);
-        taskRepository.delete(task);
-        log.info("Task with id {} deleted successfully", id);
+        int comments = taskRepository.deleteCommentsByTaskId(id);
+        taskRepository.removeById(id);
+        recentComments.invalidate(id);
+        syncService.recordTaskDeletion(task);
+        versionService.bumpUserTasks(userIdOf(task.getAuthor()), userIdOf(task.getAssignee()));
+        versionService.bumpComments(id);
+        eventPublisher.publishEvent(TaskDeleted.of(task));
+        log.debug("Task with id {} deleted successfully with {} comments", id, comments);
+    }
+
+
+    /**
+     * Изменяет счетчик комментариев задачи в текущей транзакции.
+     *
+     * @param taskId идентификатор задачи.
+     * @param delta величина изменения.
+     */
+    @Transactional
+    public void addCommentCount(final Long taskId, final int delta) {
+        taskRepository.addCommentCount(taskId, delta);
+        log.debug("Comment count of task {} changed by {}", taskId, delta);
     }
 
+    /**
+     * Выделяет следующий порядковый номер комментария задачи и увеличивает счетчик комментариев.
+     *
+     * @param taskId идентификатор задачи.
+     * @return порядковый номер нового комментария, начиная с 1.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     */
+    @Transactional
+    public long nextCommentSeq(final Long taskId) {
+        return reserveCommentSeqs(taskId, 1);
+    }
+
+    /**
+     * Выделяет подряд несколько порядковых номеров комментариев задачи и увеличивает счетчик комментариев.
+     * <p>
+     * Номера выдаются обновлением строки задачи, которое удерживает ее блокировку до конца транзакции,
+     * поэтому номера комментариев одной задачи строго возрастают и не повторяются на всех узлах.
+     * </p>
+     *
+     * @param taskId идентификатор задачи.
+     * @param count количество номеров.
+     * @return последний выделенный номер; выделены номера с {@code результат - count + 1} по результат.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     */
+    @Transactional
+    public long reserveCommentSeqs(final Long taskId, final int count) {
+        if (taskRepository.incrementCommentSeq(taskId, count) == 0) {
+            log.warn("Task with id {} not found", taskId);
+            throw new ResourceNotFoundException("Task with ID %d not found".formatted(taskId));
+        }
+        long seq = taskRepository.findCommentSeqById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task with ID %d not found".formatted(taskId)));
+        log.debug("Allocated {} comment sequence numbers up to {} for task {}", count, seq, taskId);
+        return seq;
+    }
 
     /**
      * Преобразует объект TaskRequest в объект Task.
      *
      * @param request объект TaskRequest, содержащий данные для создания задачи.
+     * @param skipAssignee {@code true}, если исполнитель будет выбран отдельно.
      * @return созданный объект Task.
      */
-    private Task convertRequestToTask(final TaskRequest request) {
+    private Task convertRequestToTask(final TaskRequest request, final boolean skipAssignee) {
         log.debug("Converting TaskRequest to Task for title: {}", request.getTitle());
         Task task = new Task();
         task.setTitle(request.getTitle());
@@ -166,12 +340,28 @@ public class TaskService {
                         request.getAuthorEmail()
                 )
         );
-        task.setAssignee(
-                userService.getByEmail(
-                        request.getAssigneeEmail()
-                )
-        );
+        if (!skipAssignee) {
+            task.setAssignee(
+                    userService.getByEmail(
+                            request.getAssigneeEmail()
+                    )
+            );
+        }
         log.debug("Conversion complete for task with title: {}", task.getTitle());
         return task;
     }
+
+    private static void checkAccess(final Task task, final Long userId, final boolean admin) {
+        if (admin
+                || Objects.equals(userIdOf(task.getAuthor()), userId)
+                || Objects.equals(userIdOf(task.getAssignee()), userId)) {
+            return;
+        }
+        log.warn("Access denied: user {} is neither author nor assignee of task {}", userId, task.getId());
+        throw new AccessDeniedException("Only creator, assignee or admin can change task");
+    }
+
+    private static Long userIdOf(final ApplicationUser user) {
+        return user == null ? null : user.getId();
+    }
 }
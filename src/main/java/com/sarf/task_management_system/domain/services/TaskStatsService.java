@@ -0,0 +1,286 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.DomainEventListener;
+import com.sarf.task_management_system.domain.events.OverflowPolicy;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.events.TransactionIds;
+import com.sarf.task_management_system.domain.events.TransactionSnapshot;
+import com.sarf.task_management_system.domain.models.TaskStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Сервис статистики задач по исполнителям.
+ * <p>
+ * Для каждого исполнителя и для всех задач вместе в памяти хранится массив счетчиков: по одному
+ * на каждый {@link Status} и каждый {@link Priority}. Счетчики меняются инкрементально по доменным событиям создания, смены статуса,
+ * переназначения и удаления задачи, которые приходят из {@link com.sarf.task_management_system.domain.events.DomainEventBus},
+ * поэтому чтение статистики пользователя не обращается к базе данных и не зависит от количества задач.
+ * Очередь слушателя использует политику {@link OverflowPolicy#SPILL}: пропущенное событие исказило бы счетчики.
+ * </p>
+ * <p>
+ * Источником истины остается таблица {@code tasks}. При запуске и периодически счетчики пересчитываются
+ * одним {@code GROUP BY} и заменяются целиком; расхождения, например из-за изменений с другого узла,
+ * записываются в журнал и исправляются при следующей сверке.
+ * </p>
+ * <p>
+ * Вместе со счетчиками тем же запросом читается снимок базы ({@code pg_current_snapshot()}). Событие несет
+ * идентификатор записавшей его транзакции ({@link TransactionIds}); если транзакция видна в снимке, ее изменения
+ * уже учтены, и событие после замены счетчиков пропускается, даже если еще ждало в очереди слушателя.
+ * Запрос выполняется без блокировки слушателя: события, примененные во время запроса и не видимые в снимке,
+ * запоминаются и повторно применяются к новым счетчикам при замене.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskStatsService implements DomainEventListener {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int SIZE = STATUSES.length + PRIORITIES.length;
+
+    private static final String SELECT_COUNTS = """
+            SELECT s.snapshot, c.assignee_id, c.status, c.priority, c.total
+            FROM (SELECT pg_current_snapshot()::text AS snapshot) s
+            LEFT JOIN (
+                SELECT assignee_id, status, priority, count(*) AS total
+                FROM tasks
+                GROUP BY assignee_id, status, priority
+            ) c ON true
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Object reconcileLock = new Object();
+    private volatile Map<Long, AtomicLongArray> counters = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray totals = new AtomicLongArray(SIZE);
+    private TransactionSnapshot snapshot;
+    private List<Applied> appliedDuringReconcile;
+
+    /**
+     * Возвращает статистику задач исполнителя.
+     *
+     * @param userId идентификатор исполнителя.
+     * @return количество задач исполнителя по статусам и приоритетам.
+     */
+    public TaskStats getByUser(final Long userId) {
+        return toStats(userId, counters.get(userId));
+    }
+
+    /**
+     * Возвращает статистику всех задач, включая задачи без исполнителя.
+     *
+     * @return количество всех задач по статусам и приоритетам.
+     */
+    public TaskStats getTotal() {
+        return toStats(null, totals);
+    }
+
+    /**
+     * Возвращает статистику всех исполнителей, у которых есть задачи.
+     *
+     * @return статистика по исполнителям.
+     */
+    public List<TaskStats> getAll() {
+        return counters.entrySet()
+                .stream()
+                .map(entry -> toStats(entry.getKey(), entry.getValue()))
+                .filter(stats -> stats.total() > 0)
+                .toList();
+    }
+
+    @Override
+    public synchronized void onEvent(final DomainEvent event) {
+        apply(counters, totals, event);
+    }
+
+    @Override
+    public synchronized void onEvents(final List<DomainEvent> events) {
+        events.forEach(this::onEvent);
+    }
+
+    /**
+     * Применяет события пачки, пропуская события транзакций, видимых в снимке последней сверки.
+     *
+     * @param events события в порядке публикации.
+     * @param transactionIds идентификаторы записавших события транзакций.
+     */
+    @Override
+    public synchronized void onEvents(final List<DomainEvent> events, final long[] transactionIds) {
+        for (int i = 0; i < events.size(); i++) {
+            if (snapshot != null && snapshot.includes(transactionIds[i])) {
+                continue;
+            }
+            onEvent(events.get(i));
+            if (appliedDuringReconcile != null) {
+                appliedDuringReconcile.add(new Applied(events.get(i), transactionIds[i]));
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "stats";
+    }
+
+    @Override
+    public OverflowPolicy overflowPolicy() {
+        return OverflowPolicy.SPILL;
+    }
+
+    /**
+     * Пересчитывает счетчики по таблице задач и заменяет ими текущие.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval:5m}", initialDelayString = "${stats.reconcile-interval:5m}")
+    public void reconcile() {
+        synchronized (reconcileLock) {
+            log.debug("Reconciling task statistics");
+            synchronized (this) {
+                appliedDuringReconcile = new ArrayList<>();
+            }
+            List<CountRow> rows;
+            try {
+                rows = jdbcTemplate.query(SELECT_COUNTS, (rs, rowNum) -> new CountRow(
+                        rs.getString("snapshot"),
+                        rs.getObject("assignee_id", Long.class),
+                        rs.getString("status") == null ? null : Status.valueOf(rs.getString("status")),
+                        rs.getString("priority") == null ? null : Priority.valueOf(rs.getString("priority")),
+                        rs.getLong("total")
+                ));
+            } catch (RuntimeException exception) {
+                synchronized (this) {
+                    appliedDuringReconcile = null;
+                }
+                throw exception;
+            }
+            swap(rows);
+        }
+    }
+
+    private synchronized void swap(final List<CountRow> rows) {
+        TransactionSnapshot fresh = TransactionSnapshot.parse(rows.getFirst().snapshot());
+        Map<Long, AtomicLongArray> freshCounters = new ConcurrentHashMap<>();
+        AtomicLongArray freshTotals = new AtomicLongArray(SIZE);
+        for (CountRow row : rows) {
+            if (row.status() != null) {
+                add(freshCounters, freshTotals, row.assigneeId(), row.status(), row.priority(), row.total());
+            }
+        }
+        for (Applied applied : appliedDuringReconcile) {
+            if (!fresh.includes(applied.transactionId())) {
+                apply(freshCounters, freshTotals, applied.event());
+            }
+        }
+
+        long drifted = countDrifted(counters, freshCounters);
+        counters = freshCounters;
+        totals = freshTotals;
+        snapshot = fresh;
+        appliedDuringReconcile = null;
+        if (drifted > 0) {
+            log.warn("Task statistics of {} users drifted and were reconciled", drifted);
+        } else {
+            log.debug("Task statistics reconciled for {} users", freshCounters.size());
+        }
+    }
+
+    private static void apply(final Map<Long, AtomicLongArray> target,
+                              final AtomicLongArray targetTotals,
+                              final DomainEvent event) {
+        switch (event) {
+            case TaskCreated created ->
+                    add(target, targetTotals, created.taskAssigneeId(), created.status(), created.priority(), 1);
+            case TaskStatusChanged changed -> {
+                add(target, targetTotals, changed.taskAssigneeId(), changed.oldStatus(), null, -1);
+                add(target, targetTotals, changed.taskAssigneeId(), changed.newStatus(), null, 1);
+            }
+            case TaskReassigned reassigned -> {
+                add(target, targetTotals, reassigned.oldAssigneeId(), reassigned.status(), reassigned.priority(), -1);
+                add(target, targetTotals, reassigned.taskAssigneeId(), reassigned.status(), reassigned.priority(), 1);
+            }
+            case TaskDeleted deleted ->
+                    add(target, targetTotals, deleted.taskAssigneeId(), deleted.status(), deleted.priority(), -1);
+            default -> {
+            }
+        }
+    }
+
+    private static void add(final Map<Long, AtomicLongArray> target,
+                            final AtomicLongArray targetTotals,
+                            final Long userId,
+                            final Status status,
+                            final Priority priority,
+                            final long delta) {
+        increment(targetTotals, status, priority, delta);
+        if (userId != null) {
+            increment(target.computeIfAbsent(userId, id -> new AtomicLongArray(SIZE)), status, priority, delta);
+        }
+    }
+
+    private static void increment(final AtomicLongArray values,
+                                  final Status status,
+                                  final Priority priority,
+                                  final long delta) {
+        if (status != null) {
+            values.addAndGet(status.ordinal(), delta);
+        }
+        if (priority != null) {
+            values.addAndGet(STATUSES.length + priority.ordinal(), delta);
+        }
+    }
+
+    private static long countDrifted(final Map<Long, AtomicLongArray> current, final Map<Long, AtomicLongArray> fresh) {
+        Map<Long, AtomicLongArray> all = new HashMap<>(current);
+        fresh.forEach(all::putIfAbsent);
+        return all.keySet()
+                .stream()
+                .filter(userId -> !Objects.equals(
+                        toStats(userId, current.get(userId)),
+                        toStats(userId, fresh.get(userId))
+                ))
+                .count();
+    }
+
+    private static TaskStats toStats(final Long userId, final AtomicLongArray values) {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        long total = 0;
+        for (Status status : STATUSES) {
+            long count = values == null ? 0 : values.get(status.ordinal());
+            byStatus.put(status, count);
+            total += count;
+        }
+        for (Priority priority : PRIORITIES) {
+            byPriority.put(priority, values == null ? 0 : values.get(STATUSES.length + priority.ordinal()));
+        }
+        return new TaskStats(userId, byStatus, byPriority, total);
+    }
+
+    private record CountRow(String snapshot, Long assigneeId, Status status, Priority priority, long total) {
+    }
+
+    private record Applied(DomainEvent event, long transactionId) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.Comment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис непрочитанных комментариев.
+ * <p>
+ * Для пользователя и задачи хранится только отметка прочтения — наибольший прочитанный порядковый номер
+ * комментария (таблица {@code comment_reads}, строка появляется при первом прочтении). Последний номер
+ * задачи уже поддерживается в {@code tasks.comment_seq}, поэтому число непрочитанных комментариев — разность
+ * номера задачи и отметки, а не подсчет комментариев. Удаленные комментарии номер не уменьшают, поэтому
+ * после удаления значение может быть завышено до следующего прочтения.
+ * </p>
+ * <p>
+ * Отметка ставится одним {@code INSERT ... ON CONFLICT} и никогда не сдвигается назад. Комментарии,
+ * написанные пользователем, сразу считаются им прочитанными.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UnreadService {
+
+    private static final String MARK_READ = """
+            INSERT INTO comment_reads (user_id, task_id, last_read_seq)
+            SELECT ?, id, least(coalesce(?, comment_seq), comment_seq) FROM tasks WHERE id = ?
+            ON CONFLICT (user_id, task_id)
+            DO UPDATE SET last_read_seq = greatest(comment_reads.last_read_seq, excluded.last_read_seq)
+            """;
+    private static final String SELECT_UNREAD = """
+            SELECT t.id, t.comment_seq - coalesce(r.last_read_seq, 0) AS unread
+            FROM tasks t
+            LEFT JOIN comment_reads r ON r.task_id = t.id AND r.user_id = ?
+            WHERE (t.author_id = ? OR t.assignee_id = ?)
+              AND t.comment_seq > coalesce(r.last_read_seq, 0)
+            ORDER BY t.id
+            """;
+
+    private static final String SELECT_TASK_UNREAD = """
+            SELECT greatest(t.comment_seq - coalesce(r.last_read_seq, 0), 0)
+            FROM tasks t
+            LEFT JOIN comment_reads r ON r.task_id = t.id AND r.user_id = ?
+            WHERE t.id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Отмечает комментарии задачи прочитанными пользователем.
+     *
+     * @param userId идентификатор пользователя.
+     * @param taskId идентификатор задачи.
+     * @param seq порядковый номер последнего прочитанного комментария; {@code null} — все текущие комментарии.
+     * @throws ResourceNotFoundException если задача с указанным идентификатором не найдена.
+     */
+    public void markRead(final Long userId, final Long taskId, final Long seq) {
+        if (jdbcTemplate.update(MARK_READ, userId, seq, taskId) == 0) {
+            log.warn("Task with id {} not found", taskId);
+            throw new ResourceNotFoundException("Task with ID %d not found".formatted(taskId));
+        }
+        log.debug("User {} read comments of task {} up to {}", userId, taskId, seq == null ? "latest" : seq);
+    }
+
+    /**
+     * Отмечает только что записанные комментарии прочитанными их авторами одним пакетным запросом.
+     * Для каждой пары автора и задачи записывается только наибольший номер.
+     *
+     * @param comments сохраненные комментарии с назначенными порядковыми номерами.
+     */
+    public void markWritten(final List<Comment> comments) {
+        Map<ReadMark, Long> marks = new LinkedHashMap<>();
+        for (Comment comment : comments) {
+            marks.merge(new ReadMark(comment.getAuthor().getId(), comment.getTask().getId()), comment.getSeq(), Math::max);
+        }
+        if (marks.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = marks.entrySet()
+                .stream()
+                .map(mark -> new Object[]{mark.getKey().userId(), mark.getValue(), mark.getKey().taskId()})
+                .toList();
+        jdbcTemplate.batchUpdate(MARK_READ, args);
+        log.debug("Marked {} comments read by their authors in {} upserts", comments.size(), args.size());
+    }
+
+    /**
+     * Получает количество непрочитанных комментариев во всех задачах пользователя одним запросом.
+     *
+     * @param userId идентификатор пользователя.
+     * @return количество непрочитанных комментариев по идентификаторам задач, где пользователь является автором
+     * или исполнителем; задачи без непрочитанных комментариев не включаются.
+     */
+    public Map<Long, Long> getUnread(final Long userId) {
+        Map<Long, Long> unread = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_UNREAD, rs -> {
+            unread.put(rs.getLong("id"), rs.getLong("unread"));
+        }, userId, userId, userId);
+        log.debug("User {} has unread comments in {} tasks", userId, unread.size());
+        return unread;
+    }
+
+    /**
+     * Получает количество непрочитанных пользователем комментариев задачи.
+     *
+     * @param userId идентификатор пользователя.
+     * @param taskId идентификатор задачи.
+     * @return количество непрочитанных комментариев; {@code 0}, если задачи нет.
+     */
+    public long getUnread(final Long userId, final Long taskId) {
+        List<Long> unread = jdbcTemplate.queryForList(SELECT_TASK_UNREAD, Long.class, userId, taskId);
+        return unread.isEmpty() ? 0 : unread.getFirst();
+    }
+
+    private record ReadMark(Long userId, Long taskId) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.PurgeProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.repositories.ApplicationUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Сервис фоновой очистки данных удаленных пользователей.
+ * <p>
+ * {@link UserService#delete(Long)} только помечает пользователя удаленным, а данные удаляются здесь
+ * множественными {@code DELETE ... WHERE author_id = ?} без загрузки сущностей: задачи пользователя вместе
+ * с их комментариями, его комментарии к чужим задачам, затем сама строка пользователя. Назначенные
+ * пользователю чужие задачи остаются без исполнителя. Для удаленных задач и комментариев записываются
+ * tombstone-записи, чтобы клиенты синхронизации узнали об удалении.
+ * </p>
+ * <p>
+ * Каждая порция из {@code purge.batch-size} строк выполняется в отдельной короткой транзакции, между порциями
+ * делается пауза {@code purge.pause}, поэтому очистка пользователя с большим количеством данных не держит
+ * долгих блокировок и не создает всплеска нагрузки на основную базу. Если порция не удалась, очистка
+ * пользователя продолжается при следующем запуске.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserPurgeService {
+
+    private static final String DELETE_OWN_TASKS = """
+            WITH batch AS (
+                SELECT id FROM tasks WHERE author_id = ? LIMIT ? FOR UPDATE
+            ), deleted_comments AS (
+                DELETE FROM comments WHERE task_id IN (SELECT id FROM batch)
+            ), deleted AS (
+                DELETE FROM tasks WHERE id IN (SELECT id FROM batch)
+                RETURNING id, author_id, assignee_id
+            )
+            INSERT INTO tombstones (entity_type, entity_id, task_id, author_id, assignee_id, deleted_at, change_seq)
+            SELECT 'TASK', id, id, author_id, assignee_id, now(), nextval('change_seq') FROM deleted
+            """;
+    private static final String UNASSIGN_TASKS = """
+            UPDATE tasks
+            SET assignee_id = NULL, claimed_by = NULL, updated_at = now(), change_seq = nextval('change_seq')
+            WHERE id IN (SELECT id FROM tasks WHERE assignee_id = ? LIMIT ?)
+            """;
+    private static final String DELETE_OWN_COMMENTS = """
+            WITH deleted AS (
+                DELETE FROM comments WHERE id IN (SELECT id FROM comments WHERE author_id = ? LIMIT ?)
+                RETURNING id, task_id
+            ), counted AS (
+                UPDATE tasks t SET comment_count = t.comment_count - d.removed
+                FROM (SELECT task_id, count(*) AS removed FROM deleted GROUP BY task_id) d
+                WHERE t.id = d.task_id
+            )
+            INSERT INTO tombstones (entity_type, entity_id, task_id, author_id, assignee_id, deleted_at, change_seq)
+            SELECT 'COMMENT', d.id, t.id, t.author_id, t.assignee_id, now(), nextval('change_seq')
+            FROM deleted d JOIN tasks t ON t.id = d.task_id
+            """;
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ? AND deleted_at IS NOT NULL";
+
+    private final ApplicationUserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PurgeProperties properties;
+    private final VersionService versionService;
+    private final TaskStatsService taskStatsService;
+    private final RecentCommentCache recentComments;
+
+    /**
+     * Очищает данные всех пользователей, помеченных удаленными.
+     */
+    @Scheduled(fixedDelayString = "${purge.interval:1m}", initialDelayString = "${purge.interval:1m}")
+    public void purgeDeleted() {
+        List<Long> userIds = userRepository.findDeletedIds();
+        int purged = 0;
+        for (Long userId : userIds) {
+            try {
+                purge(userId);
+                purged++;
+            } catch (DataAccessException exception) {
+                log.warn("Purge of user {} failed and will be retried: {}", userId, exception.getMessage());
+            }
+        }
+        if (purged > 0) {
+            versionService.bumpUsers();
+            taskStatsService.reconcile();
+            recentComments.clear();
+            log.info("Purged {} deleted users", purged);
+        }
+    }
+
+    /**
+     * Удаляет данные пользователя порциями и затем самого пользователя.
+     *
+     * @param userId идентификатор пользователя, помеченного удаленным.
+     */
+    public void purge(final Long userId) {
+        log.debug("Purging data of deleted user {}", userId);
+        int tasks = drain(DELETE_OWN_TASKS, userId);
+        int unassigned = drain(UNASSIGN_TASKS, userId);
+        int comments = drain(DELETE_OWN_COMMENTS, userId);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(DELETE_USER, userId));
+        log.debug("Purged user {}: {} tasks deleted, {} tasks unassigned, {} comments deleted",
+                userId, tasks, unassigned, comments);
+    }
+
+    private int drain(final String sql, final Long userId) {
+        int batch = properties.getBatchSize();
+        int total = 0;
+        int affected;
+        do {
+            affected = transactionTemplate.execute(status -> jdbcTemplate.update(sql, userId, batch));
+            total += affected;
+        } while (affected == batch && pause());
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause());
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.warn("User purge interrupted");
+            return false;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.sarf.task_management_system.domain.services;
 
 import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.events.UserDeleted;
+import com.sarf.task_management_system.domain.events.UserRegistered;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
 import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.web.dto.requsts.RegisterRequest;
@@ -9,9 +11,11 @@ import com.sarf.task_management_system.domain.security.JwtTokenProvider;
 import com.sarf.task_management_system.repositories.ApplicationUserRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -22,6 +26,10 @@ import java.util.NoSuchElementException;
  * Этот сервис предоставляет методы для получения, сохранения и удаления пользователей, а также для проверки прав доступа.
  * Все операции взаимодействуют с репозиторием {@link ApplicationUserRepository} и обеспечивают бизнес-логику для работы с пользователями.
  * </p>
+ * <p>
+ * Удаление мягкое: пользователь только помечается удаленным и сразу перестает находиться и проходить аутентификацию,
+ * а его задачи и комментарии удаляет в фоне {@link UserPurgeService}.
+ * </p>
  */
 @Slf4j
 @Service
@@ -31,15 +39,17 @@ public class UserService {
     private final ApplicationUserRepository userRepository;
     private final JwtTokenProvider tokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final VersionService versionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Получает список всех пользователей в системе.
+     * Получает список всех пользователей в системе, кроме удаленных.
      *
      * @return список объектов {@link ApplicationUser}, представляющих всех пользователей.
      */
     public List<ApplicationUser> getAll () {
         log.debug("Fetching all users");
-        List<ApplicationUser> users = userRepository.findAll();
+        List<ApplicationUser> users = userRepository.findByDeletedAtIsNull();
         log.debug("Fetched {} users", users.size());
         return users;
     }
@@ -49,11 +59,12 @@ public class UserService {
      *
      * @param id идентификатор пользователя.
      * @return объект {@link ApplicationUser}, представляющий найденного пользователя.
-     * @throws NoSuchElementException если пользователь с указанным идентификатором не найден.
+     * @throws NoSuchElementException если пользователь с указанным идентификатором не найден или удален.
      */
     public ApplicationUser getById(long id) throws NoSuchElementException {
         log.debug("Fetching user by id: {}", id);
         ApplicationUser user = userRepository.findById(id)
+                .filter(found -> found.getDeletedAt() == null)
                 .orElseThrow(() -> {
                     log.warn("No user found with id: {}", id);
                     return new NoSuchElementException("No value present");
@@ -67,11 +78,12 @@ public class UserService {
      *
      * @param email электронная почта пользователя.
      * @return объект {@link ApplicationUser}, представляющий найденного пользователя.
-     * @throws NoSuchElementException если пользователь с указанной электронной почтой не найден.
+     * @throws NoSuchElementException если пользователь с указанной электронной почтой не найден или удален.
      */
     public ApplicationUser getByEmail(final String email) throws NoSuchElementException {
         log.debug("Fetching user by email: {}", email);
         ApplicationUser user = userRepository.findByEmail(email)
+                .filter(found -> found.getDeletedAt() == null)
                 .orElseThrow(() -> {
                     log.warn("No user found with email: {}", email);
                     return new NoSuchElementException("No value present");
@@ -116,18 +128,27 @@ public class UserService {
         );
 
         userRepository.save(user);
+        eventPublisher.publishEvent(UserRegistered.of(user));
         log.info("User saved with email: {}", registerRequest.getEmail());
     }
 
     /**
-     * Удаляет указанного пользователя.
+     * Помечает указанного пользователя удаленным.
+     * Задачи и комментарии пользователя удаляются позже фоновой очисткой.
      *
      * @param user объект {@link ApplicationUser}, представляющий пользователя, которого необходимо удалить.
      */
     public void delete(final ApplicationUser user) {
         log.debug("Deleting user: {}", user);
-        userRepository.delete(user);
-        log.info("User deleted: {}", user);
+        if (user.getDeletedAt() != null) {
+            log.debug("User {} is already deleted", user.getId());
+            return;
+        }
+        user.setDeletedAt(Instant.now());
+        userRepository.save(user);
+        versionService.bumpUsers();
+        eventPublisher.publishEvent(new UserDeleted(user.getId()));
+        log.info("User marked as deleted: {}", user);
     }
 
     /**
@@ -149,6 +170,21 @@ public class UserService {
         delete(user);
     }
 
+    /**
+     * Проверяет, является ли пользователь автором или исполнителем задачи.
+     * <p>
+     * Сравниваются только идентификаторы, поэтому коллекции задач пользователя не загружаются.
+     * </p>
+     *
+     * @param user пользователь.
+     * @param task задача.
+     * @return {@code true}, если пользователь — автор или исполнитель задачи.
+     */
+    public static boolean isParticipant(final ApplicationUser user, final Task task) {
+        return task.getAuthor() != null && task.getAuthor().getId() == user.getId() ||
+                task.getAssignee() != null && task.getAssignee().getId() == user.getId();
+    }
+
     /**
      * Проверяет, имеет ли указанный пользователь права доступа к указанной задаче.
      *
@@ -159,8 +195,7 @@ public class UserService {
     public static boolean hasAuthority(final ApplicationUser user, final Task task) {
         log.debug("Checking authority for user: {} on task: {}", user, task);
         boolean authority = user.getRoles().contains(Role.ROLE_ADMIN) ||
-                user.getTasksAssignedToUser().contains(task) ||
-                user.getTasksCreatedByUser().contains(task);
+                isParticipant(user, task);
         log.debug("Authority check result: {}", authority);
         return authority;
     }
@@ -177,8 +212,7 @@ public class UserService {
         ApplicationUser user = getByToken(accessToken);
         log.debug("User fetched for authority check: {}", user);
         boolean authority = user.getRoles().contains(Role.ROLE_ADMIN) ||
-                user.getTasksAssignedToUser().contains(task) ||
-                user.getTasksCreatedByUser().contains(task);
+                isParticipant(user, task);
         log.debug("Authority check result: {}", authority);
         return authority;
     }
@@ -0,0 +1,150 @@
+package com.sarf.task_management_system.domain.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Сервис счетчиков версий данных.
+ * <p>
+ * Каждая операция записи над задачами и комментариями увеличивает соответствующие счетчики:
+ * общий счетчик задач, счетчик задач каждого затронутого пользователя и счетчик комментариев задачи.
+ * По значению версии можно определить, изменились ли данные с момента построения ответа,
+ * не выполняя запросов к базе данных. Счетчики пользователей и комментариев хранятся в фиксированных
+ * массивах полос, индекс которых вычисляется по идентификатору: память ограничена, а коллизия
+ * приводит лишь к лишней инвалидации, но не к устаревшим данным.
+ * </p>
+ * <p>
+ * Внутри транзакции счетчики увеличиваются только после ее фиксации, а при откате не меняются: иначе
+ * читатель, получивший новую версию до фиксации, закэшировал бы под ней еще старые данные.
+ * </p>
+ * <p>
+ * Счетчики живут в памяти процесса и не синхронизируются между узлами. Чтобы после перезапуска
+ * заново начатые счетчики не совпали со старыми тегами, в каждый тег входит эпоха запуска.
+ * </p>
+ */
+@Slf4j
+@Service
+public class VersionService {
+
+    private static final int STRIPES = 4096;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLongArray userTasks = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray comments = new AtomicLongArray(STRIPES);
+
+    /**
+     * Возвращает текущую версию множества всех задач.
+     *
+     * @return версия задач.
+     */
+    public long getTasks() {
+        return tasks.get();
+    }
+
+    /**
+     * Возвращает текущую версию комментариев указанной задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @return версия комментариев задачи.
+     */
+    public long getComments(final Long taskId) {
+        return comments.get(stripe(taskId));
+    }
+
+    /**
+     * Возвращает сильный ETag списка задач пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return ETag, меняющийся при любом изменении задач, где пользователь является автором или исполнителем.
+     */
+    public String getUserTasksTag(final Long userId) {
+        return "\"%s-u%d-%d-%d\"".formatted(epoch, userId, users.get(), userTasks.get(stripe(userId)));
+    }
+
+    /**
+     * Возвращает сильный ETag списка комментариев задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @return ETag, меняющийся при любом изменении комментариев задачи.
+     */
+    public String getCommentsTag(final Long taskId) {
+        return "\"%s-c%d-%d\"".formatted(epoch, taskId, getComments(taskId));
+    }
+
+    /**
+     * Отмечает изменение множества задач.
+     */
+    public void bumpTasks() {
+        afterCommit(this::incrementTasks);
+    }
+
+    /**
+     * Отмечает изменение задачи, затрагивающее указанных пользователей.
+     * Помимо общего счетчика задач увеличивает счетчики каждого пользователя.
+     *
+     * @param userIds идентификаторы автора и исполнителя задачи; {@code null} пропускаются.
+     */
+    public void bumpUserTasks(final Long... userIds) {
+        afterCommit(() -> {
+            incrementTasks();
+            for (Long userId : userIds) {
+                if (userId != null) {
+                    userTasks.incrementAndGet(stripe(userId));
+                }
+            }
+        });
+    }
+
+    /**
+     * Отмечает изменение, которое может затронуть задачи любых пользователей,
+     * например удаление пользователя вместе с его задачами.
+     */
+    public void bumpUsers() {
+        afterCommit(() -> {
+            incrementTasks();
+            long version = users.incrementAndGet();
+            log.debug("Users version bumped to {}", version);
+        });
+    }
+
+    /**
+     * Отмечает изменение комментариев указанной задачи.
+     *
+     * @param taskId идентификатор задачи.
+     */
+    public void bumpComments(final Long taskId) {
+        afterCommit(() -> {
+            long version = comments.incrementAndGet(stripe(taskId));
+            log.debug("Comments version of task {} bumped to {}", taskId, version);
+        });
+    }
+
+    private void incrementTasks() {
+        long version = tasks.incrementAndGet();
+        log.debug("Tasks version bumped to {}", version);
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static int stripe(final Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+}
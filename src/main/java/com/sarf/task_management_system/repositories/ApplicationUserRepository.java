@@ -2,9 +2,15 @@ package com.sarf.task_management_system.repositories;
 
 import com.sarf.task_management_system.domain.models.ApplicationUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ApplicationUserRepository extends JpaRepository<ApplicationUser, Long> {
     Optional<ApplicationUser> findByEmail(String email);
+    List<ApplicationUser> findByDeletedAtIsNull();
+
+    @Query("select u.id from ApplicationUser u where u.deletedAt is not null order by u.deletedAt")
+    List<Long> findDeletedIds();
 }
@@ -1,13 +1,63 @@
 package com.sarf.task_management_system.repositories;
 
 import com.sarf.task_management_system.domain.models.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @EnableJpaRepositories
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-	List<Comment> findByAuthorId(Long authorId);
-	List<Comment> findByTaskId(Long taskId);
+	List<Comment> findByTaskIdOrderBySeqDesc(Long taskId, Limit limit);
+	List<Comment> findByTaskIdAndSeqLessThanOrderBySeqDesc(Long taskId, long seq, Limit limit);
+	List<Comment> findByTaskIdAndSeqGreaterThanOrderBySeqAsc(Long taskId, long seq, Limit limit);
+	List<Comment> findByAuthorIdOrderByIdDesc(Long authorId, Limit limit);
+	List<Comment> findByAuthorIdAndIdLessThanOrderByIdDesc(Long authorId, long id, Limit limit);
+	long countByTaskId(Long taskId);
+
+	@Modifying
+	@Query("delete from Comment c where c.id = :id")
+	int removeById(@Param("id") Long id);
+
+	@Query("select c.task.id from Comment c where c.id = :id")
+	Optional<Long> findTaskIdById(@Param("id") Long id);
+
+	@Query(value = """
+			select latest.* from tasks t
+			cross join lateral (
+				select c.* from comments c
+				where c.task_id = t.id
+				order by c.seq desc
+				limit :perTask
+			) latest
+			where t.id in (:taskIds)
+			order by latest.task_id, latest.seq desc""", nativeQuery = true)
+	List<Comment> findLatestByTaskIds(@Param("taskIds") Collection<Long> taskIds, @Param("perTask") int perTask);
+
+	@Query("""
+			select c from Comment c
+			where c.task.id = :taskId and c.path >= :from and c.path < :to and c.path > :after
+			order by c.path""")
+	List<Comment> findThread(@Param("taskId") Long taskId,
+							 @Param("from") String from,
+							 @Param("to") String to,
+							 @Param("after") String after,
+							 Limit limit);
+
+	@Query("""
+			select c from Comment c
+			where c.changeSeq > :since and c.changeSeq <= :until
+			  and (:all = true or c.task.author.id = :userId or c.task.assignee.id = :userId)
+			order by c.changeSeq""")
+	List<Comment> findChanges(@Param("since") long since,
+							  @Param("until") long until,
+							  @Param("userId") Long userId,
+							  @Param("all") boolean all,
+							  Limit limit);
 }
@@ -0,0 +1,31 @@
+package com.sarf.task_management_system.repositories;
+
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    @Query(value = """
+            select * from outbox
+            where delivered_at is null and dead_at is null and next_attempt_at <= :now
+            order by id
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<OutboxMessage> lockPending(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            delete from outbox
+            where id in (
+                select id from outbox
+                where delivered_at < :before
+                limit :limit
+            )""", nativeQuery = true)
+    int deleteDelivered(@Param("before") Instant before, @Param("limit") int limit);
+}
@@ -1,11 +1,98 @@
 package com.sarf.task_management_system.repositories;
 
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
 import com.sarf.task_management_system.domain.models.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAuthor_Id(Long authorId);
     List<Task> findByAssignee_Id(Long assigneeId);
+
+    @Query("""
+            select t from Task t
+            where t.changeSeq > :since and t.changeSeq <= :until
+              and (:all = true or t.author.id = :userId or t.assignee.id = :userId)
+            order by t.changeSeq""")
+    List<Task> findChanges(@Param("since") long since,
+                           @Param("until") long until,
+                           @Param("userId") Long userId,
+                           @Param("all") boolean all,
+                           Limit limit);
+
+    @Query("""
+            select count(t) from Task t
+            left join t.assignee a
+            where (:status is null or t.status = :status)
+              and (:priority is null or t.priority = :priority)
+              and (:assigneeId is null or a.id = :assigneeId)""")
+    long countFiltered(@Param("status") Status status,
+                       @Param("priority") Priority priority,
+                       @Param("assigneeId") Long assigneeId);
+
+    @Query("select t.commentCount from Task t where t.id = :id")
+    Optional<Long> findCommentCountById(@Param("id") Long id);
+
+    @Query(value = """
+            select * from tasks
+            where status = 'TODO'
+              and (assignee_id = :userId or assignee_id is null)
+            order by priority_rank, id
+            limit 1
+            for update skip locked""", nativeQuery = true)
+    Optional<Task> lockNextClaimable(@Param("userId") Long userId);
+
+    @Query(value = """
+            select * from tasks
+            where status = 'TODO'
+              and (assignee_id = :userId or assignee_id is null)
+              and id not in (:skipped)
+            order by priority_rank, id
+            limit 1
+            for update skip locked""", nativeQuery = true)
+    Optional<Task> lockNextClaimableExcept(@Param("userId") Long userId, @Param("skipped") Collection<Long> skipped);
+
+    @Query(value = """
+            select * from tasks
+            where status = 'IN_PROGRESS' and lease_expires_at < :now
+            order by lease_expires_at
+            limit :limit
+            for update skip locked""", nativeQuery = true)
+    List<Task> lockExpiredLeases(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            update tasks set lease_expires_at = :until
+            where id = :id and claimed_by = :userId and status = 'IN_PROGRESS'""", nativeQuery = true)
+    int renewLease(@Param("id") Long id, @Param("userId") Long userId, @Param("until") Instant until);
+
+    @Modifying
+    @Query("delete from Comment c where c.task.id = :id")
+    int deleteCommentsByTaskId(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "update tasks set comment_count = comment_count + :delta where id = :id", nativeQuery = true)
+    int addCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Query(value = """
+            update tasks set comment_seq = comment_seq + :count, comment_count = comment_count + :count
+            where id = :id""", nativeQuery = true)
+    int incrementCommentSeq(@Param("id") Long id, @Param("count") int count);
+
+    @Query("select t.commentSeq from Task t where t.id = :id")
+    Optional<Long> findCommentSeqById(@Param("id") Long id);
 }
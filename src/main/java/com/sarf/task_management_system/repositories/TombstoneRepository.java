@@ -0,0 +1,34 @@
+package com.sarf.task_management_system.repositories;
+
+import com.sarf.task_management_system.domain.models.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Query("""
+            select t from Tombstone t
+            where t.changeSeq > :since and t.changeSeq <= :until
+              and (:all = true and t.entityType not in (com.sarf.task_management_system.domain.enums.EntityType.TASK_ACCESS,
+                                                        com.sarf.task_management_system.domain.enums.EntityType.TASK_GRANT)
+                   or :all = false and (t.authorId = :userId or t.assigneeId = :userId))
+            order by t.changeSeq""")
+    List<Tombstone> findChanges(@Param("since") long since,
+                                @Param("until") long until,
+                                @Param("userId") Long userId,
+                                @Param("all") boolean all,
+                                Limit limit);
+
+    @Modifying
+    @Query(value = """
+            insert into tombstones (entity_type, entity_id, task_id, author_id, assignee_id, deleted_at, change_seq)
+            select 'COMMENT', :commentId, t.id, t.author_id, t.assignee_id, now(), nextval('change_seq')
+            from tasks t
+            where t.id = :taskId""", nativeQuery = true)
+    void insertCommentTombstone(@Param("commentId") Long commentId, @Param("taskId") Long taskId);
+}
@@ -0,0 +1,11 @@
+package com.sarf.task_management_system.web.cache;
+
+/**
+ * Готовое к отправке тело ответа.
+ *
+ * @param version версия данных, из которых построен ответ.
+ * @param json сериализованное тело в формате JSON.
+ * @param gzip сжатое тело или {@code null}, если ответ слишком мал для сжатия.
+ */
+public record CachedResponse(long version, byte[] json, byte[] gzip) {
+}
@@ -0,0 +1,195 @@
+package com.sarf.task_management_system.web.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarf.task_management_system.config.ResponseCacheProperties;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Кеш сериализованных ответов для часто запрашиваемых списков.
+ * <p>
+ * Хранит итоговые байты JSON и их сжатый gzip-вариант, ключом служит описание запроса,
+ * а каждая запись помечена версией данных из {@link com.sarf.task_management_system.domain.services.VersionService}.
+ * Запись с устаревшей версией не отдается и удаляется при обращении, поэтому любая запись данных
+ * инвалидирует связанные с ней ответы. Количество записей ограничено, вытесняются давно не использованные.
+ * </p>
+ * <p>
+ * Попадания записываются прямо в выходной поток сервлета, минуя преобразование сущностей и Jackson.
+ * Сжатый вариант выбирается по {@code Accept-Encoding} с учетом q-значений: {@code gzip;q=0} запрещает его,
+ * а ответ всегда помечается {@code Vary: Accept-Encoding}, чтобы промежуточные кеши не отдали сжатое тело
+ * клиенту, который его не принимает.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseByteCache {
+
+    private final ObjectMapper objectMapper;
+    private final ResponseCacheProperties properties;
+
+    private final Map<String, CachedResponse> entries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                    return size() > properties.getMaxEntries();
+                }
+            }
+    );
+
+    /**
+     * Проверяет, включен ли кеш.
+     *
+     * @return {@code true}, если кеш включен в конфигурации.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Возвращает закешированный ответ для ключа, построенный из данных указанной версии,
+     * либо строит, кеширует и возвращает новый.
+     * <p>
+     * Версию необходимо прочитать до загрузки данных: тогда запись, произошедшая во время загрузки,
+     * лишь приведет к лишнему промаху, но не к устаревшему ответу.
+     * </p>
+     *
+     * @param key ключ запроса.
+     * @param version текущая версия данных.
+     * @param loader поставщик тела ответа на случай промаха.
+     * @return готовый к отправке ответ.
+     */
+    public CachedResponse get(final String key, final long version, final Supplier<?> loader) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.version() == version) {
+            log.debug("Response cache hit for key {} (version {})", key, version);
+            return cached;
+        }
+
+        log.debug("Response cache miss for key {} (version {})", key, version);
+        CachedResponse response = serialize(version, loader.get());
+        entries.merge(key, response,
+                (current, created) -> current.version() > created.version() ? current : created);
+        return response;
+    }
+
+    /**
+     * Записывает закешированный ответ в выходной поток, выбирая сжатый вариант,
+     * если клиент принимает gzip с ненулевым q-значением не ниже, чем у несжатого ответа.
+     *
+     * @param cached закешированный ответ.
+     * @param request текущий HTTP-запрос.
+     * @param response текущий HTTP-ответ.
+     */
+    @SneakyThrows
+    public void write(final CachedResponse cached,
+                      final HttpServletRequest request,
+                      final HttpServletResponse response) {
+        byte[] body = cached.json();
+        if (cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        varyOnAcceptEncoding(response);
+        response.setContentLength(body.length);
+
+        ServletOutputStream outputStream = response.getOutputStream();
+        outputStream.write(body);
+        outputStream.flush();
+    }
+
+    /**
+     * Определяет, принимает ли клиент gzip, по заголовку {@code Accept-Encoding}.
+     * <p>
+     * Для gzip берется q-значение {@code gzip} или {@code x-gzip}, а если их нет — {@code *}; для несжатого
+     * ответа — {@code identity} или {@code *}. Сжатый вариант выбирается, если его q-значение больше нуля
+     * и не меньше q-значения несжатого, когда то указано явно.
+     * </p>
+     *
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding}; {@code null}, если его нет.
+     * @return {@code true}, если следует отдать сжатый вариант.
+     */
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        double identity = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = qualityOf(parts);
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, quality);
+                case "*" -> wildcard = quality;
+                case "identity" -> identity = quality;
+                default -> {
+                }
+            }
+        }
+        double effective = gzip >= 0 ? gzip : wildcard;
+        return effective > 0 && effective >= (identity >= 0 ? identity : wildcard);
+    }
+
+    private static double qualityOf(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(2).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void varyOnAcceptEncoding(final HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String header : vary.split(",")) {
+                String name = header.trim();
+                if (name.equals("*") || name.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING)) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @SneakyThrows
+    private CachedResponse serialize(final long version, final Object body) {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        if (json.length < properties.getGzipMinSize()) {
+            return new CachedResponse(version, json, null);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        }
+        log.debug("Serialized response of {} bytes, gzip {} bytes", json.length, buffer.size());
+        return new CachedResponse(version, json, buffer.toByteArray());
+    }
+}
@@ -0,0 +1,143 @@
+package com.sarf.task_management_system.web.controllers;
+
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.factories.ResponseFactory;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.domain.services.ArchiveService;
+import com.sarf.task_management_system.web.dto.response.ArchivedCommentResponse;
+import com.sarf.task_management_system.web.dto.response.ArchivedTaskResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер архива завершенных задач.
+ * <p>
+ * Отдает задачи и комментарии, перенесенные {@link ArchiveService} из рабочих таблиц. Списки постраничные:
+ * следующая страница запрашивается с идентификатором последнего полученного элемента в {@code afterId}.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/archive")
+@RequiredArgsConstructor
+@Tag(name = "Archive Controller", description = """
+        Отдает завершенные задачи и их комментарии, перенесенные в архив. Архив доступен только для чтения,
+        список всех архивных задач доступен только администраторам.
+        """)
+public class ArchiveController {
+
+    private static final int MAX_PAGE = 1000;
+
+    private final ArchiveService archiveService;
+
+    /**
+     * Получает страницу всех архивных задач.
+     * <p>
+     * Доступно только пользователям с ролью администратора.
+     * </p>
+     *
+     * @param afterId идентификатор последней задачи предыдущей страницы.
+     * @param limit размер страницы.
+     * @return ResponseEntity с архивными задачами в порядке идентификаторов.
+     */
+    @GetMapping("/tasks")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Retrieves a page of all archived tasks ordered by id.")
+    public ResponseEntity<List<ArchivedTaskResponse>> getTasks(
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        log.trace("Request to retrieve archived tasks after {}", afterId);
+        List<ArchivedTaskResponse> response = archiveService.getTasks(afterId, Math.clamp(limit, 1, MAX_PAGE))
+                .stream()
+                .map(ResponseFactory::createArchivedTask)
+                .toList();
+        log.info("Retrieved {} archived tasks", response.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Получает страницу архивных задач текущего пользователя.
+     *
+     * @param afterId идентификатор последней задачи предыдущей страницы.
+     * @param limit размер страницы.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с архивными задачами, где пользователь является автором или исполнителем.
+     */
+    @GetMapping("/tasks/my")
+    @Operation(description = "Retrieves a page of archived tasks created by or assigned to the current user.")
+    public ResponseEntity<List<ArchivedTaskResponse>> getMyTasks(
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Request to retrieve archived tasks of user {} after {}", principal.getId(), afterId);
+        List<ArchivedTaskResponse> response = archiveService.getTasksByUser(
+                        principal.getId(),
+                        afterId,
+                        Math.clamp(limit, 1, MAX_PAGE)
+                )
+                .stream()
+                .map(ResponseFactory::createArchivedTask)
+                .toList();
+        log.info("Retrieved {} archived tasks of user {}", response.size(), principal.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Получает архивную задачу по идентификатору.
+     *
+     * @param id идентификатор задачи.
+     * @return ResponseEntity с архивной задачей или 404, если задачи нет в архиве.
+     */
+    @GetMapping("/tasks/{id}")
+    @Operation(description = "Retrieves the archived task with the specified identifier.")
+    public ResponseEntity<ArchivedTaskResponse> getTask(@PathVariable Long id) {
+        log.trace("Request to retrieve archived task {}", id);
+        try {
+            ArchivedTaskResponse response = ResponseFactory.createArchivedTask(archiveService.getTask(id));
+            log.info("Archived task {} retrieved", id);
+            return ResponseEntity.ok(response);
+        }
+        catch (ResourceNotFoundException exception) {
+            log.error("Archived task retrieval failed for ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+    }
+
+    /**
+     * Получает страницу комментариев архивной задачи.
+     *
+     * @param id идентификатор задачи.
+     * @param afterId идентификатор последнего комментария предыдущей страницы.
+     * @param limit размер страницы.
+     * @return ResponseEntity с комментариями задачи в порядке идентификаторов.
+     */
+    @GetMapping("/tasks/{id}/comments")
+    @Operation(description = "Retrieves a page of comments of the archived task ordered by id.")
+    public ResponseEntity<List<ArchivedCommentResponse>> getComments(
+            @PathVariable Long id,
+            @RequestParam(name = "afterId", required = false) Long afterId,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        log.trace("Request to retrieve archived comments of task {} after {}", id, afterId);
+        List<ArchivedCommentResponse> response = archiveService.getComments(id, afterId, Math.clamp(limit, 1, MAX_PAGE))
+                .stream()
+                .map(ResponseFactory::createArchivedComment)
+                .toList();
+        log.info("Retrieved {} archived comments of task {}", response.size(), id);
+        return ResponseEntity.ok(response);
+    }
+}
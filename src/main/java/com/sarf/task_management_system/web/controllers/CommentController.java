@@ -1,18 +1,41 @@
 package com.sarf.task_management_system.web.controllers;
 
+import com.sarf.task_management_system.domain.enums.CommentAttribute;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
 import com.sarf.task_management_system.domain.factories.ResponseFactory;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.Count;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
 import com.sarf.task_management_system.domain.services.CommentService;
+import com.sarf.task_management_system.domain.services.CountService;
+import com.sarf.task_management_system.domain.services.SparseFieldsService;
+import com.sarf.task_management_system.domain.services.UnreadService;
+import com.sarf.task_management_system.domain.services.VersionService;
+import com.sarf.task_management_system.web.cache.CachedResponse;
+import com.sarf.task_management_system.web.cache.ResponseByteCache;
+import com.sarf.task_management_system.web.dto.response.CommentPageResponse;
 import com.sarf.task_management_system.web.dto.response.CommentResponse;
+import com.sarf.task_management_system.web.dto.response.CommentThreadResponse;
+import com.sarf.task_management_system.web.dto.response.CountResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedCommentPageResponse;
+import com.sarf.task_management_system.web.dto.response.SparseCommentPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Контроллер для управления комментариями, связанными с задачами.
@@ -34,41 +57,303 @@ import java.util.List;
 	\t""")
 public class CommentController {
 
+	private static final int MAX_PAGE = 1000;
+	private static final int MAX_TASKS = 200;
+	private static final int MAX_LATEST = 50;
+
 	private final CommentService commentService;
+	private final VersionService versionService;
+	private final ResponseByteCache responseCache;
+	private final CountService countService;
+	private final UnreadService unreadService;
+	private final SparseFieldsService sparseFieldsService;
 
 	/**
-	 * Получает список всех комментариев для задачи с указанным идентификатором.
+	 * Получает страницу комментариев задачи с указанным идентификатором.
+	 * <p>
+	 * Комментарии отдаются от новых к старым; следующая страница запрашивается с курсором предыдущей в {@code before}.
+	 * С параметром {@code since} отдаются комментарии, появившиеся после указанного порядкового номера,
+	 * от старых к новым, и следующий опрос передает полученный курсор снова в {@code since}.
+	 * </p>
+	 * <p>
+	 * Ответ помечается сильным ETag из {@link VersionService}: при совпадающем {@code If-None-Match}
+	 * возвращается 304 без запроса комментариев. При включенном кеше ответов готовые байты
+	 * отдаются из {@link ResponseByteCache}, пока версия комментариев задачи не изменится.
+	 * </p>
+	 * <p>
+	 * С параметром {@code fields} комментарии содержат только перечисленные поля. С параметром {@code normalized}
+	 * авторы отдаются один раз в словаре {@code users}, а комментарии ссылаются на них по идентификаторам.
+	 * </p>
 	 *
 	 * @param id идентификатор задачи, для которой необходимо получить комментарии.
-	 * @return список объектов {@link CommentResponse}, представляющих комментарии для указанной задачи.
+	 * @param before порядковый номер, перед которым начинается страница.
+	 * @param since порядковый номер, после которого начинается страница.
+	 * @param limit размер страницы.
+	 * @param fields поля комментария через запятую; {@code null} — все поля.
+	 * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
+	 * @param webRequest текущий запрос, используемый для проверки условных заголовков.
+	 * @param request текущий HTTP-запрос.
+	 * @param servletResponse текущий HTTP-ответ, в который пишется закешированное тело.
+	 * @return ResponseEntity со страницей {@link CommentPageResponse} комментариев указанной задачи,
+	 * {@link SparseCommentPageResponse}, если указаны поля, {@link NormalizedCommentPageResponse} в нормализованном
+	 * виде или 400, если поле неизвестно.
 	 */
 	@GetMapping("task/{id}/all")
-	@Operation(description = "Retrieves a list of comments for the task with the specified identifier.")
-	public List<CommentResponse> getAllByTask(@PathVariable Long id) {
-		log.trace("All comments of task {} request", id);
-		List<CommentResponse> comments = commentService.getByTask(id)
-				.stream()
-				.map(ResponseFactory::createComment)
-				.toList();
-		log.info("Retrieved {} comments for task {}", comments.size(), id);
-		return comments;
+	@Operation(description = "Retrieves a cursor-paginated page of comments for the task with the specified identifier, optionally limited to the fields listed in 'fields'.")
+	public ResponseEntity<?> getAllByTask(@PathVariable Long id,
+										  @RequestParam(name = "before", required = false) Long before,
+										  @RequestParam(name = "since", required = false) Long since,
+										  @RequestParam(name = "limit", defaultValue = "100") int limit,
+										  @RequestParam(name = "fields", required = false) String fields,
+										  @RequestParam(name = "normalized", defaultValue = "false") boolean normalized,
+										  WebRequest webRequest,
+										  HttpServletRequest request,
+										  HttpServletResponse servletResponse) {
+		log.trace("Comments of task {} request before {} since {} with fields {}", id, before, since, fields);
+		Set<CommentAttribute> fieldset;
+		try {
+			fieldset = fields == null ? null : SparseFieldsService.parseCommentFields(fields);
+		}
+		catch (IllegalArgumentException exception) {
+			log.error("Comments retrieval failed for task {}: {}", id, exception.getMessage());
+			return ResponseEntity
+					.status(HttpStatus.BAD_REQUEST)
+					.build();
+		}
+		if (webRequest.checkNotModified(withShape(versionService.getCommentsTag(id), fieldset, normalized))) {
+			log.info("Comments of task {} not modified", id);
+			return null;
+		}
+
+		int pageSize = Math.clamp(limit, 1, MAX_PAGE);
+		if (responseCache.isEnabled()) {
+			CachedResponse cached = responseCache.get(
+					"comment:task:%d:%s:%s:%d%s".formatted(id, before, since, pageSize, shapeOf(fieldset, normalized)),
+					versionService.getComments(id),
+					() -> loadByTask(id, before, since, pageSize, fieldset, normalized)
+			);
+			responseCache.write(cached, request, servletResponse);
+			log.info("Served comments for task {} from response cache", id);
+			return null;
+		}
+
+		Object page = loadByTask(id, before, since, pageSize, fieldset, normalized);
+		log.info("Retrieved comments for task {}", id);
+		return ResponseEntity.ok(page);
+	}
+
+	/**
+	 * Получает дерево комментариев задачи с ответами.
+	 * <p>
+	 * Комментарии отдаются в порядке обхода дерева в глубину, ответы вложены в родительские комментарии.
+	 * Если дерево не поместилось в {@code limit}, продолжение запрашивается с курсором ответа в {@code after};
+	 * ответы, родители которых остались на предыдущей части, становятся в ней корнями.
+	 * </p>
+	 *
+	 * @param id идентификатор задачи.
+	 * @param after курсор предыдущей части дерева.
+	 * @param limit максимальное количество комментариев.
+	 * @return ResponseEntity с деревом комментариев задачи.
+	 */
+	@GetMapping("/task/{id}/thread")
+	@Operation(description = "Retrieves the comments of the task as a tree of replies in depth-first order.")
+	public ResponseEntity<CommentThreadResponse> getThread(@PathVariable Long id,
+														   @RequestParam(name = "after", required = false) String after,
+														   @RequestParam(name = "limit", defaultValue = "100") int limit) {
+		log.trace("Comment thread of task {} request after {}", id, after);
+		CommentThreadResponse response = ResponseFactory.createCommentThread(
+				commentService.getThread(id, after, Math.clamp(limit, 1, MAX_PAGE))
+		);
+		log.info("Retrieved comment thread of task {} with {} top-level comments", id, response.getComments().size());
+		return ResponseEntity.ok(response);
+	}
+
+	/**
+	 * Получает комментарий со всеми ответами на него.
+	 *
+	 * @param id идентификатор комментария.
+	 * @param after курсор предыдущей части поддерева.
+	 * @param limit максимальное количество комментариев.
+	 * @return ResponseEntity с поддеревом комментария или 404, если комментарий не найден.
+	 */
+	@GetMapping("/{id}/thread")
+	@Operation(description = "Retrieves the comment with the specified identifier together with all replies to it.")
+	public ResponseEntity<CommentThreadResponse> getSubtree(@PathVariable Long id,
+															@RequestParam(name = "after", required = false) String after,
+															@RequestParam(name = "limit", defaultValue = "100") int limit) {
+		log.trace("Replies of comment {} request after {}", id, after);
+		try {
+			CommentThreadResponse response = ResponseFactory.createCommentThread(
+					commentService.getSubtree(id, after, Math.clamp(limit, 1, MAX_PAGE))
+			);
+			log.info("Retrieved replies of comment {}", id);
+			return ResponseEntity.ok(response);
+		}
+		catch (ResourceNotFoundException exception) {
+			log.error("Replies retrieval failed for comment {}: {}", id, exception.getMessage());
+			return ResponseEntity
+					.status(HttpStatus.NOT_FOUND)
+					.build();
+		}
+	}
+
+	/**
+	 * Получает количество непрочитанных комментариев во всех задачах текущего пользователя.
+	 *
+	 * @param principal текущий аутентифицированный пользователь.
+	 * @return ResponseEntity с количеством непрочитанных комментариев по идентификаторам задач,
+	 * где пользователь является автором или исполнителем.
+	 */
+	@GetMapping("/unread")
+	@Operation(description = "Retrieves unread comment counts of all tasks created by or assigned to the current user.")
+	public ResponseEntity<Map<Long, Long>> getUnread(@AuthenticationPrincipal ApplicationUserDetails principal) {
+		log.trace("Unread comments request of user {}", principal.getId());
+		Map<Long, Long> unread = unreadService.getUnread(principal.getId());
+		log.info("User {} has unread comments in {} tasks", principal.getId(), unread.size());
+		return ResponseEntity.ok(unread);
+	}
+
+	/**
+	 * Отмечает комментарии задачи прочитанными текущим пользователем.
+	 *
+	 * @param id идентификатор задачи.
+	 * @param seq порядковый номер последнего прочитанного комментария; без него — все текущие комментарии.
+	 * @param principal текущий аутентифицированный пользователь.
+	 * @return ResponseEntity без тела или 404, если задача не найдена.
+	 */
+	@PutMapping("/task/{id}/read")
+	@Operation(description = "Marks comments of the task as read by the current user up to the specified sequence number.")
+	public ResponseEntity<Void> markRead(@PathVariable Long id,
+										 @RequestParam(name = "seq", required = false) Long seq,
+										 @AuthenticationPrincipal ApplicationUserDetails principal) {
+		log.trace("User {} marks comments of task {} read up to {}", principal.getId(), id, seq);
+		try {
+			unreadService.markRead(principal.getId(), id, seq);
+			log.info("Comments of task {} marked read by user {}", id, principal.getId());
+			return ResponseEntity.noContent().build();
+		}
+		catch (ResourceNotFoundException exception) {
+			log.error("Marking comments read failed for task {}: {}", id, exception.getMessage());
+			return ResponseEntity
+					.status(HttpStatus.NOT_FOUND)
+					.build();
+		}
+	}
+
+	/**
+	 * Получает последние комментарии сразу нескольких задач.
+	 * <p>
+	 * Заменяет отдельный запрос комментариев на каждую задачу доски одним запросом к базе данных.
+	 * Количество задач в запросе ограничено {@value #MAX_TASKS}.
+	 * </p>
+	 *
+	 * @param ids идентификаторы задач.
+	 * @param limit максимальное количество комментариев на задачу.
+	 * @return ResponseEntity с комментариями от новых к старым, сгруппированными по идентификатору задачи,
+	 * или 400, если задач слишком много.
+	 */
+	@GetMapping("/tasks/latest")
+	@Operation(description = "Retrieves the latest comments of each of the specified tasks grouped by task id.")
+	public ResponseEntity<Map<Long, List<CommentResponse>>> getLatestByTasks(
+			@RequestParam(name = "ids") List<Long> ids,
+			@RequestParam(name = "limit", defaultValue = "5") int limit) {
+		log.trace("Latest comments of {} tasks request", ids.size());
+		if (ids.size() > MAX_TASKS) {
+			log.error("Latest comments request rejected: {} tasks exceed limit of {}", ids.size(), MAX_TASKS);
+			return ResponseEntity
+					.status(HttpStatus.BAD_REQUEST)
+					.build();
+		}
+
+		Map<Long, List<CommentResponse>> response = new LinkedHashMap<>();
+		commentService.getLatestByTasks(ids, Math.clamp(limit, 1, MAX_LATEST))
+				.forEach((taskId, comments) -> response.put(
+						taskId,
+						comments.stream()
+								.map(ResponseFactory::createComment)
+								.toList()
+				));
+		log.info("Retrieved latest comments for {} tasks", response.size());
+		return ResponseEntity.ok(response);
 	}
 
 	/**
-	 * Получает список всех комментариев, созданных автором с указанным идентификатором.
+	 * Подсчитывает комментарии задачи с указанным идентификатором.
+	 *
+	 * @param id идентификатор задачи.
+	 * @param exact {@code true}, если требуется точный подсчет вместо оценки.
+	 * @return ResponseEntity с количеством комментариев и признаком точности в формате JSON.
+	 */
+	@GetMapping("/task/{id}/count")
+	@Operation(description = "Counts comments of the task, estimated unless exact count is requested.")
+	public ResponseEntity<CountResponse> countByTask(@PathVariable Long id,
+													 @RequestParam(name = "exact", defaultValue = "false") boolean exact) {
+		log.trace("Request to count comments of task {}", id);
+		Count count = countService.countComments(id, exact);
+		log.info("Counted {} comments of task {} (exact: {})", count.value(), id, count.exact());
+		return ResponseEntity.ok(ResponseFactory.createCount(count));
+	}
+
+	/**
+	 * Подсчитывает все комментарии.
+	 * <p>
+	 * Доступно только пользователям с ролью администратора.
+	 * </p>
+	 *
+	 * @param exact {@code true}, если требуется точный подсчет вместо оценки планировщика.
+	 * @return ResponseEntity с количеством комментариев и признаком точности в формате JSON.
+	 */
+	@GetMapping("/count")
+	@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+	@Operation(description = "Counts all comments, estimated by the planner unless exact count is requested.")
+	public ResponseEntity<CountResponse> countAll(@RequestParam(name = "exact", defaultValue = "false") boolean exact) {
+		log.trace("Request to count all comments");
+		Count count = countService.countAllComments(exact);
+		log.info("Counted {} comments (exact: {})", count.value(), count.exact());
+		return ResponseEntity.ok(ResponseFactory.createCount(count));
+	}
+
+	/**
+	 * Получает страницу комментариев, созданных автором с указанным идентификатором, от новых к старым.
 	 *
 	 * @param id идентификатор автора, для которого необходимо получить комментарии.
-	 * @return список объектов {@link CommentResponse}, представляющих комментарии, созданные указанным автором.
+	 * @param before курсор предыдущей страницы; {@code null} — с самого нового комментария.
+	 * @param limit размер страницы.
+	 * @param fields поля комментария через запятую; {@code null} — все поля.
+	 * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
+	 * @return ResponseEntity со страницей {@link CommentPageResponse} комментариев, созданных указанным автором,
+	 * {@link SparseCommentPageResponse}, если указаны поля, {@link NormalizedCommentPageResponse} в нормализованном
+	 * виде или 400, если поле неизвестно.
 	 */
 	@GetMapping("/author/{id}/all")
-	public List<CommentResponse> getAllByAuthor(@PathVariable Long id) {
-		log.trace("All comments of author {} request", id);
-		List<CommentResponse> comments = commentService.getByAuthor(id)
-				.stream()
-				.map(ResponseFactory::createComment)
-				.toList();
-		log.info("Retrieved {} comments for author {}", comments.size(), id);
-		return comments;
+	@Operation(description = "Retrieves a cursor-paginated page of comments created by the specified author, optionally limited to the fields listed in 'fields'.")
+	public ResponseEntity<?> getAllByAuthor(@PathVariable Long id,
+											@RequestParam(name = "before", required = false) Long before,
+											@RequestParam(name = "limit", defaultValue = "100") int limit,
+											@RequestParam(name = "fields", required = false) String fields,
+											@RequestParam(name = "normalized", defaultValue = "false") boolean normalized) {
+		log.trace("Comments of author {} request before {} with fields {}", id, before, fields);
+		int pageSize = Math.clamp(limit, 1, MAX_PAGE);
+		if (fields == null) {
+			CommentPage page = commentService.getByAuthor(id, before, pageSize);
+			log.info("Retrieved {} comments for author {}", page.comments().size(), id);
+			return ResponseEntity.ok(normalized
+					? ResponseFactory.createNormalizedCommentPage(page)
+					: ResponseFactory.createCommentPage(page));
+		}
+		try {
+			SparseCommentPageResponse page = ResponseFactory.createSparseCommentPage(
+					sparseFieldsService.getCommentsByAuthor(id, before, pageSize, SparseFieldsService.parseCommentFields(fields))
+			);
+			log.info("Retrieved {} comments for author {}", page.getComments().size(), id);
+			return ResponseEntity.ok(page);
+		}
+		catch (IllegalArgumentException exception) {
+			log.error("Comments retrieval failed for author {}: {}", id, exception.getMessage());
+			return ResponseEntity
+					.status(HttpStatus.BAD_REQUEST)
+					.build();
+		}
 	}
 
 	/**
@@ -77,16 +362,22 @@ public class CommentController {
 	 * @param id идентификатор задачи, к которой необходимо добавить комментарий.
 	 * @param accessToken токен доступа, предоставленный в заголовке запроса.
 	 * @param content содержимое комментария.
+	 * @param parentId идентификатор комментария той же задачи, на который дается ответ.
 	 * @return ResponseEntity с сообщением о результате создания комментария.
 	 */
 	@PutMapping("/task/{id}/create")
-	@Operation(description = "Adds a comment to the task with the specified identifier.")
+	@Operation(description = "Adds a comment or a reply to another comment to the task with the specified identifier.")
 	public ResponseEntity<String> create(@PathVariable Long id,
 										 @RequestHeader(name = "Authorization") String accessToken,
-										 @RequestBody String content) {
-		log.trace("Comment creation request for task {} with content: {}", id, content);
+										 @RequestBody String content,
+										 @RequestParam(name = "parentId", required = false) Long parentId) {
+		log.trace("Comment creation request for task {} with parent {} and content: {}", id, parentId, content);
 		try {
-			commentService.save(accessToken, id, content);
+			if (commentService.isGroupCommitEnabled()) {
+				commentService.saveGrouped(accessToken, id, content, parentId);
+			} else {
+				commentService.save(accessToken, id, content, parentId);
+			}
 			log.info("Comment successfully created for task {}", id);
 			return ResponseEntity.ok("Comment successfully created");
 		}
@@ -124,4 +415,33 @@ public class CommentController {
 			);
 		}
 	}
+
+	private Object loadByTask(final Long taskId,
+							  final Long before,
+							  final Long since,
+							  final int limit,
+							  final Set<CommentAttribute> fields,
+							  final boolean normalized) {
+		if (fields != null) {
+			return ResponseFactory.createSparseCommentPage(
+					sparseFieldsService.getCommentsByTask(taskId, before, since, limit, fields)
+			);
+		}
+		CommentPage page = commentService.getByTask(taskId, before, since, limit);
+		return normalized
+				? ResponseFactory.createNormalizedCommentPage(page)
+				: ResponseFactory.createCommentPage(page);
+	}
+
+	private static String shapeOf(final Set<CommentAttribute> fields, final boolean normalized) {
+		if (fields != null) {
+			return "-f" + SparseFieldsService.keyOf(fields);
+		}
+		return normalized ? "-n" : "";
+	}
+
+	private static String withShape(final String tag, final Set<CommentAttribute> fields, final boolean normalized) {
+		String shape = shapeOf(fields, normalized);
+		return shape.isEmpty() ? tag : tag.substring(0, tag.length() - 1) + shape + "\"";
+	}
 }
@@ -0,0 +1,79 @@
+package com.sarf.task_management_system.web.controllers;
+
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.web.sse.ChangeBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Контроллер подписок на изменения через Server-Sent Events.
+ * <p>
+ * Позволяет клиентам получать изменения своих задач, комментариев конкретной задачи
+ * или, для администраторов, всех изменений вместо периодического опроса списков.
+ * Рассылка выполняется через {@link ChangeBroadcaster}.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+@Tag(name = "Event Controller", description = """
+        Подписки на изменения задач и комментариев через Server-Sent Events. Клиент получает изменения своих задач,
+        комментариев конкретной задачи или, для администраторов, все изменения.
+        """)
+public class EventController {
+
+    private final ChangeBroadcaster broadcaster;
+
+    /**
+     * Подписывает текущего пользователя на изменения задач, где он автор или исполнитель.
+     *
+     * @param principal текущий аутентифицированный пользователь.
+     * @return поток событий.
+     */
+    @GetMapping(value = "/my", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(description = "Streams changes of tasks authored by or assigned to the current user.")
+    public SseEmitter my(@AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Subscription request for tasks of user {}", principal.getId());
+        return broadcaster.subscribeToUser(principal.getId());
+    }
+
+    /**
+     * Подписывает на изменения комментариев задачи с указанным идентификатором.
+     *
+     * @param id идентификатор задачи.
+     * @return поток событий.
+     */
+    @GetMapping(value = "/task/{id}/comments", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(description = "Streams comment changes of the task with the specified identifier.")
+    public SseEmitter taskComments(@PathVariable Long id) {
+        log.trace("Subscription request for comments of task {}", id);
+        return broadcaster.subscribeToTask(id);
+    }
+
+    /**
+     * Подписывает на все изменения задач и комментариев.
+     * <p>
+     * Доступно только пользователям с ролью администратора.
+     * </p>
+     *
+     * @return поток событий.
+     */
+    @GetMapping(value = "/all", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Streams all task and comment changes.")
+    public SseEmitter all() {
+        log.trace("Subscription request for all changes");
+        return broadcaster.subscribeToAll();
+    }
+}
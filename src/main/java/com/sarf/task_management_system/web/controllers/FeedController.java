@@ -0,0 +1,60 @@
+package com.sarf.task_management_system.web.controllers;
+
+import com.sarf.task_management_system.domain.factories.ResponseFactory;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.domain.services.FeedService;
+import com.sarf.task_management_system.web.dto.response.FeedPageResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер ленты активности.
+ * <p>
+ * Отдает новые комментарии и смены статуса во всех задачах, где текущий пользователь является автором
+ * или исполнителем, от новых к старым. Следующая страница запрашивается с курсором предыдущей в {@code before}.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/feed")
+@RequiredArgsConstructor
+@Tag(name = "Feed Controller", description = """
+        Отдает ленту активности текущего пользователя: комментарии и смены статуса во всех его задачах
+        от новых к старым.
+        """)
+public class FeedController {
+
+    private static final int MAX_PAGE = 200;
+
+    private final FeedService feedService;
+
+    /**
+     * Получает страницу ленты активности текущего пользователя.
+     *
+     * @param before курсор предыдущей страницы.
+     * @param limit размер страницы.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity со страницей ленты и курсором следующей страницы.
+     */
+    @GetMapping
+    @Operation(description = "Retrieves a page of recent comments and status changes across the current user's tasks, newest first.")
+    public ResponseEntity<FeedPageResponse> getFeed(
+            @RequestParam(name = "before", required = false) Long before,
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Request to retrieve feed of user {} before {}", principal.getId(), before);
+        FeedPageResponse response = ResponseFactory.createFeedPage(
+                feedService.getFeed(principal.getId(), before, Math.clamp(limit, 1, MAX_PAGE))
+        );
+        log.info("Retrieved {} feed entries of user {}", response.getEntries().size(), principal.getId());
+        return ResponseEntity.ok(response);
+    }
+}
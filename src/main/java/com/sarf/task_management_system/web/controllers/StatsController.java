@@ -0,0 +1,90 @@
+package com.sarf.task_management_system.web.controllers;
+
+import com.sarf.task_management_system.domain.factories.ResponseFactory;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.domain.services.TaskStatsService;
+import com.sarf.task_management_system.web.dto.response.TaskStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер статистики задач.
+ * <p>
+ * Отдает количество задач исполнителей по статусам и приоритетам из счетчиков {@link TaskStatsService},
+ * не выполняя агрегирующих запросов к базе данных.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stats")
+@RequiredArgsConstructor
+@Tag(name = "Stats Controller", description = """
+        Отдает количество задач исполнителей по статусам и приоритетам. Статистика всех исполнителей
+        доступна только администраторам.
+        """)
+public class StatsController {
+
+    private final TaskStatsService taskStatsService;
+
+    /**
+     * Получает статистику задач всех исполнителей.
+     * <p>
+     * Доступно только пользователям с ролью администратора.
+     * </p>
+     *
+     * @return ResponseEntity со статистикой исполнителей в формате JSON.
+     */
+    @GetMapping
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Retrieves task counts by status and priority for every assignee.")
+    public ResponseEntity<List<TaskStatsResponse>> getAll() {
+        log.trace("Request to retrieve task statistics of all assignees");
+        List<TaskStatsResponse> response = taskStatsService.getAll()
+                .stream()
+                .map(ResponseFactory::createStats)
+                .toList();
+        log.info("Retrieved task statistics of {} assignees", response.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Получает статистику задач текущего пользователя.
+     *
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity со статистикой пользователя в формате JSON.
+     */
+    @GetMapping("/my")
+    @Operation(description = "Retrieves task counts by status and priority for the current user.")
+    public ResponseEntity<TaskStatsResponse> getMy(@AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Request to retrieve task statistics of user {}", principal.getId());
+        return ResponseEntity.ok(ResponseFactory.createStats(taskStatsService.getByUser(principal.getId())));
+    }
+
+    /**
+     * Получает статистику задач исполнителя с указанным идентификатором.
+     * <p>
+     * Доступно только пользователям с ролью администратора.
+     * </p>
+     *
+     * @param id идентификатор исполнителя.
+     * @return ResponseEntity со статистикой исполнителя в формате JSON.
+     */
+    @GetMapping("/user/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Retrieves task counts by status and priority for the assignee with the specified identifier.")
+    public ResponseEntity<TaskStatsResponse> getByUser(@PathVariable Long id) {
+        log.trace("Request to retrieve task statistics of user {}", id);
+        return ResponseEntity.ok(ResponseFactory.createStats(taskStatsService.getByUser(id)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.sarf.task_management_system.web.controllers;
+
+import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.factories.ResponseFactory;
+import com.sarf.task_management_system.domain.models.ChangeSet;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.domain.services.SyncService;
+import com.sarf.task_management_system.web.dto.response.SyncResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Контроллер дельта-синхронизации.
+ * <p>
+ * Возвращает задачи и комментарии, созданные, измененные или удаленные после переданного курсора,
+ * чтобы клиенты могли поддерживать локальную копию без повторной загрузки полных списков.
+ * Пользователь получает изменения задач, где он автор или исполнитель; администратор — изменения всех задач.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync Controller", description = """
+        Возвращает задачи и комментарии, созданные, измененные или удаленные после переданного курсора.
+        Пользователь получает изменения задач, где он автор или исполнитель; администратор — изменения всех задач.
+        """)
+public class SyncController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final SyncService syncService;
+
+    /**
+     * Получает изменения после указанного курсора.
+     *
+     * @param since курсор, полученный в предыдущем ответе; {@code 0} для первой синхронизации.
+     * @param limit максимальное количество строк в ответе.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с набором изменений и новым курсором в формате JSON; признак {@code reset} означает,
+     *         что курсор устарел и синхронизацию нужно начать заново с {@code 0}.
+     */
+    @GetMapping
+    @Operation(description = "Retrieves tasks and comments created, updated or deleted since the cursor.")
+    public ResponseEntity<SyncResponse> sync(@RequestParam(name = "since", defaultValue = "0") long since,
+                                             @RequestParam(name = "limit", defaultValue = "500") int limit,
+                                             @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Sync request since {} with limit {}", since, limit);
+        boolean all = principal.getAuthorities()
+                .stream()
+                .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()));
+        ChangeSet changes = syncService.getChanges(
+                principal.getId(),
+                all,
+                since,
+                Math.clamp(limit, 1, MAX_LIMIT)
+        );
+        log.info("Sync for user {} returned cursor {}", principal.getId(), changes.cursor());
+        return ResponseEntity.ok(ResponseFactory.createSync(changes));
+    }
+}
@@ -1,26 +1,55 @@
 package com.sarf.task_management_system.web.controllers;
 
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Role;
 import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.enums.TaskAttribute;
 import com.sarf.task_management_system.web.dto.requsts.TaskRequest;
+import com.sarf.task_management_system.web.dto.response.ClaimResponse;
 import com.sarf.task_management_system.web.dto.response.CommentResponse;
+import com.sarf.task_management_system.web.dto.response.CountResponse;
+import com.sarf.task_management_system.web.dto.response.TaskDetailResponse;
+import com.sarf.task_management_system.web.dto.response.TaskHistoryResponse;
 import com.sarf.task_management_system.web.dto.response.TaskResponse;
+import com.sarf.task_management_system.domain.exceptions.AccessDeniedException;
+import com.sarf.task_management_system.domain.exceptions.DeadlineExceededException;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
 import com.sarf.task_management_system.domain.factories.ResponseFactory;
 import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.Count;
 import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.security.ApplicationUserDetails;
+import com.sarf.task_management_system.domain.services.ClaimService;
+import com.sarf.task_management_system.domain.services.CountService;
+import com.sarf.task_management_system.domain.services.SparseFieldsService;
+import com.sarf.task_management_system.domain.services.TaskDetailService;
+import com.sarf.task_management_system.domain.services.TaskHistoryService;
 import com.sarf.task_management_system.domain.services.TaskService;
+import com.sarf.task_management_system.domain.services.VersionService;
+import com.sarf.task_management_system.web.cache.CachedResponse;
+import com.sarf.task_management_system.web.cache.ResponseByteCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.hibernate.query.sqm.tree.SqmNode.log;
 
@@ -45,7 +74,16 @@ import static org.hibernate.query.sqm.tree.SqmNode.log;
 				""")
 public class TaskController {
 
+    private static final int MAX_HISTORY = 1000;
+
     private final TaskService taskService;
+    private final TaskHistoryService taskHistoryService;
+    private final TaskDetailService taskDetailService;
+    private final SparseFieldsService sparseFieldsService;
+    private final CountService countService;
+    private final ClaimService claimService;
+    private final VersionService versionService;
+    private final ResponseByteCache responseCache;
 
     /**
      * Создает новую задачу на основе предоставленных данных.
@@ -54,15 +92,17 @@ public class TaskController {
      * </p>
      *
      * @param taskRequest объект, содержащий данные для создания задачи.
+     * @param autoAssign {@code true}, если исполнителя нужно выбрать автоматически по наименьшей нагрузке.
      * @return ResponseEntity с сообщением о результате создания задачи.
      */
     @PutMapping("/create")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    @Operation(description = "Creates a new task based on the provided data.")
-    public ResponseEntity<String> create(@RequestBody TaskRequest taskRequest) {
-        log.trace("Task creation request with data: {}", taskRequest);
+    @Operation(description = "Creates a new task based on the provided data, optionally choosing the least loaded assignee.")
+    public ResponseEntity<String> create(@RequestBody TaskRequest taskRequest,
+                                         @RequestParam(name = "autoAssign", defaultValue = "false") boolean autoAssign) {
+        log.trace("Task creation request with data: {} (auto assign: {})", taskRequest, autoAssign);
         try {
-            taskService.save(taskRequest);
+            taskService.save(taskRequest, autoAssign);
             log.info("Task successfully created");
             return ResponseEntity
                     .status(HttpStatus.CREATED)
@@ -77,26 +117,40 @@ public class TaskController {
     }
 
     /**
-     * Обновляет статус задачи.
+     * Обновляет статус и (или) исполнителя задачи.
+     * <p>
+     * Изменения попадают в историю задачи в той же транзакции.
+     * Изменять задачу могут только ее автор, исполнитель и администратор.
+     * </p>
      *
      * @param id идентификатор задачи, которую необходимо обновить.
      * @param status новый статус задачи.
+     * @param assigneeEmail адрес электронной почты нового исполнителя.
      * @param accessToken токен доступа, предоставленный в заголовке запроса.
-     * @return ResponseEntity с сообщением о результате обновления задачи.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с сообщением о результате обновления задачи или 403, если у пользователя нет прав на задачу.
      */
     @PutMapping("/update/{id}")
-    @Operation(description = "Updates status of the task.")
+    @Operation(description = "Updates status and/or assignee of the task.")
     public ResponseEntity<String> change(@PathVariable Long id,
-                                         @RequestParam("status") Status status,
-                                         @RequestHeader(name = "Authorization") String accessToken) {
-        log.trace("Task update request for task ID {} with status {}", id, status);
+                                         @RequestParam(name = "status", required = false) Status status,
+                                         @RequestParam(name = "assignee", required = false) String assigneeEmail,
+                                         @RequestHeader(name = "Authorization") String accessToken,
+                                         @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Task update request for task ID {} with status {} and assignee {}", id, status, assigneeEmail);
         try {
-            taskService.update(id, status, accessToken);
+            taskService.update(id, status, assigneeEmail, principal.getId(), isAdmin(principal));
             log.info("Task {} successfully updated", id);
             return ResponseEntity
                     .status(HttpStatus.ACCEPTED)
                     .body("Task successfully updated");
         }
+        catch (AccessDeniedException exception) {
+            log.error("Task update denied for task ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body("Task update failed");
+        }
         catch (Exception exception) {
             log.error("Task update failed for task ID {}: {}", id, exception.getMessage());
             return ResponseEntity
@@ -105,57 +159,327 @@ public class TaskController {
         }
     }
 
+    /**
+     * Забирает текущему пользователю следующую задачу из очереди.
+     * <p>
+     * Выбирается задача со статусом {@code TODO}, назначенная пользователю или никому, с наивысшим приоритетом.
+     * Задача переводится в {@code IN_PROGRESS} с арендой, которую нужно продлевать до завершения работы.
+     * </p>
+     *
+     * @param lease длительность аренды в формате ISO-8601, например {@code PT10M}.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity со взятой задачей и окончанием аренды или 204, если очередь пуста.
+     */
+    @PostMapping("/claim")
+    @Operation(description = "Claims the highest-priority pending task assigned to the current user or to nobody.")
+    public ResponseEntity<ClaimResponse> claim(@RequestParam(name = "lease", required = false) Duration lease,
+                                               @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Claim request from user {}", principal.getId());
+        return claimService.claim(principal.getId(), lease)
+                .map(task -> {
+                    log.info("User {} claimed task {}", principal.getId(), task.getId());
+                    return ResponseEntity.ok(ResponseFactory.createClaim(task));
+                })
+                .orElseGet(() -> {
+                    log.info("No tasks to claim for user {}", principal.getId());
+                    return ResponseEntity.noContent().build();
+                });
+    }
+
+    /**
+     * Продлевает аренду задачи, взятой текущим пользователем.
+     *
+     * @param id идентификатор задачи.
+     * @param lease длительность аренды в формате ISO-8601, например {@code PT10M}.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с новым окончанием аренды или 409, если у пользователя нет действующей аренды задачи.
+     */
+    @PutMapping("/{id}/lease")
+    @Operation(description = "Renews the lease of the task claimed by the current user.")
+    public ResponseEntity<Instant> renewLease(@PathVariable Long id,
+                                              @RequestParam(name = "lease", required = false) Duration lease,
+                                              @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Lease renewal request for task {} from user {}", id, principal.getId());
+        try {
+            Instant until = claimService.renew(id, principal.getId(), lease);
+            log.info("User {} renewed lease of task {}", principal.getId(), id);
+            return ResponseEntity.ok(until);
+        }
+        catch (ResourceNotFoundException exception) {
+            log.error("Lease renewal failed for task {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .build();
+        }
+    }
+
+    /**
+     * Подсчитывает задачи, удовлетворяющие фильтрам.
+     * <p>
+     * По умолчанию возвращает оценку за постоянное время; точный {@code COUNT(*)} выполняется
+     * только при {@code exact=true} или если для сочетания фильтров нет поддерживаемого счетчика.
+     * </p>
+     *
+     * @param status статус задачи.
+     * @param priority приоритет задачи.
+     * @param assigneeId идентификатор исполнителя.
+     * @param exact {@code true}, если требуется точный подсчет.
+     * @return ResponseEntity с количеством задач и признаком точности в формате JSON.
+     */
+    @GetMapping("/count")
+    @Operation(description = "Counts tasks matching the filters, estimated unless exact count is requested.")
+    public ResponseEntity<CountResponse> count(@RequestParam(name = "status", required = false) Status status,
+                                               @RequestParam(name = "priority", required = false) Priority priority,
+                                               @RequestParam(name = "assignee", required = false) Long assigneeId,
+                                               @RequestParam(name = "exact", defaultValue = "false") boolean exact) {
+        log.trace("Request to count tasks with status {}, priority {} and assignee {}", status, priority, assigneeId);
+        Count count = countService.countTasks(status, priority, assigneeId, exact);
+        log.info("Counted {} tasks (exact: {})", count.value(), count.exact());
+        return ResponseEntity.ok(ResponseFactory.createCount(count));
+    }
+
+    /**
+     * Получает историю изменений статуса и исполнителя задачи.
+     * <p>
+     * Историю могут читать только автор, исполнитель задачи и администратор.
+     * </p>
+     *
+     * @param id идентификатор задачи.
+     * @param from начало интервала (ISO-8601) включительно.
+     * @param to конец интервала (ISO-8601) не включительно.
+     * @param limit максимальное количество записей.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с записями истории задачи в хронологическом порядке, 404, если задача не найдена,
+     *         или 403, если у пользователя нет прав на задачу.
+     */
+    @GetMapping("/{id}/history")
+    @Operation(description = "Retrieves status and assignee change history of the task.")
+    public ResponseEntity<List<TaskHistoryResponse>> getHistory(
+            @PathVariable Long id,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "limit", defaultValue = "500") int limit,
+            @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Request to retrieve history of task {} between {} and {}", id, from, to);
+        try {
+            taskService.checkAccess(id, principal.getId(), isAdmin(principal));
+        }
+        catch (ResourceNotFoundException exception) {
+            log.error("Task history retrieval failed for ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+        catch (AccessDeniedException exception) {
+            log.error("Task history retrieval denied for ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .build();
+        }
+        List<TaskHistoryResponse> response = taskHistoryService.getByTask(id, from, to, Math.clamp(limit, 1, MAX_HISTORY))
+                .stream()
+                .map(ResponseFactory::createHistory)
+                .toList();
+        log.info("Retrieved {} history entries of task {}", response.size(), id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Получает задачу вместе с автором, исполнителем, последними комментариями и счетчиками комментариев.
+     * <p>
+     * Части ответа запрашиваются параллельно, поэтому время ответа определяется самым медленным запросом.
+     * </p>
+     *
+     * @param id идентификатор задачи.
+     * @param principal текущий аутентифицированный пользователь.
+     * @return ResponseEntity с данными задачи, 404, если задача не найдена, или 504, если данные не получены вовремя.
+     */
+    @GetMapping("/{id}/detail")
+    @Operation(description = "Retrieves the task with its author, assignee, recent comments and comment counts in one response.")
+    public ResponseEntity<TaskDetailResponse> getDetail(@PathVariable Long id,
+                                                        @AuthenticationPrincipal ApplicationUserDetails principal) {
+        log.trace("Request to retrieve detail of task {}", id);
+        try {
+            TaskDetailResponse response = ResponseFactory.createTaskDetail(
+                    taskDetailService.getDetail(id, principal.getId())
+            );
+            log.info("Detail of task {} retrieved", id);
+            return ResponseEntity.ok(response);
+        }
+        catch (ResourceNotFoundException exception) {
+            log.error("Task detail retrieval failed for ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .build();
+        }
+        catch (DeadlineExceededException exception) {
+            log.error("Task detail retrieval timed out for ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.GATEWAY_TIMEOUT)
+                    .build();
+        }
+    }
+
+    /**
+     * Получает историю изменений всех задач за интервал времени.
+     * <p>
+     * Доступно только пользователям с ролью администратора.
+     * </p>
+     *
+     * @param from начало интервала (ISO-8601) включительно.
+     * @param to конец интервала (ISO-8601) не включительно; по умолчанию текущий момент.
+     * @param limit максимальное количество записей.
+     * @return ResponseEntity с записями истории за интервал в хронологическом порядке.
+     */
+    @GetMapping("/history")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Retrieves change history of all tasks within the time range.")
+    public ResponseEntity<List<TaskHistoryResponse>> getHistoryRange(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        log.trace("Request to retrieve task history between {} and {}", from, to);
+        List<TaskHistoryResponse> response = taskHistoryService.getRange(
+                        from,
+                        to == null ? Instant.now() : to,
+                        Math.clamp(limit, 1, MAX_HISTORY)
+                )
+                .stream()
+                .map(ResponseFactory::createHistory)
+                .toList();
+        log.info("Retrieved {} task history entries", response.size());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Получает список всех задач в системе.
+     * <p>
+     * При включенном кеше ответов готовые байты отдаются из {@link ResponseByteCache},
+     * пока версия задач не изменится. С параметром {@code fields} каждая задача содержит только перечисленные поля,
+     * а запрос выбирает только их столбцы. С параметром {@code normalized} пользователи отдаются один раз
+     * в словаре {@code users}, а задачи ссылаются на них по идентификаторам.
+     * </p>
      *
-     * @return ResponseEntity со списком всех задач в формате JSON.
+     * @param fields поля задачи через запятую; {@code null} — все поля.
+     * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
+     * @param request текущий HTTP-запрос.
+     * @param servletResponse текущий HTTP-ответ, в который пишется закешированное тело.
+     * @return ResponseEntity со списком всех задач в формате JSON или 400, если поле неизвестно.
      */
     @GetMapping("/all")
-    @Operation(description = "Retrieves a list of all tasks in the system.")
-    public ResponseEntity<List<TaskResponse>> getAll() {
-        log.trace("Request to retrieve all tasks");
-        List<Task> tasks = taskService.getAll();
-        List<TaskResponse> response = tasks.stream()
-                .map(ResponseFactory::createTask)
-                .toList();
-        log.info("Retrieved {} tasks", response.size());
+    @Operation(description = "Retrieves a list of all tasks in the system, optionally limited to the fields listed in 'fields' or normalized with a shared users map.")
+    public ResponseEntity<?> getAll(@RequestParam(name = "fields", required = false) String fields,
+                                    @RequestParam(name = "normalized", defaultValue = "false") boolean normalized,
+                                    HttpServletRequest request,
+                                    HttpServletResponse servletResponse) {
+        log.trace("Request to retrieve all tasks with fields {} (normalized: {})", fields, normalized);
+        Set<TaskAttribute> fieldset;
+        try {
+            fieldset = fields == null ? null : SparseFieldsService.parseTaskFields(fields);
+        }
+        catch (IllegalArgumentException exception) {
+            log.error("Task retrieval failed: {}", exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+
+        if (responseCache.isEnabled()) {
+            CachedResponse cached = responseCache.get(
+                    "task:all" + shapeOf(fieldset, normalized),
+                    versionService.getTasks(),
+                    () -> loadAll(fieldset, normalized)
+            );
+            responseCache.write(cached, request, servletResponse);
+            log.info("Served all tasks from response cache");
+            return null;
+        }
+
+        Object response = loadAll(fieldset, normalized);
+        log.info("Retrieved all tasks");
         return ResponseEntity.ok(response);
     }
 
     /**
      * Получает список задач для текущего пользователя на основе предоставленного токена доступа.
+     * <p>
+     * Ответ помечается сильным ETag из {@link VersionService}. Если клиент прислал совпадающий
+     * {@code If-None-Match}, возвращается 304 без запроса задач и их сериализации. С параметром {@code fields}
+     * каждая задача содержит только перечисленные поля, а запрос выбирает только их столбцы. С параметром
+     * {@code normalized} пользователи отдаются один раз в словаре {@code users}.
+     * </p>
      *
+     * @param fields поля задачи через запятую; {@code null} — все поля.
+     * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
      * @param accessToken токен доступа, предоставленный в заголовке запроса.
-     * @return ResponseEntity со списком задач текущего пользователя в формате JSON.
+     * @param principal текущий аутентифицированный пользователь.
+     * @param webRequest текущий запрос, используемый для проверки условных заголовков.
+     * @return ResponseEntity со списком задач текущего пользователя в формате JSON или 400, если поле неизвестно.
      */
     @GetMapping("/my")
-    public ResponseEntity<List<TaskResponse>> getMy(@RequestHeader(name = "Authorization") String accessToken) {
+    public ResponseEntity<?> getMy(@RequestParam(name = "fields", required = false) String fields,
+                                   @RequestParam(name = "normalized", defaultValue = "false") boolean normalized,
+                                   @RequestHeader(name = "Authorization") String accessToken,
+                                   @AuthenticationPrincipal ApplicationUserDetails principal,
+                                   WebRequest webRequest) {
         log.trace("Request to retrieve tasks for user with access token: {}", accessToken);
+        Set<TaskAttribute> fieldset;
+        try {
+            fieldset = fields == null ? null : SparseFieldsService.parseTaskFields(fields);
+        }
+        catch (IllegalArgumentException exception) {
+            log.error("Task retrieval failed for user {}: {}", principal.getId(), exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .build();
+        }
+        if (webRequest.checkNotModified(withShape(versionService.getUserTasksTag(principal.getId()), fieldset, normalized))) {
+            log.info("Tasks of user {} not modified", principal.getId());
+            return null;
+        }
+
+        if (fieldset != null) {
+            List<Map<String, Object>> response = sparseFieldsService.getTasksByUser(principal.getId(), fieldset);
+            log.info("Retrieved {} tasks for user", response.size());
+            return ResponseEntity.ok(response);
+        }
         List<Task> tasks = taskService.getByToken(accessToken);
-        List<TaskResponse> response = tasks.stream()
-                .map(ResponseFactory::createTask)
-                .toList();
-        log.info("Retrieved {} tasks for user", response.size());
-        return ResponseEntity.ok(response);
+        log.info("Retrieved {} tasks for user", tasks.size());
+        return ResponseEntity.ok(toResponse(tasks, normalized));
     }
 
     /**
      * Получает список задач, созданных автором с указанным идентификатором.
      *
      * @param id идентификатор автора, чьи задачи необходимо получить.
+     * @param fields поля задачи через запятую; {@code null} — все поля.
+     * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
      * @return ResponseEntity со списком задач, созданных указанным автором, в формате JSON.
      */
     @GetMapping("/author/{id}")
-    @Operation(description = "Retrieves a list of tasks created by the author with the specified identifier.")
-    public ResponseEntity<List<TaskResponse>> getByAuthor(@PathVariable Long id) {
+    @Operation(description = "Retrieves a list of tasks created by the author with the specified identifier, optionally limited to the fields listed in 'fields' or normalized with a shared users map.")
+    public ResponseEntity<?> getByAuthor(@PathVariable Long id,
+                                         @RequestParam(name = "fields", required = false) String fields,
+                                         @RequestParam(name = "normalized", defaultValue = "false") boolean normalized) {
         log.trace("Request to retrieve tasks by author ID {}", id);
         try {
+            if (fields != null) {
+                List<Map<String, Object>> response = sparseFieldsService.getTasksByAuthor(
+                        id,
+                        SparseFieldsService.parseTaskFields(fields)
+                );
+                log.info("Retrieved {} tasks for author ID {}", response.size(), id);
+                return ResponseEntity.ok(response);
+            }
             List<Task> tasks = taskService.getByAuthor(id);
-            List<TaskResponse> response = tasks.stream()
-                    .map(ResponseFactory::createTask)
-                    .toList();
-            log.info("Retrieved {} tasks for author ID {}", response.size(), id);
-            return ResponseEntity.ok(response);
+            log.info("Retrieved {} tasks for author ID {}", tasks.size(), id);
+            return ResponseEntity.ok(toResponse(tasks, normalized));
+        }
+        catch (IllegalArgumentException exception) {
+            log.error("Invalid fields for tasks of author ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .build();
         }
         catch (Exception exception) {
             log.error("Failed to retrieve tasks for author ID {}: {}", id, exception.getMessage());
@@ -169,19 +493,34 @@ public class TaskController {
      * Получает список задач, назначенных исполнителю с указанным идентификатором.
      *
      * @param id идентификатор исполнителя, чьи задачи необходимо получить.
+     * @param fields поля задачи через запятую; {@code null} — все поля.
+     * @param normalized {@code true}, если ответ нужен в нормализованном виде; не действует вместе с {@code fields}.
      * @return ResponseEntity со списком задач, назначенных указанному исполнителю, в формате JSON.
      */
     @GetMapping("/assignee/{id}")
-    @Operation(description = "Retrieves a list of tasks assigned to the assignee with the specified identifier.")
-    public ResponseEntity<List<TaskResponse>> getByAssignee(@PathVariable Long id) {
+    @Operation(description = "Retrieves a list of tasks assigned to the assignee with the specified identifier, optionally limited to the fields listed in 'fields' or normalized with a shared users map.")
+    public ResponseEntity<?> getByAssignee(@PathVariable Long id,
+                                           @RequestParam(name = "fields", required = false) String fields,
+                                           @RequestParam(name = "normalized", defaultValue = "false") boolean normalized) {
         log.trace("Request to retrieve tasks by assignee ID {}", id);
         try {
+            if (fields != null) {
+                List<Map<String, Object>> response = sparseFieldsService.getTasksByAssignee(
+                        id,
+                        SparseFieldsService.parseTaskFields(fields)
+                );
+                log.info("Retrieved {} tasks for assignee ID {}", response.size(), id);
+                return ResponseEntity.ok(response);
+            }
             List<Task> tasks = taskService.getByAssignee(id);
-            List<TaskResponse> response = tasks.stream()
-                    .map(ResponseFactory::createTask)
-                    .toList();
-            log.info("Retrieved {} tasks for assignee ID {}", response.size(), id);
-            return ResponseEntity.ok(response);
+            log.info("Retrieved {} tasks for assignee ID {}", tasks.size(), id);
+            return ResponseEntity.ok(toResponse(tasks, normalized));
+        }
+        catch (IllegalArgumentException exception) {
+            log.error("Invalid fields for tasks of assignee ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .build();
         }
         catch (Exception exception) {
             log.error("Failed to retrieve tasks for assignee ID {}: {}", id, exception.getMessage());
@@ -218,4 +557,38 @@ public class TaskController {
                     .body("No task or it cannot be deleted");
         }
     }
+
+    private Object loadAll(final Set<TaskAttribute> fields, final boolean normalized) {
+        if (fields != null) {
+            return sparseFieldsService.getAllTasks(fields);
+        }
+        return toResponse(taskService.getAll(), normalized);
+    }
+
+    private static Object toResponse(final List<Task> tasks, final boolean normalized) {
+        if (normalized) {
+            return ResponseFactory.createNormalizedTasks(tasks);
+        }
+        return tasks.stream()
+                .map(ResponseFactory::createTask)
+                .toList();
+    }
+
+    private static String shapeOf(final Set<TaskAttribute> fields, final boolean normalized) {
+        if (fields != null) {
+            return "-f" + SparseFieldsService.keyOf(fields);
+        }
+        return normalized ? "-n" : "";
+    }
+
+    private static String withShape(final String tag, final Set<TaskAttribute> fields, final boolean normalized) {
+        String shape = shapeOf(fields, normalized);
+        return shape.isEmpty() ? tag : tag.substring(0, tag.length() - 1) + shape + "\"";
+    }
+
+    private static boolean isAdmin(final ApplicationUserDetails principal) {
+        return principal.getAuthorities()
+                .stream()
+                .anyMatch(authority -> Role.ROLE_ADMIN.name().equals(authority.getAuthority()));
+    }
 }
@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -87,4 +89,34 @@ public class UserController {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Удаляет пользователя с указанным идентификатором.
+     * <p>
+     * Доступно только пользователям с ролью администратора. Пользователь сразу помечается удаленным
+     * и теряет доступ, а его задачи и комментарии удаляются в фоне.
+     * </p>
+     *
+     * @param id идентификатор пользователя, которого необходимо удалить.
+     * @return ResponseEntity с сообщением о результате удаления пользователя.
+     */
+    @DeleteMapping("/delete/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(description = "Marks the user as deleted; the user's tasks and comments are purged in the background.")
+    public ResponseEntity<String> delete(@PathVariable Long id) {
+        log.trace("Delete user request for user ID {}", id);
+        try {
+            userService.delete(id);
+            log.info("User {} marked as deleted", id);
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body("User deletion accepted");
+        }
+        catch (Exception exception) {
+            log.error("Failed to delete user ID {}: {}", id, exception.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body("No user or it cannot be deleted");
+        }
+    }
+}
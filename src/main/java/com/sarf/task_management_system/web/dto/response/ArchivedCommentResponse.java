@@ -0,0 +1,22 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedCommentResponse {
+
+    private Long id;
+    private Long taskId;
+    private long seq;
+    private Long parentId;
+    private Long authorId;
+    private String content;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedTaskResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Priority priority;
+    private Status status;
+    private Long authorId;
+    private Long assigneeId;
+    private long commentCount;
+    private Instant completedAt;
+    private Instant archivedAt;
+}
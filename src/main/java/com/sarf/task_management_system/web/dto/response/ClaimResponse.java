@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClaimResponse {
+
+    private TaskResponse task;
+    private Instant leaseExpiresAt;
+}
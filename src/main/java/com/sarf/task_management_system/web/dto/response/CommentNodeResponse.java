@@ -0,0 +1,16 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentNodeResponse {
+
+    private CommentResponse comment;
+    private List<CommentNodeResponse> replies;
+}
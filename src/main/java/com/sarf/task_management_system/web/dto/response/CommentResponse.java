@@ -4,12 +4,18 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class CommentResponse {
 
     private Long id;
+    private Long taskId;
+    private Long parentId;
+    private long seq;
     private String content;
     private UserResponse author;
+    private Instant createdAt;
 }
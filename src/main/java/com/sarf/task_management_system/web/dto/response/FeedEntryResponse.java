@@ -0,0 +1,25 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import com.sarf.task_management_system.domain.enums.FeedEntryType;
+import com.sarf.task_management_system.domain.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedEntryResponse {
+
+    private Long id;
+    private FeedEntryType type;
+    private Long taskId;
+    private Long actorId;
+    private Long commentId;
+    private String content;
+    private Status oldStatus;
+    private Status newStatus;
+    private Instant occurredAt;
+}
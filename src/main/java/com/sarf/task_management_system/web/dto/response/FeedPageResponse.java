@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FeedPageResponse {
+
+    private List<FeedEntryResponse> entries;
+    private Long cursor;
+    private boolean hasMore;
+}
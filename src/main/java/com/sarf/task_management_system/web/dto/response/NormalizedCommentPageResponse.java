@@ -0,0 +1,19 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedCommentPageResponse {
+
+    private List<NormalizedCommentResponse> comments;
+    private Map<Long, UserResponse> users;
+    private Long cursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedCommentResponse {
+
+    private Long id;
+    private Long taskId;
+    private Long parentId;
+    private long seq;
+    private String content;
+    private Long authorId;
+    private Instant createdAt;
+}
@@ -0,0 +1,17 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NormalizedTaskListResponse {
+
+    private List<NormalizedTaskResponse> tasks;
+    private Map<Long, UserResponse> users;
+}
@@ -0,0 +1,18 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SparseCommentPageResponse {
+
+    private List<Map<String, Object>> comments;
+    private Long cursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,20 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncResponse {
+
+    private List<TaskResponse> tasks;
+    private List<CommentResponse> comments;
+    private List<TombstoneResponse> deleted;
+    private Long cursor;
+    private boolean hasMore;
+    private boolean reset;
+}
@@ -0,0 +1,22 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskDetailResponse {
+
+    private TaskResponse task;
+    private UserResponse author;
+    private UserResponse assignee;
+    private List<CommentResponse> comments;
+    private Long commentsCursor;
+    private boolean hasMoreComments;
+    private long commentCount;
+    private long unreadCount;
+}
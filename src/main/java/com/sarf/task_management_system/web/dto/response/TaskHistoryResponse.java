@@ -0,0 +1,21 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import com.sarf.task_management_system.domain.enums.TaskField;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskHistoryResponse {
+
+    private Long taskId;
+    private TaskField field;
+    private String oldValue;
+    private String newValue;
+    private Long changedBy;
+    private Instant changedAt;
+}
@@ -0,0 +1,20 @@
+package com.sarf.task_management_system.web.dto.response;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatsResponse {
+
+    private Long userId;
+    private Map<Status, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private long total;
+}
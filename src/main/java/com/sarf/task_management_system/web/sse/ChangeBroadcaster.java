@@ -0,0 +1,161 @@
+package com.sarf.task_management_system.web.sse;
+
+import com.sarf.task_management_system.config.SseProperties;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.events.CommentDeleted;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.DomainEventListener;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Неблокирующая рассылка доменных событий подписчикам Server-Sent Events.
+ * <p>
+ * Подписки индексируются по области: задачи пользователя ({@code user:<id>}), комментарии задачи
+ * ({@code task:<id>}) и все изменения ({@code all}). Событие, полученное из {@link com.sarf.task_management_system.domain.events.DomainEventBus},
+ * кладется в ограниченные буферы только тех подписок, чьи области оно затрагивает; сама отправка
+ * выполняется на виртуальных потоках, поэтому пишущий поток никогда не ждет клиентов.
+ * Переполнение буфера означает медленного клиента, и его подписка закрывается.
+ * </p>
+ * <p>
+ * Простаивающее соединение не занимает поток: Servlet async держит его в контейнере, а периодический
+ * heartbeat позволяет обнаружить отключившихся клиентов.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeBroadcaster implements DomainEventListener {
+
+    private static final String ALL = "all";
+
+    private final SseProperties properties;
+
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Подписывает клиента на изменения задач пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return поток событий.
+     */
+    public SseEmitter subscribeToUser(final Long userId) {
+        return subscribe("user:" + userId);
+    }
+
+    /**
+     * Подписывает клиента на изменения комментариев задачи.
+     *
+     * @param taskId идентификатор задачи.
+     * @return поток событий.
+     */
+    public SseEmitter subscribeToTask(final Long taskId) {
+        return subscribe("task:" + taskId);
+    }
+
+    /**
+     * Подписывает клиента на все изменения.
+     *
+     * @return поток событий.
+     */
+    public SseEmitter subscribeToAll() {
+        return subscribe(ALL);
+    }
+
+    /**
+     * Рассылает событие подписчикам затронутых областей.
+     *
+     * @param event доменное событие.
+     */
+    @Override
+    public void onEvent(final DomainEvent event) {
+        if (event instanceof CommentAdded || event instanceof CommentDeleted) {
+            publish("task:" + event.taskId(), event);
+        } else {
+            if (event.taskAuthorId() != null) {
+                publish("user:" + event.taskAuthorId(), event);
+            }
+            if (event.taskAssigneeId() != null && !event.taskAssigneeId().equals(event.taskAuthorId())) {
+                publish("user:" + event.taskAssigneeId(), event);
+            }
+            if (event instanceof TaskReassigned reassigned && reassigned.oldAssigneeId() != null
+                    && !reassigned.oldAssigneeId().equals(event.taskAuthorId())
+                    && !reassigned.oldAssigneeId().equals(event.taskAssigneeId())) {
+                publish("user:" + reassigned.oldAssigneeId(), event);
+            }
+        }
+        publish(ALL, event);
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    /**
+     * Отправляет всем подписчикам комментарий-heartbeat, чтобы обнаружить разорванные соединения.
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat:25s}")
+    public void heartbeat() {
+        subscriptions.values().forEach(set -> set.forEach(subscription -> deliver(subscription, "heartbeat")));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(set -> set.forEach(Subscription::close));
+        executor.shutdown();
+    }
+
+    private SseEmitter subscribe(final String key) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(key, emitter, properties.getBufferSize());
+        subscriptions.compute(key, (ignored, set) -> {
+            Set<Subscription> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+            target.add(subscription);
+            return target;
+        });
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(error -> remove(subscription));
+
+        log.debug("New SSE subscription for {}", key);
+        return emitter;
+    }
+
+    private void publish(final String key, final DomainEvent event) {
+        Set<Subscription> set = subscriptions.get(key);
+        if (set != null) {
+            set.forEach(subscription -> deliver(subscription, event));
+        }
+    }
+
+    private void deliver(final Subscription subscription, final Object event) {
+        if (subscription.offer(event)) {
+            subscription.schedule(executor);
+        } else {
+            log.warn("Dropping slow SSE subscriber of {}", subscription.getKey());
+            subscription.close();
+            remove(subscription);
+        }
+    }
+
+    private void remove(final Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.getKey(), (key, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
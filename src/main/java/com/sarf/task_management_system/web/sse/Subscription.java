@@ -0,0 +1,92 @@
+package com.sarf.task_management_system.web.sse;
+
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Подписка одного клиента на поток событий.
+ * <p>
+ * События складываются в ограниченный буфер и отправляются клиенту отдельной задачей,
+ * запускаемой только тогда, когда в буфере есть данные. Между отправками подписка не занимает поток.
+ * Если буфер переполнен, клиент не успевает читать события и подписка закрывается.
+ * </p>
+ */
+@Slf4j
+class Subscription {
+
+    @Getter
+    private final String key;
+    @Getter
+    private final SseEmitter emitter;
+    private final BlockingQueue<Object> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    Subscription(final String key, final SseEmitter emitter, final int bufferSize) {
+        this.key = key;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Помещает событие в буфер без блокировки.
+     *
+     * @return {@code false}, если буфер переполнен.
+     */
+    boolean offer(final Object event) {
+        return !closed.get() && buffer.offer(event);
+    }
+
+    /**
+     * Запускает отправку буфера, если она еще не выполняется.
+     */
+    void schedule(final Executor executor) {
+        if (!closed.get() && draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+
+    private void drain() {
+        do {
+            try {
+                Object event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(toSseEvent(event));
+                }
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("Subscription {} is gone: {}", key, exception.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+        } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(final Object event) {
+        if (event instanceof DomainEvent domainEvent) {
+            return SseEmitter.event()
+                    .name(domainEvent.getClass().getSimpleName())
+                    .data(domainEvent);
+        }
+        return SseEmitter.event().comment(event.toString());
+    }
+}
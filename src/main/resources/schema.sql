@@ -0,0 +1,148 @@
+-- PostgreSQL-specific objects that Hibernate does not create from the entity mappings.
+-- Executed after Hibernate schema update (spring.jpa.defer-datasource-initialization), must stay idempotent.
+
+-- Delta sync: shared change sequence for tasks, comments and tombstones
+CREATE SEQUENCE IF NOT EXISTS change_seq;
+CREATE INDEX IF NOT EXISTS idx_tasks_change_seq ON tasks (change_seq);
+CREATE INDEX IF NOT EXISTS idx_tasks_author_change_seq ON tasks (author_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_change_seq ON tasks (assignee_id, change_seq);
+CREATE INDEX IF NOT EXISTS idx_comments_change_seq ON comments (change_seq);
+CREATE INDEX IF NOT EXISTS idx_tombstones_change_seq ON tombstones (change_seq);
+-- Tombstone cleanup: SyncService prunes expired tombstones and remembers the highest pruned change_seq
+CREATE INDEX IF NOT EXISTS idx_tombstones_deleted_at ON tombstones (deleted_at);
+CREATE TABLE IF NOT EXISTS sync_state (
+    id         SMALLINT PRIMARY KEY,
+    pruned_seq BIGINT   NOT NULL
+);
+INSERT INTO sync_state (id, pruned_seq) VALUES (1, 0) ON CONFLICT DO NOTHING;
+
+-- Transactional outbox: pending messages in dispatch order; dead letters stay until handled manually
+DROP INDEX IF EXISTS idx_outbox_pending;
+CREATE INDEX IF NOT EXISTS idx_outbox_ready ON outbox (next_attempt_at, id) WHERE delivered_at IS NULL AND dead_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_dead ON outbox (dead_at) WHERE dead_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_outbox_delivered ON outbox (delivered_at) WHERE delivered_at IS NOT NULL;
+
+-- Task history: append-only, partitioned by month of changed_at; monthly partitions are created by TaskHistoryService
+CREATE TABLE IF NOT EXISTS task_history (
+    task_id    BIGINT      NOT NULL,
+    field      VARCHAR(32) NOT NULL,
+    old_value  VARCHAR(255),
+    new_value  VARCHAR(255),
+    changed_by BIGINT,
+    changed_at TIMESTAMPTZ NOT NULL
+) PARTITION BY RANGE (changed_at);
+CREATE TABLE IF NOT EXISTS task_history_default PARTITION OF task_history DEFAULT;
+CREATE INDEX IF NOT EXISTS idx_task_history_task ON task_history (task_id, changed_at);
+CREATE INDEX IF NOT EXISTS idx_task_history_changed_at ON task_history USING BRIN (changed_at);
+
+-- Work queue: claimable tasks in priority order, consumed with FOR UPDATE SKIP LOCKED
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS priority_rank SMALLINT
+    GENERATED ALWAYS AS (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END) STORED;
+CREATE INDEX IF NOT EXISTS idx_tasks_claim ON tasks (priority_rank, id) WHERE status = 'TODO';
+CREATE INDEX IF NOT EXISTS idx_tasks_lease ON tasks (lease_expires_at) WHERE status = 'IN_PROGRESS';
+
+-- Time-ordered ids: tasks, comments and users get ids from TsidGenerator before insert.
+-- Existing rows keep their identity values, which are all smaller than any generated id.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Archive: completed tasks and their comments moved out of the hot tables by ArchiveService
+CREATE INDEX IF NOT EXISTS idx_tasks_archivable ON tasks (updated_at) WHERE status = 'DONE';
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id            BIGINT PRIMARY KEY,
+    title         VARCHAR(255),
+    description   VARCHAR(255),
+    priority      VARCHAR(255),
+    status        VARCHAR(255),
+    author_id     BIGINT,
+    assignee_id   BIGINT,
+    comment_count BIGINT      NOT NULL DEFAULT 0,
+    completed_at  TIMESTAMPTZ,
+    archived_at   TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_author ON tasks_archive (author_id, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_assignee ON tasks_archive (assignee_id, id);
+CREATE TABLE IF NOT EXISTS comments_archive (
+    id         BIGINT PRIMARY KEY,
+    task_id    BIGINT NOT NULL,
+    author_id  BIGINT,
+    content    VARCHAR(255),
+    updated_at TIMESTAMPTZ
+);
+CREATE INDEX IF NOT EXISTS idx_comments_archive_task ON comments_archive (task_id, id);
+
+-- Task.comments is mapped by comments.task_id; the join table of the former unidirectional mapping was never written
+DROP TABLE IF EXISTS tasks_comments;
+
+-- Soft-deleted users waiting for UserPurgeService; bulk deletes look tasks and comments up by author
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_tasks_author ON tasks (author_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee ON tasks (assignee_id);
+
+-- User task collections are mapped by tasks.author_id/assignee_id; the join tables of the former mapping were never written
+DROP TABLE IF EXISTS users_tasks_created_by_user;
+DROP TABLE IF EXISTS users_tasks_assigned_to_user;
+
+-- Per-task comment sequence numbers: tasks.comment_seq hands out the next number, threads page by (task_id, seq).
+-- Comments written before numbering are numbered in id order once, and their creation time is taken from updated_at.
+-- Only tasks that still have unnumbered comments are touched, so after the first run both backfills read
+-- empty partial indexes instead of scanning comments.
+CREATE INDEX IF NOT EXISTS idx_comments_unnumbered ON comments (task_id) WHERE seq = 0;
+WITH numbered AS (
+    UPDATE comments c SET seq = n.seq
+    FROM (SELECT id, row_number() OVER (PARTITION BY task_id ORDER BY id) AS seq FROM comments
+          WHERE task_id IN (SELECT task_id FROM comments WHERE seq = 0)) n
+    WHERE c.id = n.id AND c.seq = 0
+    RETURNING c.task_id, c.seq
+)
+UPDATE tasks t SET comment_seq = latest.seq
+FROM (SELECT task_id, max(seq) AS seq FROM numbered GROUP BY task_id) latest
+WHERE t.id = latest.task_id AND t.comment_seq < latest.seq;
+CREATE INDEX IF NOT EXISTS idx_comments_created_at_missing ON comments (id) WHERE created_at IS NULL;
+UPDATE comments SET created_at = updated_at WHERE created_at IS NULL;
+-- Denormalized comment counts: tasks that still have the column default but already have comments are counted once;
+-- later drift is fixed by CountService.reconcileCommentCounts
+UPDATE tasks t SET comment_count = c.n
+FROM (SELECT task_id, count(*) AS n FROM comments
+      WHERE task_id IN (SELECT id FROM tasks WHERE comment_count = 0)
+      GROUP BY task_id) c
+WHERE t.id = c.task_id AND t.comment_count = 0;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_comments_task_seq ON comments (task_id, seq);
+CREATE INDEX IF NOT EXISTS idx_comments_author_id ON comments (author_id, id);
+DROP INDEX IF EXISTS idx_comments_task;
+DROP INDEX IF EXISTS idx_comments_author;
+ALTER TABLE comments_archive ADD COLUMN IF NOT EXISTS seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments_archive ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ;
+
+-- Threaded replies: comments.path is the parent's path followed by the comment's seq as 12 hex digits,
+-- compared with the "C" collation, so a thread or subtree is one range scan of (task_id, path)
+UPDATE comments SET path = lpad(to_hex(seq), 12, '0') WHERE path IS NULL;
+CREATE INDEX IF NOT EXISTS idx_comments_task_path ON comments (task_id, path);
+ALTER TABLE comments_archive ADD COLUMN IF NOT EXISTS parent_id BIGINT;
+ALTER TABLE comments_archive ADD COLUMN IF NOT EXISTS path VARCHAR(384) COLLATE "C";
+
+-- Unread comments: per-user read watermarks compared with tasks.comment_seq by UnreadService
+CREATE TABLE IF NOT EXISTS comment_reads (
+    user_id       BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    task_id       BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    last_read_seq BIGINT NOT NULL,
+    PRIMARY KEY (user_id, task_id)
+);
+CREATE INDEX IF NOT EXISTS idx_comment_reads_task ON comment_reads (task_id);
+
+-- Activity feed: FeedService fans comments and status changes from the outbox out to the task author and assignee,
+-- so a user's feed is one backward scan of (user_id, id) however many tasks they have
+CREATE TABLE IF NOT EXISTS feed_entries (
+    id          BIGSERIAL PRIMARY KEY,
+    user_id     BIGINT      NOT NULL,
+    type        VARCHAR(16) NOT NULL,
+    task_id     BIGINT      NOT NULL,
+    actor_id    BIGINT,
+    comment_id  BIGINT,
+    old_status  VARCHAR(32),
+    new_status  VARCHAR(32),
+    occurred_at TIMESTAMPTZ NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_feed_entries_user ON feed_entries (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_feed_entries_occurred ON feed_entries (occurred_at);
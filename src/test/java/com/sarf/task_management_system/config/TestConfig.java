@@ -1,16 +1,22 @@
 package com.sarf.task_management_system.config;
 
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
 import com.sarf.task_management_system.domain.security.JwtProperties;
 import com.sarf.task_management_system.domain.security.JwtTokenProvider;
 import com.sarf.task_management_system.domain.services.ApplicationUserDetailsService;
+import com.sarf.task_management_system.domain.services.AssignmentService;
 import com.sarf.task_management_system.domain.services.AuthService;
+import com.sarf.task_management_system.domain.services.SyncService;
 import com.sarf.task_management_system.domain.services.TaskService;
 import com.sarf.task_management_system.domain.services.UserService;
+import com.sarf.task_management_system.domain.services.VersionService;
 import com.sarf.task_management_system.repositories.ApplicationUserRepository;
 import com.sarf.task_management_system.repositories.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -57,10 +63,27 @@ public class TestConfig {
         return new UserService(
                 userRepository(),
                 tokenProvider(),
-                testPasswordEncoder()
+                testPasswordEncoder(),
+                versionService(),
+                eventPublisher()
         );
     }
 
+    @Bean
+    public AssignmentService assignmentService() {
+        return Mockito.mock(AssignmentService.class);
+    }
+
+    @Bean
+    public TaskLocks taskLocks() {
+        return Mockito.mock(TaskLocks.class);
+    }
+
+    @Bean
+    public RecentCommentCache recentCommentCache() {
+        return Mockito.mock(RecentCommentCache.class);
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new ApplicationUserDetailsService(userRepository());
@@ -71,7 +94,13 @@ public class TestConfig {
     public TaskService taskService() {
         return new TaskService(
                 taskRepository(),
-                userService()
+                userService(),
+                versionService(),
+                syncService(),
+                eventPublisher(),
+                assignmentService(),
+                taskLocks(),
+                recentCommentCache()
         );
     }
 
@@ -85,6 +114,21 @@ public class TestConfig {
         );
     }
 
+    @Bean
+    public VersionService versionService() {
+        return new VersionService();
+    }
+
+    @Bean
+    public ApplicationEventPublisher eventPublisher() {
+        return Mockito.mock(ApplicationEventPublisher.class);
+    }
+
+    @Bean
+    public SyncService syncService() {
+        return Mockito.mock(SyncService.class);
+    }
+
     @Bean
     public ApplicationUserRepository userRepository() {
         return Mockito.mock(ApplicationUserRepository.class);
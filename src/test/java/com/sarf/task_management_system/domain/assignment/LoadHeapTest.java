@@ -0,0 +1,64 @@
+package com.sarf.task_management_system.domain.assignment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadHeapTest {
+
+	@Test
+	void testPeekReturnsLeastLoadedUser() {
+		LoadHeap heap = new LoadHeap();
+		heap.put(1L, 5);
+		heap.put(2L, 3);
+		heap.put(3L, 3);
+
+		assertEquals(2L, heap.peek());
+
+		heap.adjust(2L, 10);
+		assertEquals(3L, heap.peek());
+
+		heap.remove(3L);
+		assertEquals(1L, heap.peek());
+		assertNull(heap.load(3L));
+	}
+
+	@Test
+	void testMatchesReferenceUnderRandomOperations() {
+		LoadHeap heap = new LoadHeap();
+		TreeMap<Long, Long> reference = new TreeMap<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 5000; i++) {
+			long userId = random.nextInt(100);
+			switch (random.nextInt(3)) {
+				case 0 -> {
+					long load = random.nextInt(50);
+					heap.put(userId, load);
+					reference.put(userId, load);
+				}
+				case 1 -> {
+					long delta = random.nextInt(21) - 10;
+					heap.adjust(userId, delta);
+					reference.computeIfPresent(userId, (id, load) -> load + delta);
+				}
+				default -> {
+					heap.remove(userId);
+					reference.remove(userId);
+				}
+			}
+			assertEquals(reference.size(), heap.size());
+			Long expected = reference.entrySet()
+					.stream()
+					.min((a, b) -> a.getValue().equals(b.getValue())
+							? a.getKey().compareTo(b.getKey())
+							: a.getValue().compareTo(b.getValue()))
+					.map(java.util.Map.Entry::getKey)
+					.orElse(null);
+			assertEquals(expected, heap.peek());
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.sarf.task_management_system.domain.batching;
+
+import com.sarf.task_management_system.config.CommentBatchProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.ids.TsidGenerator;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.services.TaskService;
+import com.sarf.task_management_system.domain.services.UnreadService;
+import com.sarf.task_management_system.domain.services.VersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CommentBatcherTest {
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private TaskService taskService;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private TaskLocks taskLocks;
+
+	@Mock
+	private RecentCommentCache recentComments;
+
+	@Mock
+	private UnreadService unreadService;
+
+	private CommentBatchProperties properties;
+	private CommentBatcher commentBatcher;
+
+	@BeforeEach
+	void setUp() {
+		properties = new CommentBatchProperties();
+		properties.setEnabled(true);
+		properties.setMaxBatch(8);
+		properties.setMaxDelay(Duration.ofMillis(50));
+		commentBatcher = new CommentBatcher(properties, transactionTemplate, taskService, jdbcTemplate,
+				new TsidGenerator(1), versionService, eventPublisher, taskLocks, recentComments, unreadService, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		commentBatcher.stop();
+	}
+
+	@Test
+	void testFlushWritesBatchInOneTransaction() {
+		inTransaction();
+		Comment first = comment(1L);
+		Comment second = comment(2L);
+		Comment third = comment(1L);
+		when(taskService.reserveCommentSeqs(1L, 2)).thenReturn(12L);
+		when(taskService.reserveCommentSeqs(2L, 1)).thenReturn(4L);
+		List<CommentBatcher.Pending> batch = List.of(pending(first), pending(second), pending(third));
+
+		commentBatcher.flush(batch);
+
+		assertEquals(11L, first.getSeq());
+		assertEquals(12L, third.getSeq());
+		assertEquals(4L, second.getSeq());
+		verify(transactionTemplate, times(1)).execute(any());
+		verify(jdbcTemplate, times(1)).batchUpdate(contains("nextval('change_seq')"), eq(List.of(first, third, second)),
+				eq(3), any(ParameterizedPreparedStatementSetter.class));
+		assertTrue(first.getId() > 0 && first.getId() < third.getId());
+		verify(taskLocks, times(1)).lock(1L);
+		verify(taskLocks, times(1)).lock(2L);
+		verify(versionService, times(1)).bumpComments(1L);
+		verify(versionService, times(1)).bumpComments(2L);
+		verify(eventPublisher, times(3)).publishEvent(any(CommentAdded.class));
+		verify(unreadService, times(1)).markWritten(List.of(first, third, second));
+		assertSame(first, batch.get(0).future().join());
+		assertSame(second, batch.get(1).future().join());
+	}
+
+	@Test
+	void testFailedBatchIsRetriedOneByOne() {
+		inTransaction();
+		Comment valid = comment(1L);
+		Comment orphan = comment(2L);
+		when(taskService.reserveCommentSeqs(1L, 1)).thenReturn(1L);
+		when(taskService.reserveCommentSeqs(2L, 1)).thenThrow(new ResourceNotFoundException("Task with ID 2 not found"));
+		List<CommentBatcher.Pending> batch = List.of(pending(valid), pending(orphan));
+
+		commentBatcher.flush(batch);
+
+		assertSame(valid, batch.get(0).future().join());
+		CompletionException exception = assertThrows(CompletionException.class, () -> batch.get(1).future().join());
+		assertInstanceOf(ResourceNotFoundException.class, exception.getCause());
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), eq(List.of(valid)), eq(1),
+				any(ParameterizedPreparedStatementSetter.class));
+	}
+
+	@Test
+	void testConcurrentSubmissionsShareCommit() {
+		inTransaction();
+		AtomicLong seq = new AtomicLong();
+		when(taskService.reserveCommentSeqs(eq(1L), anyInt()))
+				.thenAnswer(invocation -> seq.addAndGet(invocation.<Integer>getArgument(1)));
+		commentBatcher.start();
+
+		List<CompletableFuture<Comment>> futures = List.of(
+				commentBatcher.submit(comment(1L)),
+				commentBatcher.submit(comment(1L)),
+				commentBatcher.submit(comment(1L))
+		);
+
+		futures.forEach(CompletableFuture::join);
+		verify(jdbcTemplate, atMost(3)).batchUpdate(anyString(), anyList(), anyInt(),
+				any(ParameterizedPreparedStatementSetter.class));
+		assertEquals(List.of(1L, 2L, 3L), futures.stream().map(future -> future.join().getSeq()).sorted().toList());
+	}
+
+	@Test
+	void testSubmitWhenDisabledFails() {
+		CompletableFuture<Comment> future = commentBatcher.submit(comment(1L));
+
+		assertFalse(commentBatcher.isEnabled());
+		assertThrows(CompletionException.class, future::join);
+		verifyNoInteractions(transactionTemplate);
+	}
+
+	private void inTransaction() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+	}
+
+	private static CommentBatcher.Pending pending(final Comment comment) {
+		return new CommentBatcher.Pending(comment, new CompletableFuture<>());
+	}
+
+	private static Comment comment(final Long taskId) {
+		Task task = new Task();
+		task.setId(taskId);
+		ApplicationUser author = new ApplicationUser();
+		author.setId(7L);
+		return new Comment(author, task, "Test Comment");
+	}
+}
@@ -0,0 +1,158 @@
+package com.sarf.task_management_system.domain.cache;
+
+import com.sarf.task_management_system.config.CommentCacheProperties;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecentCommentCacheTest {
+
+	private CommentCacheProperties properties;
+	private RecentCommentCache cache;
+
+	@BeforeEach
+	void setUp() {
+		properties = new CommentCacheProperties();
+		properties.setEnabled(true);
+		properties.setPerTask(3);
+		properties.setTtl(Duration.ofMinutes(1));
+		cache = new RecentCommentCache(properties, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void testServesNewestPageFromWindow() {
+		cache.put(1L, newest(1L, 4), cache.stamp(1L));
+
+		CommentPage page = cache.find(1L, null, null, 2).orElseThrow();
+
+		assertEquals(List.of(4L, 3L), seqs(page));
+		assertEquals(3L, page.cursor());
+		assertTrue(page.hasMore());
+	}
+
+	@Test
+	void testMissesPageReachingBeyondWindow() {
+		cache.put(1L, newest(1L, 4), cache.stamp(1L));
+
+		assertTrue(cache.find(1L, 3L, null, 5).isEmpty());
+		assertTrue(cache.find(1L, null, 0L, 5).isEmpty());
+		assertTrue(cache.find(2L, null, null, 5).isEmpty());
+	}
+
+	@Test
+	void testServesWholeThreadWhenWindowIsComplete() {
+		cache.put(1L, newest(1L, 2), cache.stamp(1L));
+
+		CommentPage older = cache.find(1L, 2L, null, 5).orElseThrow();
+		CommentPage since = cache.find(1L, null, 0L, 5).orElseThrow();
+
+		assertEquals(List.of(1L), seqs(older));
+		assertFalse(older.hasMore());
+		assertEquals(List.of(1L, 2L), seqs(since));
+		assertEquals(2L, since.cursor());
+	}
+
+	@Test
+	void testAppendAndRemoveAfterCommit() {
+		cache.put(1L, newest(1L, 3), cache.stamp(1L));
+		TransactionSynchronizationManager.initSynchronization();
+
+		cache.append(comment(1L, 4));
+		cache.remove(1L, 3L);
+
+		assertEquals(List.of(3L, 2L, 1L), seqs(cache.find(1L, null, null, 5).orElseThrow()));
+		commit();
+
+		CommentPage since = cache.find(1L, null, 1L, 5).orElseThrow();
+		assertEquals(List.of(2L, 4L), seqs(since));
+		assertFalse(since.hasMore());
+		assertTrue(cache.find(1L, null, 0L, 5).isEmpty());
+	}
+
+	@Test
+	void testOutOfOrderAppendDropsWindow() {
+		cache.put(1L, newest(1L, 3), cache.stamp(1L));
+
+		cache.append(comment(1L, 3));
+
+		assertFalse(cache.contains(1L));
+	}
+
+	@Test
+	void testWindowLoadedDuringWriteIsNotCached() {
+		long stamp = cache.stamp(1L);
+		cache.append(comment(1L, 4));
+
+		cache.put(1L, newest(1L, 3), stamp);
+
+		assertFalse(cache.contains(1L));
+	}
+
+	@Test
+	void testEvictsLeastRecentlyReadTasksBySize() {
+		properties.setMaxSize(DataSize.ofBytes(1000));
+		cache.put(1L, newest(1L, 3), cache.stamp(1L));
+		cache.put(2L, newest(2L, 3), cache.stamp(2L));
+		cache.find(1L, null, null, 1);
+
+		cache.put(3L, newest(3L, 3), cache.stamp(3L));
+
+		assertTrue(cache.contains(1L));
+		assertFalse(cache.contains(2L));
+		assertTrue(cache.contains(3L));
+	}
+
+	@Test
+	void testExpiredWindowIsReloaded() {
+		properties.setTtl(Duration.ZERO);
+		cache.put(1L, newest(1L, 3), cache.stamp(1L));
+
+		assertEquals(Optional.empty(), cache.find(1L, null, null, 1));
+		assertFalse(cache.contains(1L));
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static List<Comment> newest(final Long taskId, final long count) {
+		return LongStream.iterate(count, seq -> seq > 0, seq -> seq - 1)
+				.mapToObj(seq -> comment(taskId, seq))
+				.toList();
+	}
+
+	private static Comment comment(final Long taskId, final long seq) {
+		Task task = new Task();
+		task.setId(taskId);
+		Comment comment = new Comment(null, task, "Comment " + seq, seq);
+		comment.setId(seq);
+		return comment;
+	}
+
+	private static List<Long> seqs(final CommentPage page) {
+		return page.comments().stream().map(Comment::getSeq).toList();
+	}
+}
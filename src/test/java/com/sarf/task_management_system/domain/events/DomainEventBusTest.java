@@ -0,0 +1,207 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.config.EventBusProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DomainEventBusTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private DomainEventBus bus;
+
+	@AfterEach
+	void tearDown() {
+		if (bus != null) {
+			bus.stop();
+		}
+	}
+
+	@Test
+	void testEventsAreDeliveredToEveryListener() throws InterruptedException {
+		RecordingListener first = new RecordingListener("first", OverflowPolicy.DROP, 2);
+		RecordingListener second = new RecordingListener("second", OverflowPolicy.DROP, 2);
+		bus = start(16, first, second);
+
+		bus.publish(event(1L));
+		bus.publish(event(2L));
+
+		assertTrue(first.latch.await(5, TimeUnit.SECONDS));
+		assertTrue(second.latch.await(5, TimeUnit.SECONDS));
+		assertEquals(List.of(1L, 2L), first.taskIds);
+		assertEquals(List.of(1L, 2L), second.taskIds);
+	}
+
+	@Test
+	void testQueuedEventsAreDeliveredInBatches() throws InterruptedException {
+		BlockedListener listener = new BlockedListener("batch", OverflowPolicy.SPILL);
+		bus = start(16, listener);
+
+		for (long id = 0; id < 10; id++) {
+			bus.publish(event(id));
+		}
+		listener.release.countDown();
+
+		assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+		assertTrue(listener.batches.size() < 10);
+	}
+
+	@Test
+	void testDropPolicyCountsDroppedEvents() {
+		BlockedListener listener = new BlockedListener("slow", OverflowPolicy.DROP);
+		bus = start(1, listener);
+
+		for (long id = 0; id < 10; id++) {
+			bus.publish(event(id));
+		}
+
+		assertTrue(registry.get("events.bus.dropped").tag("listener", "slow").counter().count() > 0);
+		assertTrue(registry.get("events.bus.depth").tag("listener", "slow").gauge().value() <= 1);
+		listener.release.countDown();
+	}
+
+	@Test
+	void testSpillPolicyKeepsEveryEvent() throws InterruptedException {
+		BlockedListener listener = new BlockedListener("spill", OverflowPolicy.SPILL);
+		bus = start(1, listener);
+
+		for (long id = 0; id < 10; id++) {
+			bus.publish(event(id));
+		}
+
+		assertEquals(0, registry.get("events.bus.dropped").tag("listener", "spill").counter().count());
+		assertTrue(registry.get("events.bus.spilled").tag("listener", "spill").counter().count() > 0);
+		assertTrue(registry.get("events.bus.lag").tag("listener", "spill").gauge().value() >= 0);
+
+		listener.release.countDown();
+		assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testSpillIsBoundedAndFallsBackToDrop() {
+		BlockedListener listener = new BlockedListener("bounded", OverflowPolicy.SPILL);
+		EventBusProperties properties = new EventBusProperties();
+		properties.setCapacity(1);
+		properties.setSpillCapacity(2);
+		bus = new DomainEventBus(List.of(listener), properties, registry, new TransactionIds(null));
+		bus.start();
+
+		for (long id = 0; id < 10; id++) {
+			bus.publish(event(id));
+		}
+
+		assertTrue(registry.get("events.bus.spill.rejected").tag("listener", "bounded").counter().count() > 0);
+		assertTrue(registry.get("events.bus.dropped").tag("listener", "bounded").counter().count() > 0);
+		assertTrue(registry.get("events.bus.depth").tag("listener", "bounded").gauge().value() <= 3);
+		listener.release.countDown();
+	}
+
+	@Test
+	void testSpillBlockFallbackKeepsPublicationOrder() throws InterruptedException {
+		BlockedListener listener = new BlockedListener("ordered", OverflowPolicy.SPILL);
+		EventBusProperties properties = new EventBusProperties();
+		properties.setCapacity(1);
+		properties.setSpillCapacity(2);
+		properties.setSpillFallback(OverflowPolicy.BLOCK);
+		properties.setBlockTimeout(Duration.ofSeconds(5));
+		bus = new DomainEventBus(List.of(listener), properties, registry, new TransactionIds(null));
+		bus.start();
+
+		Thread publisher = Thread.ofPlatform().start(() -> {
+			for (long id = 0; id < 10; id++) {
+				bus.publish(event(id));
+			}
+		});
+		while (registry.get("events.bus.spill.rejected").tag("listener", "ordered").counter().count() == 0) {
+			Thread.sleep(5);
+		}
+		listener.release.countDown();
+		publisher.join(5000);
+
+		assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+		assertEquals(0, registry.get("events.bus.dropped").tag("listener", "ordered").counter().count());
+		assertEquals(LongStream.range(0, 10).boxed().toList(), listener.taskIds());
+	}
+
+	@Test
+	void testOverflowPolicyCanBeOverriddenByProperties() {
+		BlockedListener listener = new BlockedListener("configured", OverflowPolicy.SPILL);
+		EventBusProperties properties = new EventBusProperties();
+		properties.setCapacity(1);
+		properties.getOverflow().put("configured", OverflowPolicy.DROP);
+		bus = new DomainEventBus(List.of(listener), properties, registry, new TransactionIds(null));
+		bus.start();
+
+		for (long id = 0; id < 10; id++) {
+			bus.publish(event(id));
+		}
+
+		assertTrue(registry.get("events.bus.dropped").tag("listener", "configured").counter().count() > 0);
+		listener.release.countDown();
+	}
+
+	private DomainEventBus start(final int capacity, final DomainEventListener... listeners) {
+		EventBusProperties properties = new EventBusProperties();
+		properties.setCapacity(capacity);
+		DomainEventBus result = new DomainEventBus(List.of(listeners), properties, registry, new TransactionIds(null));
+		result.start();
+		return result;
+	}
+
+	private static DomainEvent event(final Long taskId) {
+		return new TaskCreated(taskId, 1L, 2L, Priority.LOW, Status.TODO, Instant.now());
+	}
+
+	private record RecordingListener(String name, OverflowPolicy overflowPolicy, List<Long> taskIds,
+									 CountDownLatch latch) implements DomainEventListener {
+
+		RecordingListener(final String name, final OverflowPolicy overflowPolicy, final int expected) {
+			this(name, overflowPolicy, new CopyOnWriteArrayList<>(), new CountDownLatch(expected));
+		}
+
+		@Override
+		public void onEvent(final DomainEvent event) {
+			taskIds.add(event.taskId());
+			latch.countDown();
+		}
+	}
+
+	private record BlockedListener(String name, OverflowPolicy overflowPolicy, CountDownLatch release,
+								   CountDownLatch received, List<Integer> batches,
+								   List<Long> taskIds) implements DomainEventListener {
+
+		BlockedListener(final String name, final OverflowPolicy overflowPolicy) {
+			this(name, overflowPolicy, new CountDownLatch(1), new CountDownLatch(10), new CopyOnWriteArrayList<>(),
+					new CopyOnWriteArrayList<>());
+		}
+
+		@Override
+		public void onEvents(final List<DomainEvent> events) {
+			batches.add(events.size());
+			events.forEach(this::onEvent);
+		}
+
+		@Override
+		public void onEvent(final DomainEvent event) {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			}
+			taskIds.add(event.taskId());
+			received.countDown();
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.sarf.task_management_system.domain.events;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionIdsTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private TransactionIds transactionIds;
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.unbindResourceIfPossible(transactionIds);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void testCaptureReadsTransactionIdOncePerTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(42L);
+
+		transactionIds.capture(event());
+		transactionIds.capture(event());
+
+		assertEquals(42L, transactionIds.current());
+		verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class));
+
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		assertEquals(0L, transactionIds.current());
+	}
+
+	@Test
+	void testCurrentIsUnknownOutsideTransaction() {
+		assertEquals(0L, transactionIds.current());
+	}
+
+	private static DomainEvent event() {
+		return new TaskCreated(1L, 2L, 3L, Priority.LOW, Status.TODO, Instant.now());
+	}
+}
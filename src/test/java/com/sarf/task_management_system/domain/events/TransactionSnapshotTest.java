@@ -0,0 +1,30 @@
+package com.sarf.task_management_system.domain.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionSnapshotTest {
+
+	@Test
+	void testParse() {
+		assertEquals(new TransactionSnapshot(10, 20, Set.of(12L, 15L)), TransactionSnapshot.parse("10:20:12,15"));
+		assertEquals(new TransactionSnapshot(7, 7, Set.of()), TransactionSnapshot.parse("7:7:"));
+		assertThrows(IllegalArgumentException.class, () -> TransactionSnapshot.parse("7"));
+	}
+
+	@Test
+	void testIncludesOnlyTransactionsFinishedBeforeSnapshot() {
+		TransactionSnapshot snapshot = TransactionSnapshot.parse("10:20:12,15");
+
+		assertTrue(snapshot.includes(9));
+		assertTrue(snapshot.includes(11));
+		assertFalse(snapshot.includes(12));
+		assertFalse(snapshot.includes(15));
+		assertFalse(snapshot.includes(20));
+		assertFalse(snapshot.includes(25));
+		assertFalse(snapshot.includes(0));
+	}
+}
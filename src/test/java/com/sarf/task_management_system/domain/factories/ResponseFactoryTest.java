@@ -0,0 +1,99 @@
+package com.sarf.task_management_system.domain.factories;
+
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.CommentThread;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.web.dto.response.CommentNodeResponse;
+import com.sarf.task_management_system.web.dto.response.CommentThreadResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedCommentPageResponse;
+import com.sarf.task_management_system.web.dto.response.NormalizedTaskListResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseFactoryTest {
+
+	private final ApplicationUser author = new ApplicationUser(
+			1L, "author@example.com", "Test Author", "password", List.of(), List.of(), List.of(), null);
+	private final Task task = new Task();
+
+	@Test
+	void testCreateCommentThreadNestsReplies() {
+		Comment first = comment(1, null);
+		Comment reply = comment(2, first);
+		Comment nested = comment(4, reply);
+		Comment second = comment(3, null);
+
+		CommentThreadResponse response = ResponseFactory.createCommentThread(
+				new CommentThread(List.of(first, reply, nested, second), second.getPath(), false));
+
+		assertEquals(List.of(1L, 3L), ids(response.getComments()));
+		CommentNodeResponse replyNode = response.getComments().getFirst().getReplies().getFirst();
+		assertEquals(2L, replyNode.getComment().getId());
+		assertEquals(1L, replyNode.getComment().getParentId());
+		assertEquals(List.of(4L), ids(replyNode.getReplies()));
+		assertTrue(response.getComments().getLast().getReplies().isEmpty());
+	}
+
+	@Test
+	void testCreateCommentThreadKeepsOrphanedRepliesAsRoots() {
+		Comment parent = comment(1, null);
+		Comment reply = comment(2, parent);
+
+		CommentThreadResponse response = ResponseFactory.createCommentThread(
+				new CommentThread(List.of(reply), reply.getPath(), false));
+
+		assertEquals(List.of(2L), ids(response.getComments()));
+	}
+
+	@Test
+	void testCreateNormalizedTasksInternsUsers() {
+		ApplicationUser assignee = new ApplicationUser(
+				2L, "assignee@example.com", "Test Assignee", "password", List.of(), List.of(), List.of(), null);
+		Task assigned = new Task();
+		assigned.setId(1L);
+		assigned.setAuthor(author);
+		assigned.setAssignee(assignee);
+		Task unassigned = new Task();
+		unassigned.setId(2L);
+		unassigned.setAuthor(author);
+
+		NormalizedTaskListResponse response = ResponseFactory.createNormalizedTasks(List.of(assigned, unassigned));
+
+		assertEquals(List.of(1L, 2L), List.copyOf(response.getUsers().keySet()));
+		assertEquals("author@example.com", response.getUsers().get(1L).getEmail());
+		assertEquals(1L, response.getTasks().get(0).getAuthorId());
+		assertEquals(2L, response.getTasks().get(0).getAssigneeId());
+		assertEquals(1L, response.getTasks().get(1).getAuthorId());
+		assertNull(response.getTasks().get(1).getAssigneeId());
+	}
+
+	@Test
+	void testCreateNormalizedCommentPage() {
+		NormalizedCommentPageResponse response = ResponseFactory.createNormalizedCommentPage(
+				new CommentPage(List.of(comment(2, null), comment(1, null)), 1L, true));
+
+		assertEquals(1, response.getUsers().size());
+		assertEquals(List.of(1L, 1L), response.getComments().stream().map(c -> c.getAuthorId()).toList());
+		assertEquals(1L, response.getCursor());
+		assertTrue(response.isHasMore());
+	}
+
+	private Comment comment(final long seq, final Comment parent) {
+		Comment comment = new Comment(author, task, "Comment " + seq);
+		comment.setId(seq);
+		if (parent != null) {
+			comment.replyTo(parent);
+		}
+		comment.assignSeq(seq);
+		return comment;
+	}
+
+	private static List<Long> ids(final List<CommentNodeResponse> nodes) {
+		return nodes.stream().map(node -> node.getComment().getId()).toList();
+	}
+}
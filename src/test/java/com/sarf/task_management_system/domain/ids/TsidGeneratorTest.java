@@ -0,0 +1,54 @@
+package com.sarf.task_management_system.domain.ids;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TsidGeneratorTest {
+
+	@Test
+	void testIdsAreStrictlyIncreasing() {
+		TsidGenerator generator = new TsidGenerator(7);
+		long previous = generator.next();
+		for (int i = 0; i < 100_000; i++) {
+			long id = generator.next();
+			assertTrue(id > previous);
+			previous = id;
+		}
+	}
+
+	@Test
+	void testIdsAreUniqueAcrossThreads() {
+		TsidGenerator generator = new TsidGenerator(1);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.next()));
+
+		assertEquals(200_000, ids.size());
+	}
+
+	@Test
+	void testIdEncodesNodeAndTime() {
+		Instant before = Instant.now().minusMillis(1);
+		long first = new TsidGenerator(3).next();
+		long second = new TsidGenerator(4).next();
+
+		assertNotEquals(first, second);
+		assertEquals(3, (first >>> 12) & TsidGenerator.MAX_NODE);
+		assertEquals(4, (second >>> 12) & TsidGenerator.MAX_NODE);
+		Instant created = TsidGenerator.instantOf(first);
+		assertFalse(created.isBefore(before));
+		assertTrue(Duration.between(created, Instant.now()).toSeconds() < 1);
+	}
+
+	@Test
+	void testInvalidNodeRejected() {
+		assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(TsidGenerator.MAX_NODE + 1));
+		assertThrows(IllegalArgumentException.class, () -> new TsidGenerator(-1));
+	}
+}
@@ -0,0 +1,108 @@
+package com.sarf.task_management_system.domain.locks;
+
+import com.sarf.task_management_system.config.TaskLockProperties;
+import com.sarf.task_management_system.domain.exceptions.LockTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskLocksTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private TaskLocks taskLocks;
+
+	@BeforeEach
+	void setUp() {
+		TaskLockProperties properties = new TaskLockProperties();
+		properties.setStripes(16);
+		properties.setTimeout(Duration.ofMillis(100));
+		meterRegistry = new SimpleMeterRegistry();
+		taskLocks = new TaskLocks(properties, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void testLockOutsideTransactionFails() {
+		assertThrows(IllegalStateException.class, () -> taskLocks.lock(1L));
+	}
+
+	@Test
+	void testConcurrentLockTimesOutUntilTransactionCompletes() {
+		TransactionSynchronizationManager.initSynchronization();
+		taskLocks.lock(1L);
+		taskLocks.lock(1L);
+
+		assertThrows(LockTimeoutException.class, () -> inOtherTransaction(1L).join().rethrow());
+		assertNull(inOtherTransaction(2L).join());
+		assertEquals(1.0, meterRegistry.counter("tasks.lock.timeouts").count());
+
+		complete();
+
+		assertNull(inOtherTransaction(1L).join());
+		assertEquals(4, meterRegistry.timer("tasks.lock.hold").count());
+		assertEquals(5, meterRegistry.timer("tasks.lock.wait").count());
+	}
+
+	@Test
+	void testTryLockSkipsBusyTaskWithoutWaiting() {
+		TransactionSynchronizationManager.initSynchronization();
+		taskLocks.lock(1L);
+
+		assertFalse(CompletableFuture.supplyAsync(() -> tryInOtherTransaction(1L)).join());
+		assertTrue(CompletableFuture.supplyAsync(() -> tryInOtherTransaction(2L)).join());
+		assertEquals(0.0, meterRegistry.counter("tasks.lock.timeouts").count());
+
+		complete();
+
+		assertTrue(CompletableFuture.supplyAsync(() -> tryInOtherTransaction(1L)).join());
+	}
+
+	private boolean tryInOtherTransaction(final Long taskId) {
+		TransactionSynchronizationManager.initSynchronization();
+		boolean locked = taskLocks.tryLock(taskId);
+		complete();
+		return locked;
+	}
+
+	private static void complete() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	private CompletableFuture<Failure> inOtherTransaction(final Long taskId) {
+		return CompletableFuture.supplyAsync(() -> {
+			TransactionSynchronizationManager.initSynchronization();
+			try {
+				taskLocks.lock(taskId);
+				complete();
+				return null;
+			} catch (RuntimeException exception) {
+				TransactionSynchronizationManager.clearSynchronization();
+				return new Failure(exception);
+			}
+		});
+	}
+
+	private record Failure(RuntimeException exception) {
+
+		Failure rethrow() {
+			throw exception;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.ArchiveProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArchiveServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private TaskStatsService taskStatsService;
+
+	@Mock
+	private RecentCommentCache recentComments;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	private ArchiveProperties properties;
+	private ArchiveService archiveService;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ArchiveProperties();
+		properties.setBatchSize(2);
+		properties.setPause(Duration.ZERO);
+		archiveService = new ArchiveService(jdbcTemplate, transactionTemplate, properties, versionService, taskStatsService,
+				recentComments, eventPublisher);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testArchiveCompletedMovesBatchesUntilExhausted() {
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+		when(jdbcTemplate.query(contains("FOR UPDATE SKIP LOCKED"), any(RowMapper.class), any(), any()))
+				.thenReturn(List.of(done(1L), done(2L)), List.of(done(3L)));
+		when(jdbcTemplate.update(contains("INSERT INTO tasks_archive"), any(PreparedStatementSetter.class)))
+				.thenReturn(2, 1);
+		when(jdbcTemplate.update(contains("INSERT INTO comments_archive"), any(PreparedStatementSetter.class)))
+				.thenReturn(5);
+
+		int archived = archiveService.archiveCompleted();
+
+		assertEquals(3, archived);
+		verify(jdbcTemplate, times(2)).update(contains("INSERT INTO comments_archive"), any(PreparedStatementSetter.class));
+		verify(versionService, times(1)).bumpComments(3L);
+		verify(recentComments, times(1)).invalidate(3L);
+		verify(taskStatsService, times(1)).reconcile();
+		verify(jdbcTemplate, times(2)).update(contains("INSERT INTO tombstones"), any(PreparedStatementSetter.class));
+		verify(eventPublisher, times(3)).publishEvent(any(TaskDeleted.class));
+		verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+				event instanceof TaskDeleted deleted && deleted.taskId() == 3L && deleted.taskAssigneeId() == 20L));
+	}
+
+	@Test
+	void testArchiveCompletedSkipsWhenNothingToMove() {
+		when(transactionTemplate.execute(any())).thenReturn(0);
+
+		assertEquals(0, archiveService.archiveCompleted());
+		verify(taskStatsService, never()).reconcile();
+	}
+
+	@Test
+	void testArchiveDisabled() {
+		properties.setEnabled(false);
+
+		assertEquals(0, archiveService.archiveCompleted());
+		verifyNoInteractions(transactionTemplate, jdbcTemplate);
+	}
+
+	private static TaskDeleted done(final Long taskId) {
+		return new TaskDeleted(taskId, 10L, 20L, Priority.LOW, Status.DONE, Instant.now());
+	}
+}
@@ -0,0 +1,151 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.AssignmentProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.events.UserRegistered;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.repositories.ApplicationUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AssignmentServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private ApplicationUserRepository userRepository;
+
+	private AssignmentService assignmentService;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		assignmentService = new AssignmentService(jdbcTemplate, userRepository, new AssignmentProperties());
+		when(userRepository.findByDeletedAtIsNull()).thenReturn(List.of(user(1L, Role.ROLE_USER), user(2L, Role.ROLE_USER),
+				user(3L, Role.ROLE_ADMIN)));
+		stubLoads("100:100:", null,
+				new Object[]{1L, Priority.HIGH, 1L},
+				new Object[]{2L, Priority.LOW, 2L}
+		);
+		assignmentService.rebuild();
+	}
+
+	@Test
+	void testRebuildWeightsOpenTasksByPriority() {
+		assertEquals(Optional.of(3L), assignmentService.getLoad(1L));
+		assertEquals(Optional.of(2L), assignmentService.getLoad(2L));
+		assertEquals(Optional.empty(), assignmentService.getLoad(3L));
+	}
+
+	@Test
+	void testAssignPicksLeastLoadedAndReserves() {
+		assertEquals(Optional.of(2L), assignmentService.assign(Priority.MEDIUM, Status.TODO));
+		assertEquals(Optional.of(4L), assignmentService.getLoad(2L));
+
+		assignmentService.onEvent(new TaskCreated(10L, 3L, 2L, Priority.MEDIUM, Status.TODO, Instant.now()));
+		assertEquals(Optional.of(4L), assignmentService.getLoad(2L));
+
+		assertEquals(Optional.of(1L), assignmentService.assign(Priority.LOW, Status.TODO));
+	}
+
+	@Test
+	void testCompletionReleasesLoad() {
+		assignmentService.onEvent(new TaskStatusChanged(10L, 3L, 1L, Priority.HIGH,
+				Status.IN_PROGRESS, Status.DONE, 1L, Instant.now()));
+
+		assertEquals(Optional.of(0L), assignmentService.getLoad(1L));
+		assertEquals(Optional.of(1L), assignmentService.assign(Priority.LOW, Status.TODO));
+	}
+
+	@Test
+	void testRegisteredUserJoinsWithZeroLoad() {
+		assignmentService.onUserRegistered(new UserRegistered(5L, List.of(Role.ROLE_USER)));
+
+		assertEquals(Optional.of(5L), assignmentService.assign(Priority.LOW, Status.DONE));
+	}
+
+	@Test
+	void testEventsVisibleInRebuildSnapshotAreSkipped() {
+		Instant now = Instant.now();
+		assignmentService.onEvents(
+				List.of(
+						new TaskCreated(10L, 3L, 1L, Priority.HIGH, Status.TODO, now),
+						new TaskCreated(11L, 3L, 2L, Priority.LOW, Status.TODO, now)
+				),
+				new long[]{99, 100}
+		);
+
+		assertEquals(Optional.of(3L), assignmentService.getLoad(1L));
+		assertEquals(Optional.of(3L), assignmentService.getLoad(2L));
+	}
+
+	@Test
+	void testRebuildReplaysEventsAppliedDuringQuery() throws SQLException {
+		Instant now = Instant.now();
+		stubLoads("200:202:", () -> assignmentService.onEvents(
+				List.of(
+						new TaskCreated(10L, 3L, 1L, Priority.HIGH, Status.TODO, now),
+						new TaskCreated(11L, 3L, 2L, Priority.LOW, Status.TODO, now)
+				),
+				new long[]{201, 203}
+		), new Object[]{1L, Priority.HIGH, 2L}, new Object[]{2L, Priority.LOW, 2L});
+
+		assignmentService.rebuild();
+
+		assertEquals(Optional.of(6L), assignmentService.getLoad(1L));
+		assertEquals(Optional.of(3L), assignmentService.getLoad(2L));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubLoads(final String snapshot, final Runnable duringQuery, final Object[]... rows) throws SQLException {
+		List<ResultSet> resultSets = new ArrayList<>();
+		for (Object[] row : rows) {
+			ResultSet rs = mock(ResultSet.class);
+			when(rs.getString("snapshot")).thenReturn(snapshot);
+			when(rs.getObject("assignee_id", Long.class)).thenReturn((Long) row[0]);
+			when(rs.getString("priority")).thenReturn(row[1].toString());
+			when(rs.getLong("total")).thenReturn((Long) row[2]);
+			resultSets.add(rs);
+		}
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+			if (duringQuery != null) {
+				duringQuery.run();
+			}
+			RowMapper<Object> mapper = invocation.getArgument(1);
+			List<Object> result = new ArrayList<>();
+			for (ResultSet rs : resultSets) {
+				result.add(mapper.mapRow(rs, result.size()));
+			}
+			return result;
+		});
+	}
+
+	private static ApplicationUser user(final long id, final Role role) {
+		ApplicationUser user = new ApplicationUser();
+		user.setId(id);
+		user.setRoles(List.of(role));
+		return user;
+	}
+}
@@ -0,0 +1,201 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.ClaimProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClaimServiceTest {
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private SyncService syncService;
+
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private TaskLocks taskLocks;
+
+	private ClaimProperties properties;
+	private ClaimService claimService;
+	private Task task;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ClaimProperties();
+		claimService = new ClaimService(taskRepository, userService, syncService, versionService, eventPublisher, properties, transactionTemplate, taskLocks);
+
+		task = new Task();
+		task.setId(1L);
+		task.setPriority(Priority.HIGH);
+		task.setStatus(Status.TODO);
+	}
+
+	@Test
+	void testClaimMarksTaskInProgressWithLease() {
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(true);
+
+		Optional<Task> claimed = claimService.claim(7L, Duration.ofMinutes(2));
+
+		assertTrue(claimed.isPresent());
+		assertEquals(Status.IN_PROGRESS, task.getStatus());
+		assertEquals(7L, task.getClaimedBy());
+		assertTrue(task.getLeaseExpiresAt().isBefore(Instant.now().plus(Duration.ofMinutes(3))));
+		verify(taskRepository, times(1)).save(task);
+		verify(eventPublisher, times(1)).publishEvent(any(TaskStatusChanged.class));
+	}
+
+	@Test
+	void testClaimAssignsUnassignedTaskToClaimer() {
+		ApplicationUser claimer = new ApplicationUser();
+		claimer.setId(7L);
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(true);
+		when(userService.getById(7L)).thenReturn(claimer);
+
+		claimService.claim(7L, null);
+
+		assertSame(claimer, task.getAssignee());
+		verify(syncService, times(1)).recordTaskGrant(task, 7L);
+		verify(versionService, times(1)).bumpUserTasks(null, 7L);
+		verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+				event instanceof TaskReassigned reassigned
+						&& reassigned.taskAssigneeId() == 7L
+						&& reassigned.oldAssigneeId() == null
+						&& reassigned.actorId() == 7L));
+	}
+
+	@Test
+	void testClaimKeepsExistingAssignee() {
+		ApplicationUser assignee = new ApplicationUser();
+		assignee.setId(7L);
+		task.setAssignee(assignee);
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(true);
+
+		claimService.claim(7L, null);
+
+		assertSame(assignee, task.getAssignee());
+		verify(userService, never()).getById(anyLong());
+		verify(eventPublisher, never()).publishEvent(any(TaskReassigned.class));
+	}
+
+	@Test
+	void testClaimCapsLeaseAtMaximum() {
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(true);
+
+		claimService.claim(7L, Duration.ofDays(1));
+
+		assertTrue(task.getLeaseExpiresAt().isBefore(Instant.now().plus(properties.getMaxLease()).plusSeconds(1)));
+	}
+
+	@Test
+	void testClaimSkipsTaskLockedByChange() {
+		Task next = new Task();
+		next.setId(2L);
+		next.setStatus(Status.TODO);
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(false);
+		when(taskRepository.lockNextClaimableExcept(7L, List.of(1L))).thenReturn(Optional.of(next));
+		when(taskLocks.tryLock(2L)).thenReturn(true);
+
+		Optional<Task> claimed = claimService.claim(7L, null);
+
+		assertSame(next, claimed.orElseThrow());
+		assertEquals(Status.TODO, task.getStatus());
+		assertEquals(Status.IN_PROGRESS, next.getStatus());
+		verify(taskRepository, never()).save(task);
+	}
+
+	@Test
+	void testClaimReturnsEmptyWhenQueueIsEmpty() {
+		when(taskRepository.lockNextClaimable(7L)).thenReturn(Optional.empty());
+
+		assertTrue(claimService.claim(7L, null).isEmpty());
+		verify(taskRepository, never()).save(any());
+	}
+
+	@Test
+	void testRenewWithoutActiveClaimFails() {
+		when(taskRepository.renewLease(eq(1L), eq(7L), any(Instant.class))).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> claimService.renew(1L, 7L, null));
+		verify(taskLocks, times(1)).lock(1L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testReclaimExpiredReturnsTasksToQueue() {
+		task.setStatus(Status.IN_PROGRESS);
+		task.setClaimedBy(7L);
+		task.setLeaseExpiresAt(Instant.now().minusSeconds(1));
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+		when(taskRepository.lockExpiredLeases(any(Instant.class), eq(properties.getReclaimBatchSize())))
+				.thenReturn(List.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(true);
+
+		claimService.reclaimExpired();
+
+		assertEquals(Status.TODO, task.getStatus());
+		assertNull(task.getClaimedBy());
+		assertNull(task.getLeaseExpiresAt());
+		verify(taskRepository, times(1)).save(task);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testReclaimExpiredLeavesTaskLockedByChange() {
+		task.setStatus(Status.IN_PROGRESS);
+		task.setClaimedBy(7L);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				((TransactionCallback<Integer>) invocation.getArgument(0)).doInTransaction(null));
+		when(taskRepository.lockExpiredLeases(any(Instant.class), eq(properties.getReclaimBatchSize())))
+				.thenReturn(List.of(task));
+		when(taskLocks.tryLock(1L)).thenReturn(false);
+
+		claimService.reclaimExpired();
+
+		assertEquals(Status.IN_PROGRESS, task.getStatus());
+		assertEquals(7L, task.getClaimedBy());
+		verify(taskRepository, never()).save(any());
+	}
+}
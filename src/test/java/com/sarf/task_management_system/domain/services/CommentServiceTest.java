@@ -6,11 +6,20 @@ import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import com.sarf.task_management_system.domain.batching.CommentBatcher;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
 import com.sarf.task_management_system.domain.exceptions.AccessDeniedException;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
 import com.sarf.task_management_system.domain.models.ApplicationUser;
 import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.CommentThread;
 import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.repositories.CommentRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +28,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +46,30 @@ public class CommentServiceTest {
 	@Mock
 	private CommentRepository commentRepository;
 
+	@Mock
+	private CommentBatcher commentBatcher;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private SyncService syncService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private TaskLocks taskLocks;
+
+	@Mock
+	private RecentCommentCache recentComments;
+
+	@Mock
+	private UnreadService unreadService;
+
 	@InjectMocks
 	private CommentService commentService;
 
@@ -54,8 +91,10 @@ public class CommentServiceTest {
 				"password",
 				new ArrayList<>(),
 				List.of(task),
-				new ArrayList<>()
+				new ArrayList<>(),
+				null
 		);
+		task.setAuthor(author);
 
 		comment = new Comment(
 				1L,
@@ -67,35 +106,216 @@ public class CommentServiceTest {
 
 	@Test
 	void testGetByTask() {
-		when(commentRepository.findByTaskId(1L)).thenReturn(List.of(comment));
+		when(commentRepository.findByTaskIdOrderBySeqDesc(1L, Limit.of(101))).thenReturn(List.of(comment));
 
-		List<Comment> result = commentService.getByTask(1L);
+		CommentPage result = commentService.getByTask(1L, null, null, 100);
 
 		assertNotNull(result);
-		assertEquals(1, result.size());
-		assertEquals(comment, result.get(0));
+		assertEquals(List.of(comment), result.comments());
+		assertEquals(comment.getSeq(), result.cursor());
+		assertFalse(result.hasMore());
+	}
+
+	@Test
+	void testGetByTaskBeforeCursor() {
+		Comment older = new Comment(author, task, "Older", 3);
+		Comment oldest = new Comment(author, task, "Oldest", 2);
+		when(commentRepository.findByTaskIdAndSeqLessThanOrderBySeqDesc(1L, 4L, Limit.of(2)))
+				.thenReturn(List.of(older, oldest));
+
+		CommentPage result = commentService.getByTask(1L, 4L, null, 1);
+
+		assertEquals(List.of(older), result.comments());
+		assertEquals(3L, result.cursor());
+		assertTrue(result.hasMore());
+	}
+
+	@Test
+	void testGetByTaskSinceCursor() {
+		Comment newer = new Comment(author, task, "Newer", 6);
+		Comment newest = new Comment(author, task, "Newest", 7);
+		when(commentRepository.findByTaskIdAndSeqGreaterThanOrderBySeqAsc(1L, 5L, Limit.of(3)))
+				.thenReturn(List.of(newer, newest));
+
+		CommentPage result = commentService.getByTask(1L, null, 5L, 2);
+
+		assertEquals(List.of(newer, newest), result.comments());
+		assertEquals(7L, result.cursor());
+		assertFalse(result.hasMore());
+	}
+
+	@Test
+	void testGetByTaskEmpty() {
+		when(commentRepository.findByTaskIdAndSeqGreaterThanOrderBySeqAsc(1L, 5L, Limit.of(101)))
+				.thenReturn(List.of());
+
+		CommentPage result = commentService.getByTask(1L, null, 5L, 100);
+
+		assertTrue(result.comments().isEmpty());
+		assertNull(result.cursor());
+		assertFalse(result.hasMore());
+	}
+
+	@Test
+	void testGetByTaskLoadsRecentCommentsIntoCache() {
+		CommentPage cached = new CommentPage(List.of(comment), comment.getSeq(), false);
+		when(recentComments.isEnabled()).thenReturn(true);
+		when(recentComments.find(1L, null, null, 20)).thenReturn(Optional.empty(), Optional.of(cached));
+		when(recentComments.stamp(1L)).thenReturn(7L);
+		when(recentComments.windowSize()).thenReturn(200);
+		when(commentRepository.findByTaskIdOrderBySeqDesc(1L, Limit.of(201))).thenReturn(List.of(comment));
+
+		CommentPage result = commentService.getByTask(1L, null, null, 20);
+
+		assertSame(cached, result);
+		verify(recentComments, times(1)).put(1L, List.of(comment), 7L);
+	}
+
+	@Test
+	void testGetByTaskBeyondCacheQueriesDatabase() {
+		when(recentComments.isEnabled()).thenReturn(true);
+		when(recentComments.find(1L, 4L, null, 20)).thenReturn(Optional.empty());
+		when(commentRepository.findByTaskIdAndSeqLessThanOrderBySeqDesc(1L, 4L, Limit.of(21)))
+				.thenReturn(List.of(comment));
+
+		CommentPage result = commentService.getByTask(1L, 4L, null, 20);
+
+		assertEquals(List.of(comment), result.comments());
+		verify(recentComments, never()).put(any(), any(), anyLong());
 	}
 
 	@Test
 	void testGetByAuthor() {
-		when(commentRepository.findByAuthorId(1L)).thenReturn(List.of(comment));
+		when(commentRepository.findByAuthorIdAndIdLessThanOrderByIdDesc(1L, 10L, Limit.of(101)))
+				.thenReturn(List.of(comment));
 
-		List<Comment> result = commentService.getByAuthor(1L);
+		CommentPage result = commentService.getByAuthor(1L, 10L, 100);
 
 		assertNotNull(result);
-		assertEquals(1, result.size());
-		assertEquals(comment, result.get(0));
+		assertEquals(List.of(comment), result.comments());
+		assertEquals(comment.getId(), result.cursor());
+		assertFalse(result.hasMore());
+	}
+
+	@Test
+	void testGetLatestByTasks() {
+		Task other = new Task();
+		other.setId(2L);
+		Comment newest = new Comment(author, task, "Newest", 2);
+		Comment older = new Comment(author, task, "Older", 1);
+		Comment otherComment = new Comment(author, other, "Other", 1);
+		when(commentRepository.findLatestByTaskIds(Set.of(2L, 1L, 3L), 2))
+				.thenReturn(List.of(newest, older, otherComment));
+
+		Map<Long, List<Comment>> result = commentService.getLatestByTasks(List.of(2L, 1L, 3L, 1L), 2);
+
+		assertEquals(List.of(2L, 1L, 3L), List.copyOf(result.keySet()));
+		assertEquals(List.of(newest, older), result.get(1L));
+		assertEquals(List.of(otherComment), result.get(2L));
+		assertTrue(result.get(3L).isEmpty());
+	}
+
+	@Test
+	void testGetLatestByTasksEmpty() {
+		assertTrue(commentService.getLatestByTasks(List.of(), 5).isEmpty());
+		verifyNoInteractions(commentRepository);
 	}
 
 	@Test
 	void testSave() throws AccessDeniedException {
 		when(userService.getByToken("author@example.com")).thenReturn(author);
 		when(taskService.getById(1L)).thenReturn(task);
+		when(taskService.nextCommentSeq(1L)).thenReturn(5L);
 		when(commentRepository.save(any(Comment.class))).thenReturn(comment);
 
-		commentService.save("author@example.com", 1L, "Test Comment");
+		commentService.save("author@example.com", 1L, "Test Comment", null);
+
+		verify(commentRepository, times(1)).save(argThat(saved -> saved.getSeq() == 5L));
+		verify(unreadService, times(1)).markRead(1L, 1L, comment.getSeq());
+	}
+
+	@Test
+	void testSaveReply() {
+		Comment parent = new Comment(author, task, "Parent", 0x1a);
+		parent.setId(10L);
+		when(userService.getByToken("author@example.com")).thenReturn(author);
+		when(taskService.getById(1L)).thenReturn(task);
+		when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+		when(taskService.nextCommentSeq(1L)).thenReturn(0x1bL);
+		when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		commentService.save("author@example.com", 1L, "Reply", 10L);
 
-		verify(commentRepository, times(1)).save(any(Comment.class));
+		verify(commentRepository, times(1)).save(argThat(saved -> saved.getParentId() == 10L
+				&& "00000000001a00000000001b".equals(saved.getPath())));
+	}
+
+	@Test
+	void testSaveReplyToOtherTaskThrowsResourceNotFoundException() {
+		Task other = new Task();
+		other.setId(2L);
+		Comment parent = new Comment(author, other, "Parent", 1);
+		when(userService.getByToken("author@example.com")).thenReturn(author);
+		when(taskService.getById(1L)).thenReturn(task);
+		when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+
+		assertThrows(ResourceNotFoundException.class, () ->
+				commentService.save("author@example.com", 1L, "Reply", 10L));
+		verify(commentRepository, never()).save(any(Comment.class));
+	}
+
+	@Test
+	void testGetSubtree() {
+		Comment root = new Comment(author, task, "Root", 3);
+		Comment reply = new Comment(author, task, "Reply", 4);
+		reply.replyTo(root);
+		reply.assignSeq(4);
+		when(commentRepository.findById(3L)).thenReturn(Optional.of(root));
+		when(commentRepository.findThread(1L, "000000000003", "000000000003g", "", Limit.of(2)))
+				.thenReturn(List.of(root, reply));
+
+		CommentThread result = commentService.getSubtree(3L, null, 1);
+
+		assertEquals(List.of(root), result.comments());
+		assertEquals("000000000003", result.cursor());
+		assertTrue(result.hasMore());
+	}
+
+	@Test
+	void testGetSubtreeThrowsResourceNotFoundException() {
+		when(commentRepository.findById(3L)).thenReturn(Optional.empty());
+
+		assertThrows(ResourceNotFoundException.class, () -> commentService.getSubtree(3L, null, 10));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testSaveGrouped() {
+		when(userService.getByToken("author@example.com")).thenReturn(author);
+		when(taskService.getById(1L)).thenReturn(task);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Comment>>getArgument(0).doInTransaction(null));
+		when(commentBatcher.submit(any(Comment.class))).thenReturn(CompletableFuture.completedFuture(comment));
+
+		Comment result = commentService.saveGrouped("author@example.com", 1L, "Test Comment", null);
+
+		assertSame(comment, result);
+		verify(commentBatcher, times(1)).submit(argThat(submitted ->
+				submitted.getTask() == task && "Test Comment".equals(submitted.getContent())));
+		verify(commentRepository, never()).save(any(Comment.class));
+	}
+
+	@Test
+	void testSaveGroupedRethrowsWriteFailure() {
+		when(userService.getByToken("author@example.com")).thenReturn(author);
+		when(taskService.getById(1L)).thenReturn(task);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Comment>>getArgument(0).doInTransaction(null));
+		when(commentBatcher.submit(any(Comment.class))).thenReturn(
+				CompletableFuture.failedFuture(new ResourceNotFoundException("Task with ID 1 not found")));
+
+		assertThrows(ResourceNotFoundException.class, () ->
+				commentService.saveGrouped("author@example.com", 1L, "Test Comment", null));
 	}
 
 	@Test
@@ -107,28 +327,31 @@ public class CommentServiceTest {
 				"password",
 				new ArrayList<>(),
 				new ArrayList<>(),
-				new ArrayList<>()
+				new ArrayList<>(),
+				null
 		);
 
 		when(userService.getByToken("nonauthor@example.com")).thenReturn(testUser);
 		when(taskService.getById(1L)).thenReturn(task);
 
 		assertThrows(AccessDeniedException.class, () ->
-				commentService.save("nonauthor@example.com", 1L, "Test Comment"));
+				commentService.save("nonauthor@example.com", 1L, "Test Comment", null));
 	}
 
 	@Test
 	void testDelete() {
-		when(commentRepository.existsById(1L)).thenReturn(true);
+		when(commentRepository.findTaskIdById(1L)).thenReturn(Optional.of(1L));
 
 		commentService.delete(1L);
 
-		verify(commentRepository, times(1)).deleteById(1L);
+		verify(commentRepository, times(1)).removeById(1L);
+		verify(syncService, times(1)).recordCommentDeletion(1L, 1L);
+		verify(versionService, times(1)).bumpComments(1L);
 	}
 
 	@Test
 	void testDeleteThrowsResourceNotFoundException() {
-		when(commentRepository.existsById(1L)).thenReturn(false);
+		when(commentRepository.findTaskIdById(1L)).thenReturn(Optional.empty());
 
 		assertThrows(ResourceNotFoundException.class, () -> commentService.delete(1L));
 	}
@@ -0,0 +1,113 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.CountProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.Count;
+import com.sarf.task_management_system.domain.models.TaskStats;
+import com.sarf.task_management_system.repositories.CommentRepository;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CountServiceTest {
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private CommentRepository commentRepository;
+
+	@Mock
+	private TaskStatsService taskStatsService;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Spy
+	private CountProperties properties = new CountProperties();
+
+	@InjectMocks
+	private CountService countService;
+
+	@Test
+	void testEstimatedTaskCountUsesCounters() {
+		when(taskStatsService.getByUser(5L)).thenReturn(new TaskStats(
+				5L,
+				Map.of(Status.TODO, 3L, Status.DONE, 1L, Status.IN_PROGRESS, 0L),
+				Map.of(Priority.LOW, 4L, Priority.MEDIUM, 0L, Priority.HIGH, 0L),
+				4L
+		));
+
+		Count count = countService.countTasks(Status.TODO, null, 5L, false);
+
+		assertEquals(new Count(3L, false), count);
+		verifyNoInteractions(taskRepository);
+	}
+
+	@Test
+	void testCombinedFiltersFallBackToExactCount() {
+		when(taskRepository.countFiltered(Status.TODO, Priority.HIGH, null)).thenReturn(7L);
+
+		Count count = countService.countTasks(Status.TODO, Priority.HIGH, null, false);
+
+		assertEquals(new Count(7L, true), count);
+		verifyNoInteractions(taskStatsService);
+	}
+
+	@Test
+	void testCommentCounts() {
+		when(taskRepository.findCommentCountById(1L)).thenReturn(Optional.of(12L));
+		when(commentRepository.countByTaskId(1L)).thenReturn(11L);
+		when(taskRepository.findCommentCountById(2L)).thenReturn(Optional.empty());
+
+		assertEquals(new Count(12L, false), countService.countComments(1L, false));
+		assertEquals(new Count(11L, true), countService.countComments(1L, true));
+		assertThrows(ResourceNotFoundException.class, () -> countService.countComments(2L, false));
+	}
+
+	@Test
+	void testAllCommentsEstimateUsesPlanner() {
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("comments"))).thenReturn(1000L);
+
+		assertEquals(new Count(1000L, false), countService.countAllComments(false));
+	}
+
+	@Test
+	void testReconcileCommentCountsWalksTasksInLockedBatches() {
+		properties.setReconcileBatchSize(2);
+		when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+		when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(Long.class), eq(Long.MIN_VALUE), eq(2)))
+				.thenReturn(List.of(1L, 4L));
+		when(jdbcTemplate.queryForList(contains("FOR UPDATE SKIP LOCKED"), eq(Long.class), eq(4L), eq(2)))
+				.thenReturn(List.of(9L));
+		when(jdbcTemplate.update(contains("comment_count"), any(PreparedStatementSetter.class))).thenReturn(1, 0);
+
+		int fixed = countService.reconcileCommentCounts();
+
+		assertEquals(1, fixed);
+		verify(transactionTemplate, times(2)).execute(any());
+	}
+}
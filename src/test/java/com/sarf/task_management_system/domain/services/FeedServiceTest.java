@@ -0,0 +1,110 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.FeedProperties;
+import com.sarf.task_management_system.domain.enums.FeedEntryType;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.FeedEntry;
+import com.sarf.task_management_system.domain.models.FeedPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FeedServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Spy
+	private FeedProperties properties = new FeedProperties();
+
+	@InjectMocks
+	private FeedService feedService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testProjectFansOutToAuthorAndAssignee() {
+		Instant now = Instant.now();
+		List<DomainEvent> events = List.of(
+				new CommentAdded(5L, 10L, 1L, 10L, 20L, now),
+				new TaskStatusChanged(2L, 30L, 30L, Priority.HIGH, Status.TODO, Status.DONE, 30L, now),
+				new TaskStatusChanged(3L, 30L, 20L, Priority.LOW, Status.TODO, Status.TODO, 30L, now),
+				new TaskReassigned(1L, 10L, 30L, Priority.HIGH, Status.IN_PROGRESS, 20L, 10L, now)
+		);
+
+		feedService.project(events);
+
+		ArgumentCaptor<List<?>> captor = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture(), eq(3),
+				any(ParameterizedPreparedStatementSetter.class));
+		assertEquals(3, captor.getValue().size());
+	}
+
+	@Test
+	void testProjectWithoutFeedEvents() {
+		feedService.project(List.of(
+				new TaskReassigned(1L, 10L, 30L, Priority.HIGH, Status.IN_PROGRESS, 20L, 10L, Instant.now())
+		));
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGetFeedPage() {
+		List<FeedEntry> rows = new ArrayList<>();
+		for (long id = 9; id >= 7; id--) {
+			rows.add(new FeedEntry(id, FeedEntryType.COMMENT, 1L, 10L, id, "Comment", null, null, Instant.now()));
+		}
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(10L), eq(3))).thenReturn(rows);
+
+		FeedPage page = feedService.getFeed(1L, 10L, 2);
+
+		assertEquals(2, page.entries().size());
+		assertEquals(8L, page.cursor());
+		assertTrue(page.hasMore());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testGetFeedFirstPage() {
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(Long.MAX_VALUE), eq(51)))
+				.thenReturn(List.of());
+
+		FeedPage page = feedService.getFeed(1L, null, 50);
+
+		assertTrue(page.entries().isEmpty());
+		assertNull(page.cursor());
+		assertFalse(page.hasMore());
+	}
+
+	@Test
+	void testCleanupDeletesInBatches() {
+		properties.setCleanupBatchSize(2);
+		when(jdbcTemplate.update(anyString(), any(Object.class), eq(2))).thenReturn(2, 1);
+
+		feedService.cleanup();
+
+		verify(jdbcTemplate, times(2)).update(anyString(), any(Object.class), eq(2));
+	}
+}
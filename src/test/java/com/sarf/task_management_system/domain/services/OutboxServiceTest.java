@@ -0,0 +1,222 @@
+package com.sarf.task_management_system.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sarf.task_management_system.config.OutboxProperties;
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.DomainEvent;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.OutboxMessage;
+import com.sarf.task_management_system.domain.outbox.OutboxProjection;
+import com.sarf.task_management_system.domain.outbox.OutboxSink;
+import com.sarf.task_management_system.repositories.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxServiceTest {
+
+	@Mock
+	private OutboxRepository outboxRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private OutboxSink sink;
+
+	@Mock
+	private OutboxProjection projection;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private ObjectMapper objectMapper;
+
+	private OutboxProperties properties;
+
+	private OutboxService outboxService;
+
+	private OutboxMessage message;
+
+	@BeforeEach
+	void setUp() {
+		properties = new OutboxProperties();
+		objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+		outboxService = new OutboxService(
+				outboxRepository,
+				jdbcTemplate,
+				sink,
+				List.of(projection),
+				properties,
+				objectMapper,
+				transactionTemplate
+		);
+		message = new OutboxMessage("TaskCreated", 1L, "{}", Instant.now());
+		message.setId(1L);
+
+		lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+		lenient().doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+	}
+
+	@Test
+	void testEnqueue() {
+		outboxService.enqueue(new TaskCreated(1L, 2L, 3L, Priority.HIGH, Status.TODO, Instant.now()));
+
+		ArgumentCaptor<OutboxMessage> captor = ArgumentCaptor.forClass(OutboxMessage.class);
+		verify(outboxRepository, times(1)).save(captor.capture());
+		assertEquals("TaskCreated", captor.getValue().getEventType());
+		assertEquals(1L, captor.getValue().getTaskId());
+		assertTrue(captor.getValue().getPayload().contains("\"priority\":\"HIGH\""));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchMarksDelivered() throws Exception {
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(message));
+
+		assertEquals(1, outboxService.dispatch());
+
+		verify(sink, times(1)).deliver(message);
+		verify(jdbcTemplate, times(1)).update(contains("delivered_at = ?"), any(PreparedStatementSetter.class));
+		verify(jdbcTemplate, never()).update(contains("attempts = ?"), any(PreparedStatementSetter.class));
+		assertNotNull(message.getDeliveredAt());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchDeliversOutsideTransaction() throws Exception {
+		boolean[] inTransaction = new boolean[1];
+		doAnswer(invocation -> {
+			inTransaction[0] = true;
+			try {
+				return ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null);
+			} finally {
+				inTransaction[0] = false;
+			}
+		}).when(transactionTemplate).execute(any());
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(message));
+		doAnswer(invocation -> {
+			assertFalse(inTransaction[0]);
+			assertTrue(message.getNextAttemptAt().isAfter(Instant.now().plus(properties.getClaimTimeout()).minusSeconds(5)));
+			return null;
+		}).when(sink).deliver(message);
+
+		outboxService.dispatch();
+
+		verify(transactionTemplate, times(1)).execute(any());
+		verify(transactionTemplate, times(1)).executeWithoutResult(any());
+		verify(sink, times(1)).deliver(message);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchMovesToDeadLettersAfterMaxAttempts() throws Exception {
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(message));
+		doThrow(new IllegalStateException("sink is down")).when(sink).deliver(message);
+		properties.setMaxAttempts(3);
+		message.setAttempts(2);
+
+		outboxService.dispatch();
+
+		assertEquals(3, message.getAttempts());
+		assertNotNull(message.getDeadAt());
+		assertNull(message.getDeliveredAt());
+		verify(jdbcTemplate, times(1)).update(contains("attempts = ?"), any(PreparedStatementSetter.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchSchedulesRetryWithBackoff() throws Exception {
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(message));
+		doThrow(new IllegalStateException("sink is down")).when(sink).deliver(message);
+
+		outboxService.dispatch();
+		Instant firstRetry = message.getNextAttemptAt();
+		outboxService.dispatch();
+
+		assertNull(message.getDeliveredAt());
+		assertEquals(2, message.getAttempts());
+		assertEquals("sink is down", message.getLastError());
+		assertTrue(Duration.between(firstRetry, message.getNextAttemptAt()).compareTo(Duration.ZERO) > 0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchProjectsEventOnceAcrossRetries() throws Exception {
+		TaskStatusChanged event = new TaskStatusChanged(
+				1L, 2L, 3L, Priority.HIGH, Status.TODO, Status.IN_PROGRESS, 2L, Instant.parse("2026-01-01T00:00:00Z")
+		);
+		OutboxMessage changed = new OutboxMessage("TaskStatusChanged", 1L, objectMapper.writeValueAsString(event), Instant.now());
+		changed.setId(2L);
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(changed));
+		doThrow(new IllegalStateException("sink is down")).when(sink).deliver(changed);
+
+		outboxService.dispatch();
+		outboxService.dispatch();
+
+		verify(projection, times(1)).project(List.<DomainEvent>of(event));
+		assertNotNull(changed.getProjectedAt());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDispatchSkipsProjectionOfUnknownEvent() {
+		OutboxMessage unknown = new OutboxMessage("TaskRenamed", 1L, "{}", Instant.now());
+		unknown.setId(3L);
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(unknown));
+
+		outboxService.dispatch();
+
+		verifyNoInteractions(projection);
+		assertNotNull(unknown.getProjectedAt());
+		assertNotNull(unknown.getDeliveredAt());
+	}
+
+	@Test
+	void testDispatchRecordsOneUpdatePerOutcome() throws Exception {
+		OutboxMessage second = new OutboxMessage("TaskCreated", 2L, "{}", Instant.now());
+		second.setId(2L);
+		OutboxMessage third = new OutboxMessage("TaskCreated", 3L, "{}", Instant.now());
+		third.setId(3L);
+		when(outboxRepository.lockPending(any(), anyInt())).thenReturn(List.of(message, second, third));
+		doAnswer(invocation -> {
+			if (invocation.<OutboxMessage>getArgument(0).getId() != message.getId()) {
+				throw new IllegalStateException("sink is down");
+			}
+			return null;
+		}).when(sink).deliver(any());
+
+		assertEquals(3, outboxService.dispatch());
+
+		verify(jdbcTemplate, times(1)).update(contains("delivered_at = ?"), any(PreparedStatementSetter.class));
+		verify(jdbcTemplate, times(1)).update(contains("attempts = ?"), any(PreparedStatementSetter.class));
+		assertEquals(second.getNextAttemptAt(), third.getNextAttemptAt());
+	}
+}
@@ -0,0 +1,104 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.CommentAttribute;
+import com.sarf.task_management_system.domain.enums.TaskAttribute;
+import com.sarf.task_management_system.domain.models.SparsePage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SparseFieldsServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private SparseFieldsService sparseFieldsService;
+
+	@Test
+	void testParseTaskFields() {
+		assertEquals(EnumSet.of(TaskAttribute.ID, TaskAttribute.STATUS, TaskAttribute.ASSIGNEE_ID),
+				SparseFieldsService.parseTaskFields("status, id,assigneeId"));
+		assertThrows(IllegalArgumentException.class, () -> SparseFieldsService.parseTaskFields("id,password"));
+		assertThrows(IllegalArgumentException.class, () -> SparseFieldsService.parseTaskFields(" , "));
+	}
+
+	@Test
+	void testKeyOfIgnoresOrder() {
+		assertEquals(SparseFieldsService.keyOf(SparseFieldsService.parseTaskFields("id,title")),
+				SparseFieldsService.keyOf(SparseFieldsService.parseTaskFields("title,id")));
+		assertNotEquals(SparseFieldsService.keyOf(SparseFieldsService.parseTaskFields("id")),
+				SparseFieldsService.keyOf(SparseFieldsService.parseTaskFields("title")));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testTasksWithoutAuthorSkipUserJoin() throws Exception {
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		ArgumentCaptor<RowMapper<Map<String, Object>>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+		when(jdbcTemplate.query(sql.capture(), mapper.capture(), eq(5L))).thenReturn(List.of());
+
+		sparseFieldsService.getTasksByAuthor(5L, SparseFieldsService.parseTaskFields("id,title,status"));
+
+		assertEquals("SELECT t.id, t.title, t.status FROM tasks t WHERE t.author_id = ?", sql.getValue());
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("id")).thenReturn(1L);
+		when(rs.getString("title")).thenReturn("Title");
+		when(rs.getString("status")).thenReturn("TODO");
+		assertEquals(Map.of("id", 1L, "title", "Title", "status", "TODO"), mapper.getValue().mapRow(rs, 0));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testTasksWithAuthorJoinUsers() {
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		when(jdbcTemplate.query(sql.capture(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+		sparseFieldsService.getAllTasks(SparseFieldsService.parseTaskFields("id,author"));
+
+		assertTrue(sql.getValue().contains("LEFT JOIN users au ON au.id = t.author_id"));
+		assertFalse(sql.getValue().contains("t.assignee_id"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testCommentsByTaskPage() throws Exception {
+		Set<CommentAttribute> fields = SparseFieldsService.parseCommentFields("content");
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("page_cursor")).thenReturn(9L, 8L, 7L);
+		when(rs.getString("content")).thenReturn("Comment");
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(10L), eq(3))).thenAnswer(invocation -> {
+			RowMapper<Map<String, Object>> mapper = invocation.getArgument(1);
+			List<Map<String, Object>> rows = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				rows.add(mapper.mapRow(rs, i));
+			}
+			return rows;
+		});
+
+		SparsePage page = sparseFieldsService.getCommentsByTask(1L, 10L, null, 2, fields);
+
+		assertEquals(List.of(Map.of("content", "Comment"), Map.of("content", "Comment")), page.items());
+		assertEquals(8L, page.cursor());
+		assertTrue(page.hasMore());
+		verify(jdbcTemplate).query(contains("c.task_id = ? AND c.seq < ? ORDER BY c.seq DESC LIMIT ?"),
+				any(RowMapper.class), eq(1L), eq(10L), eq(3));
+	}
+}
@@ -0,0 +1,212 @@
+package com.sarf.task_management_system.domain.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.sarf.task_management_system.config.SyncProperties;
+import com.sarf.task_management_system.domain.enums.EntityType;
+import com.sarf.task_management_system.domain.models.ChangeSet;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.models.Tombstone;
+import com.sarf.task_management_system.repositories.CommentRepository;
+import com.sarf.task_management_system.repositories.TaskRepository;
+import com.sarf.task_management_system.repositories.TombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class SyncServiceTest {
+
+	@Mock
+	private TaskRepository taskRepository;
+
+	@Mock
+	private CommentRepository commentRepository;
+
+	@Mock
+	private TombstoneRepository tombstoneRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Spy
+	private SyncProperties properties = new SyncProperties();
+
+	@InjectMocks
+	private SyncService syncService;
+
+	@Test
+	void testGetChangesReturnsEverythingWhenUnderLimit() throws SQLException {
+		advanceHorizonTo(100);
+		when(taskRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(task(2)));
+		when(commentRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(comment(5)));
+		when(tombstoneRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(tombstone(3)));
+
+		ChangeSet changes = syncService.getChanges(1L, false, 0, 10);
+
+		assertEquals(1, changes.tasks().size());
+		assertEquals(1, changes.comments().size());
+		assertEquals(1, changes.tombstones().size());
+		assertEquals(5, changes.cursor());
+		assertFalse(changes.hasMore());
+	}
+
+	@Test
+	void testGetChangesCutsMergedStreamAtLimit() throws SQLException {
+		advanceHorizonTo(100);
+		when(taskRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(task(1), task(4)));
+		when(commentRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(comment(2), comment(5)));
+		when(tombstoneRepository.findChanges(eq(0L), eq(100L), eq(1L), eq(false), any())).thenReturn(List.of(tombstone(3)));
+
+		ChangeSet changes = syncService.getChanges(1L, false, 0, 3);
+
+		assertEquals(3, changes.cursor());
+		assertEquals(1, changes.tasks().size());
+		assertEquals(1, changes.comments().size());
+		assertEquals(1, changes.tombstones().size());
+		assertTrue(changes.hasMore());
+	}
+
+	@Test
+	void testGetChangesKeepsCursorWhenNothingChanged() {
+		when(taskRepository.findChanges(eq(7L), eq(0L), eq(1L), eq(true), any())).thenReturn(List.of());
+		when(commentRepository.findChanges(eq(7L), eq(0L), eq(1L), eq(true), any())).thenReturn(List.of());
+		when(tombstoneRepository.findChanges(eq(7L), eq(0L), eq(1L), eq(true), any())).thenReturn(List.of());
+
+		ChangeSet changes = syncService.getChanges(1L, true, 7, 10);
+
+		assertEquals(7, changes.cursor());
+		assertFalse(changes.hasMore());
+	}
+
+	@Test
+	void testHorizonWaitsForTransactionsInFlight() throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("last_seq")).thenReturn(10L, 12L, 12L);
+		when(rs.getLong("xmin")).thenReturn(50L, 55L, 61L);
+		when(rs.getLong("xmax")).thenReturn(60L, 61L, 62L);
+		stubHorizon(rs);
+
+		syncService.advanceHorizon();
+		syncService.advanceHorizon();
+		syncService.getChanges(1L, false, 0, 10);
+		syncService.advanceHorizon();
+		syncService.getChanges(1L, false, 0, 10);
+
+		verify(taskRepository, times(1)).findChanges(eq(0L), eq(0L), eq(1L), eq(false), any());
+		verify(taskRepository, times(1)).findChanges(eq(0L), eq(10L), eq(1L), eq(false), any());
+	}
+
+	@Test
+	void testGetChangesRequestsResetBehindPrunedTombstones() {
+		when(jdbcTemplate.queryForList(anyString(), eq(Long.class))).thenReturn(List.of(50L));
+
+		ChangeSet changes = syncService.getChanges(1L, false, 10, 10);
+
+		assertTrue(changes.reset());
+		assertEquals(0, changes.cursor());
+		verifyNoInteractions(taskRepository, commentRepository, tombstoneRepository);
+	}
+
+	@Test
+	void testPruneTombstonesDrainsInBatches() {
+		properties.setCleanupBatchSize(2);
+		when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), eq(2))).thenReturn(2L, 1L);
+
+		syncService.pruneTombstones();
+
+		verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class), any(), eq(2));
+	}
+
+	@Test
+	void testRecordTaskRevocationIsVisibleOnlyToFormerAssignee() {
+		syncService.recordTaskRevocation(task(4), 2L);
+
+		verify(tombstoneRepository, times(1)).save(argThat(tombstone ->
+				tombstone.getEntityType() == EntityType.TASK_ACCESS
+						&& tombstone.getTaskId() == 4L
+						&& tombstone.getAssigneeId() == 2L
+						&& tombstone.getAuthorId() == null));
+	}
+
+	@Test
+	void testReassignedTaskIsSyncedWithGrantForOldComments() throws SQLException {
+		syncService.recordTaskGrant(task(4), 3L);
+		verify(tombstoneRepository, times(1)).save(argThat(tombstone ->
+				tombstone.getEntityType() == EntityType.TASK_GRANT
+						&& tombstone.getTaskId() == 4L
+						&& tombstone.getAssigneeId() == 3L));
+
+		Tombstone grant = tombstone(61);
+		grant.setEntityType(EntityType.TASK_GRANT);
+		grant.setTaskId(4L);
+		advanceHorizonTo(100);
+		when(taskRepository.findChanges(eq(50L), eq(100L), eq(3L), eq(false), any())).thenReturn(List.of(task(60)));
+		when(commentRepository.findChanges(eq(50L), eq(100L), eq(3L), eq(false), any())).thenReturn(List.of());
+		when(tombstoneRepository.findChanges(eq(50L), eq(100L), eq(3L), eq(false), any())).thenReturn(List.of(grant));
+
+		ChangeSet changes = syncService.getChanges(3L, false, 50, 10);
+
+		assertEquals(1, changes.tasks().size());
+		assertTrue(changes.comments().isEmpty());
+		assertEquals(List.of(grant), changes.tombstones());
+		assertEquals(61, changes.cursor());
+	}
+
+	@Test
+	void testRecordCommentDeletion() {
+		syncService.recordCommentDeletion(3L, 1L);
+
+		verify(tombstoneRepository, times(1)).insertCommentTombstone(3L, 1L);
+	}
+
+	private void advanceHorizonTo(final long seq) throws SQLException {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("last_seq")).thenReturn(seq);
+		when(rs.getLong("xmin")).thenReturn(100L);
+		when(rs.getLong("xmax")).thenReturn(100L);
+		stubHorizon(rs);
+		syncService.advanceHorizon();
+		syncService.advanceHorizon();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubHorizon(final ResultSet rs) {
+		when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenAnswer(invocation ->
+				invocation.<RowMapper<?>>getArgument(1).mapRow(rs, 0));
+	}
+
+	private static Task task(long seq) {
+		Task task = new Task();
+		task.setId(seq);
+		task.setChangeSeq(seq);
+		return task;
+	}
+
+	private static Comment comment(long seq) {
+		Comment comment = new Comment(seq, null, task(1), "Test Comment");
+		comment.setChangeSeq(seq);
+		return comment;
+	}
+
+	private static Tombstone tombstone(long seq) {
+		Tombstone tombstone = new Tombstone(EntityType.TASK, seq, task(seq));
+		tombstone.setChangeSeq(seq);
+		return tombstone;
+	}
+}
@@ -0,0 +1,123 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.TaskDetailProperties;
+import com.sarf.task_management_system.domain.exceptions.DeadlineExceededException;
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.CommentPage;
+import com.sarf.task_management_system.domain.models.Task;
+import com.sarf.task_management_system.domain.models.TaskDetail;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskDetailServiceTest {
+
+	@Mock
+	private TaskService taskService;
+
+	@Mock
+	private CommentService commentService;
+
+	@Mock
+	private UnreadService unreadService;
+
+	@Spy
+	private TaskDetailProperties properties = new TaskDetailProperties();
+
+	@InjectMocks
+	private TaskDetailService taskDetailService;
+
+	@Test
+	void testGetDetail() {
+		Task task = new Task();
+		task.setId(1L);
+		CommentPage comments = new CommentPage(List.of(), null, false);
+		when(taskService.getById(1L)).thenReturn(task);
+		when(commentService.getByTask(1L, null, null, 20)).thenReturn(comments);
+		when(unreadService.getUnread(2L, 1L)).thenReturn(3L);
+
+		TaskDetail detail = taskDetailService.getDetail(1L, 2L);
+
+		assertSame(task, detail.task());
+		assertSame(comments, detail.comments());
+		assertEquals(3L, detail.unread());
+	}
+
+	@Test
+	void testGetDetailRunsSubFetchesConcurrently() {
+		properties.setTimeout(Duration.ofSeconds(5));
+		CountDownLatch started = new CountDownLatch(3);
+		when(taskService.getById(1L)).thenAnswer(invocation -> arrive(started, new Task()));
+		when(commentService.getByTask(1L, null, null, 20))
+				.thenAnswer(invocation -> arrive(started, new CommentPage(List.of(), null, false)));
+		when(unreadService.getUnread(2L, 1L)).thenAnswer(invocation -> arrive(started, 0L));
+
+		assertNotNull(taskDetailService.getDetail(1L, 2L));
+	}
+
+	@Test
+	void testGetDetailTaskNotFound() {
+		when(taskService.getById(1L)).thenThrow(new ResourceNotFoundException("Task with ID 1 not found"));
+		lenient().when(commentService.getByTask(1L, null, null, 20)).thenReturn(new CommentPage(List.of(), null, false));
+
+		assertThrows(ResourceNotFoundException.class, () -> taskDetailService.getDetail(1L, 2L));
+	}
+
+	@Test
+	void testGetDetailDeadlineExceeded() {
+		properties.setTimeout(Duration.ofMillis(50));
+		lenient().when(taskService.getById(1L)).thenReturn(new Task());
+		lenient().when(commentService.getByTask(1L, null, null, 20)).thenAnswer(invocation -> {
+			Thread.sleep(5000);
+			return new CommentPage(List.of(), null, false);
+		});
+
+		assertThrows(DeadlineExceededException.class, () -> taskDetailService.getDetail(1L, 2L));
+	}
+
+	@Test
+	void testGetDetailFirstFailureCancelsSlowerFetches() throws InterruptedException {
+		properties.setTimeout(Duration.ofSeconds(5));
+		CountDownLatch interrupted = new CountDownLatch(1);
+		when(commentService.getByTask(1L, null, null, 20)).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(5000);
+			} catch (InterruptedException exception) {
+				interrupted.countDown();
+				throw exception;
+			}
+			return new CommentPage(List.of(), null, false);
+		});
+		when(taskService.getById(1L)).thenAnswer(invocation -> {
+			Thread.sleep(50);
+			throw new ResourceNotFoundException("Task with ID 1 not found");
+		});
+		lenient().when(unreadService.getUnread(2L, 1L)).thenReturn(0L);
+
+		long started = System.nanoTime();
+		assertThrows(ResourceNotFoundException.class, () -> taskDetailService.getDetail(1L, 2L));
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+		assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+	}
+
+	private static <T> T arrive(final CountDownLatch started, final T result) throws InterruptedException {
+		started.countDown();
+		if (!started.await(2, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("Sub-fetches did not run concurrently");
+		}
+		return result;
+	}
+}
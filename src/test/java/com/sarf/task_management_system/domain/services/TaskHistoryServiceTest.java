@@ -0,0 +1,88 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.enums.TaskField;
+import com.sarf.task_management_system.domain.events.CommentAdded;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.TaskHistoryEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskHistoryServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private TaskHistoryService taskHistoryService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testProjectWritesStatusChange() {
+		taskHistoryService.project(List.of(
+				new TaskStatusChanged(1L, 10L, 20L, Priority.HIGH, Status.TODO, Status.IN_PROGRESS, 10L, Instant.now())
+		));
+
+		ArgumentCaptor<List<TaskHistoryEntry>> captor = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture(), eq(1),
+				any(ParameterizedPreparedStatementSetter.class));
+		TaskHistoryEntry entry = captor.getValue().getFirst();
+		assertEquals(TaskField.STATUS, entry.field());
+		assertEquals("TODO", entry.oldValue());
+		assertEquals("IN_PROGRESS", entry.newValue());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testProjectWritesReassignment() {
+		taskHistoryService.project(List.of(
+				new TaskReassigned(1L, 10L, 30L, Priority.HIGH, Status.IN_PROGRESS, 20L, 10L, Instant.now())
+		));
+
+		ArgumentCaptor<List<TaskHistoryEntry>> captor = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture(), eq(1),
+				any(ParameterizedPreparedStatementSetter.class));
+		TaskHistoryEntry entry = captor.getValue().getFirst();
+		assertEquals(TaskField.ASSIGNEE, entry.field());
+		assertEquals("20", entry.oldValue());
+		assertEquals("30", entry.newValue());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testProjectWritesWholeBatchAtOnce() {
+		taskHistoryService.project(List.of(
+				new TaskStatusChanged(1L, 10L, 20L, Priority.HIGH, Status.TODO, Status.IN_PROGRESS, 10L, Instant.now()),
+				new TaskReassigned(2L, 10L, 30L, Priority.LOW, Status.TODO, 20L, 10L, Instant.now())
+		));
+
+		verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), eq(2),
+				any(ParameterizedPreparedStatementSetter.class));
+	}
+
+	@Test
+	void testProjectSkipsUnchangedStatusAndOtherEvents() {
+		taskHistoryService.project(List.of(
+				new TaskStatusChanged(1L, 10L, 20L, Priority.HIGH, Status.DONE, Status.DONE, 10L, Instant.now()),
+				new CommentAdded(5L, 10L, 1L, 10L, 30L, Instant.now())
+		));
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+}
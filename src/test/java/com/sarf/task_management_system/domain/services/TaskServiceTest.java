@@ -7,9 +7,15 @@ import static org.mockito.Mockito.*;
 import java.util.List;
 import java.util.Optional;
 
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
 import com.sarf.task_management_system.domain.enums.Priority;
 import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.exceptions.AccessDeniedException;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.locks.TaskLocks;
 import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.domain.models.ApplicationUser;
 import com.sarf.task_management_system.domain.services.TaskService;
@@ -22,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskServiceTest {
@@ -32,6 +39,24 @@ public class TaskServiceTest {
 	@Mock
 	private UserService userService;
 
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private SyncService syncService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private AssignmentService assignmentService;
+
+	@Mock
+	private TaskLocks taskLocks;
+
+	@Mock
+	private RecentCommentCache recentComments;
+
 	@InjectMocks
 	private TaskService taskService;
 
@@ -125,6 +150,84 @@ public class TaskServiceTest {
 		taskService.save(taskRequest);
 
 		verify(taskRepository, times(1)).save(any(Task.class));
+		verify(eventPublisher, times(1)).publishEvent(any(TaskCreated.class));
+	}
+
+	@Test
+	void testSaveWithAutoAssignUsesLeastLoadedUser() {
+		ApplicationUser chosen = new ApplicationUser();
+		chosen.setId(9L);
+		when(userService.getByEmail("author@example.com")).thenReturn(author);
+		when(assignmentService.assign(Priority.HIGH, Status.TODO)).thenReturn(Optional.of(9L));
+		when(userService.getById(9L)).thenReturn(chosen);
+		when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		taskService.save(taskRequest, true);
+
+		verify(taskRepository, times(1)).save(argThat(saved -> saved.getAssignee() == chosen));
+		verify(userService, never()).getByEmail("assignee@example.com");
+	}
+
+	@Test
+	void testUpdateStatusPublishesStatusChange() {
+		author.setId(7L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+		taskService.update(1L, Status.IN_PROGRESS, null, 7L, false);
+
+		assertEquals(Status.IN_PROGRESS, task.getStatus());
+		verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+				event instanceof TaskStatusChanged changed
+						&& changed.oldStatus() == Status.TODO
+						&& changed.actorId() == 7L));
+		verify(eventPublisher, never()).publishEvent(any(TaskReassigned.class));
+	}
+
+	@Test
+	void testUpdateAssigneePublishesReassignment() {
+		ApplicationUser newAssignee = new ApplicationUser();
+		newAssignee.setId(3L);
+		assignee.setId(2L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+		when(userService.getByEmail("new@example.com")).thenReturn(newAssignee);
+
+		taskService.update(1L, null, "new@example.com", 7L, true);
+
+		assertEquals(Status.TODO, task.getStatus());
+		assertSame(newAssignee, task.getAssignee());
+		verify(syncService, times(1)).recordTaskRevocation(task, 2L);
+		verify(syncService, times(1)).recordTaskGrant(task, 3L);
+		verify(eventPublisher, times(1)).publishEvent(argThat((Object event) ->
+				event instanceof TaskReassigned reassigned
+						&& reassigned.oldAssigneeId() == 2L
+						&& reassigned.taskAssigneeId() == 3L));
+		verify(eventPublisher, never()).publishEvent(any(TaskStatusChanged.class));
+	}
+
+	@Test
+	void testUpdateByOutsiderIsDenied() {
+		author.setId(7L);
+		assignee.setId(2L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+		assertThrows(AccessDeniedException.class,
+				() -> taskService.update(1L, null, "new@example.com", 8L, false));
+
+		assertSame(assignee, task.getAssignee());
+		verify(userService, never()).getByEmail(any());
+		verify(taskRepository, never()).save(any(Task.class));
+		verify(eventPublisher, never()).publishEvent(any());
+	}
+
+	@Test
+	void testCheckAccessAllowsAssigneeAndAdmin() {
+		author.setId(7L);
+		assignee.setId(2L);
+		when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+		assertDoesNotThrow(() -> taskService.checkAccess(1L, 2L, false));
+		assertDoesNotThrow(() -> taskService.checkAccess(1L, 8L, true));
+		assertThrows(AccessDeniedException.class, () -> taskService.checkAccess(1L, 8L, false));
 	}
 
 	@Test
@@ -133,7 +236,11 @@ public class TaskServiceTest {
 
 		taskService.delete(1L);
 
-		verify(taskRepository, times(1)).delete(task);
+		verify(taskRepository, times(1)).deleteCommentsByTaskId(1L);
+		verify(taskRepository, times(1)).removeById(1L);
+		verify(taskRepository, never()).delete(any(Task.class));
+		verify(syncService, times(1)).recordTaskDeletion(task);
+		verify(recentComments, times(1)).invalidate(1L);
 	}
 
 	@Test
@@ -142,4 +249,20 @@ public class TaskServiceTest {
 
 		assertThrows(ResourceNotFoundException.class, () -> taskService.delete(1L));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testNextCommentSeq() {
+		when(taskRepository.incrementCommentSeq(1L, 1)).thenReturn(1);
+		when(taskRepository.findCommentSeqById(1L)).thenReturn(Optional.of(8L));
+
+		assertEquals(8L, taskService.nextCommentSeq(1L));
+	}
+
+	@Test
+	void testNextCommentSeqThrowsResourceNotFoundException() {
+		when(taskRepository.incrementCommentSeq(1L, 1)).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> taskService.nextCommentSeq(1L));
+		verify(taskRepository, never()).findCommentSeqById(1L);
+	}
+}
@@ -0,0 +1,152 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.enums.Priority;
+import com.sarf.task_management_system.domain.enums.Status;
+import com.sarf.task_management_system.domain.events.TaskCreated;
+import com.sarf.task_management_system.domain.events.TaskDeleted;
+import com.sarf.task_management_system.domain.events.TaskReassigned;
+import com.sarf.task_management_system.domain.events.TaskStatusChanged;
+import com.sarf.task_management_system.domain.models.TaskStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskStatsServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private TaskStatsService taskStatsService;
+
+	@Test
+	void testCountersFollowTaskLifecycle() {
+		Instant now = Instant.now();
+		taskStatsService.onEvents(List.of(
+				new TaskCreated(1L, 10L, 20L, Priority.HIGH, Status.TODO, now),
+				new TaskCreated(2L, 10L, 20L, Priority.LOW, Status.TODO, now),
+				new TaskStatusChanged(1L, 10L, 20L, Priority.HIGH, Status.TODO, Status.IN_PROGRESS, 20L, now),
+				new TaskReassigned(2L, 10L, 30L, Priority.LOW, Status.TODO, 20L, 10L, now)
+		));
+
+		TaskStats first = taskStatsService.getByUser(20L);
+		assertEquals(1, first.total());
+		assertEquals(1, first.byStatus().get(Status.IN_PROGRESS));
+		assertEquals(0, first.byStatus().get(Status.TODO));
+		assertEquals(1, first.byPriority().get(Priority.HIGH));
+		assertEquals(0, first.byPriority().get(Priority.LOW));
+
+		TaskStats second = taskStatsService.getByUser(30L);
+		assertEquals(1, second.byStatus().get(Status.TODO));
+		assertEquals(1, second.byPriority().get(Priority.LOW));
+
+		taskStatsService.onEvent(new TaskDeleted(2L, 10L, 30L, Priority.LOW, Status.TODO, now));
+		assertEquals(0, taskStatsService.getByUser(30L).total());
+		assertEquals(1, taskStatsService.getAll().size());
+	}
+
+	@Test
+	void testReconcileReplacesCounters() throws SQLException {
+		taskStatsService.onEvent(new TaskCreated(1L, 10L, 20L, Priority.HIGH, Status.TODO, Instant.now()));
+		stubCounts("100:100:", null,
+				new Object[]{20L, Status.DONE, Priority.MEDIUM, 3L},
+				new Object[]{40L, Status.TODO, Priority.LOW, 2L},
+				new Object[]{null, Status.TODO, Priority.LOW, 4L}
+		);
+
+		taskStatsService.reconcile();
+
+		TaskStats stats = taskStatsService.getByUser(20L);
+		assertEquals(3, stats.total());
+		assertEquals(0, stats.byStatus().get(Status.TODO));
+		assertEquals(3, stats.byPriority().get(Priority.MEDIUM));
+		assertEquals(2, taskStatsService.getByUser(40L).total());
+		assertEquals(0, taskStatsService.getByUser(50L).total());
+		assertEquals(9, taskStatsService.getTotal().total());
+		assertEquals(6, taskStatsService.getTotal().byStatus().get(Status.TODO));
+	}
+
+	@Test
+	void testReconcileSkipsEventsVisibleInSnapshot() throws SQLException {
+		Instant now = Instant.now();
+		stubCounts("100:105:102", null, new Object[]{20L, Status.TODO, Priority.HIGH, 1L});
+
+		taskStatsService.reconcile();
+		taskStatsService.onEvents(
+				List.of(
+						new TaskCreated(1L, 10L, 20L, Priority.HIGH, Status.TODO, now),
+						new TaskCreated(2L, 10L, 20L, Priority.HIGH, Status.TODO, now),
+						new TaskCreated(3L, 10L, 20L, Priority.LOW, Status.TODO, now),
+						new TaskCreated(4L, 10L, 20L, Priority.LOW, Status.TODO, now),
+						new TaskCreated(5L, 10L, 20L, Priority.MEDIUM, Status.TODO, now)
+				),
+				new long[]{99, 103, 102, 105, 0}
+		);
+
+		TaskStats stats = taskStatsService.getByUser(20L);
+		assertEquals(4, stats.total());
+		assertEquals(1, stats.byPriority().get(Priority.HIGH));
+		assertEquals(2, stats.byPriority().get(Priority.LOW));
+		assertEquals(1, stats.byPriority().get(Priority.MEDIUM));
+	}
+
+	@Test
+	void testReconcileReplaysEventsAppliedDuringQuery() throws SQLException {
+		Instant now = Instant.now();
+		stubCounts("100:102:", () -> taskStatsService.onEvents(
+				List.of(
+						new TaskCreated(1L, 10L, 20L, Priority.HIGH, Status.TODO, now),
+						new TaskCreated(2L, 10L, 20L, Priority.LOW, Status.TODO, now)
+				),
+				new long[]{101, 103}
+		), new Object[]{20L, Status.TODO, Priority.HIGH, 1L});
+
+		taskStatsService.reconcile();
+
+		TaskStats stats = taskStatsService.getByUser(20L);
+		assertEquals(2, stats.total());
+		assertEquals(1, stats.byPriority().get(Priority.HIGH));
+		assertEquals(1, stats.byPriority().get(Priority.LOW));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubCounts(final String snapshot, final Runnable duringQuery, final Object[]... rows) throws SQLException {
+		List<ResultSet> resultSets = new ArrayList<>();
+		for (Object[] row : rows) {
+			ResultSet rs = mock(ResultSet.class);
+			when(rs.getString("snapshot")).thenReturn(snapshot);
+			when(rs.getObject("assignee_id", Long.class)).thenReturn((Long) row[0]);
+			when(rs.getString("status")).thenReturn(row[1].toString());
+			when(rs.getString("priority")).thenReturn(row[2].toString());
+			when(rs.getLong("total")).thenReturn((Long) row[3]);
+			resultSets.add(rs);
+		}
+		when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+			if (duringQuery != null) {
+				duringQuery.run();
+			}
+			RowMapper<Object> mapper = invocation.getArgument(1);
+			List<Object> result = new ArrayList<>();
+			for (ResultSet rs : resultSets) {
+				result.add(mapper.mapRow(rs, result.size()));
+			}
+			return result;
+		});
+	}
+}
@@ -0,0 +1,90 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
+import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Comment;
+import com.sarf.task_management_system.domain.models.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UnreadServiceTest {
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private UnreadService unreadService;
+
+	@Test
+	void testMarkRead() {
+		when(jdbcTemplate.update(anyString(), eq(1L), eq(5L), eq(2L))).thenReturn(1);
+
+		unreadService.markRead(1L, 2L, 5L);
+
+		verify(jdbcTemplate, times(1)).update(contains("ON CONFLICT"), eq(1L), eq(5L), eq(2L));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testMarkWrittenKeepsHighestSeqPerAuthorAndTask() {
+		ApplicationUser author = new ApplicationUser();
+		author.setId(1L);
+		Task task = new Task();
+		task.setId(2L);
+		Task other = new Task();
+		other.setId(3L);
+
+		unreadService.markWritten(List.of(
+				new Comment(author, task, "first", 4L),
+				new Comment(author, task, "second", 5L),
+				new Comment(author, other, "third", 1L)
+		));
+
+		ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate, times(1)).batchUpdate(contains("ON CONFLICT"), captor.capture());
+		assertEquals(2, captor.getValue().size());
+		assertArrayEquals(new Object[]{1L, 5L, 2L}, captor.getValue().get(0));
+		assertArrayEquals(new Object[]{1L, 1L, 3L}, captor.getValue().get(1));
+	}
+
+	@Test
+	void testMarkReadTaskNotFound() {
+		when(jdbcTemplate.update(anyString(), eq(1L), isNull(), eq(2L))).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> unreadService.markRead(1L, 2L, null));
+	}
+
+	@Test
+	void testGetUnread() throws Exception {
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getLong("id")).thenReturn(3L, 7L);
+		when(rs.getLong("unread")).thenReturn(2L, 10L);
+		doAnswer(invocation -> {
+			RowCallbackHandler handler = invocation.getArgument(1);
+			handler.processRow(rs);
+			handler.processRow(rs);
+			return null;
+		}).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(1L), eq(1L), eq(1L));
+
+		Map<Long, Long> unread = unreadService.getUnread(1L);
+
+		assertEquals(List.of(3L, 7L), List.copyOf(unread.keySet()));
+		assertEquals(2L, unread.get(3L));
+		assertEquals(10L, unread.get(7L));
+	}
+}
@@ -0,0 +1,93 @@
+package com.sarf.task_management_system.domain.services;
+
+import com.sarf.task_management_system.config.PurgeProperties;
+import com.sarf.task_management_system.domain.cache.RecentCommentCache;
+import com.sarf.task_management_system.repositories.ApplicationUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPurgeServiceTest {
+
+	@Mock
+	private ApplicationUserRepository userRepository;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private TaskStatsService taskStatsService;
+
+	@Mock
+	private RecentCommentCache recentComments;
+
+	private UserPurgeService userPurgeService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		PurgeProperties properties = new PurgeProperties();
+		properties.setBatchSize(2);
+		properties.setPause(Duration.ZERO);
+		userPurgeService = new UserPurgeService(userRepository, jdbcTemplate, transactionTemplate, properties,
+				versionService, taskStatsService, recentComments);
+
+		lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+				invocation.<TransactionCallback<Integer>>getArgument(0).doInTransaction(null));
+		lenient().doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+	}
+
+	@Test
+	void testPurgeDeletesInBatchesBeforeUser() {
+		when(jdbcTemplate.update(contains("DELETE FROM tasks"), eq(1L), eq(2))).thenReturn(2, 1);
+		when(jdbcTemplate.update(contains("SET assignee_id = NULL"), eq(1L), eq(2))).thenReturn(0);
+		when(jdbcTemplate.update(contains("WHERE author_id = ? LIMIT ?)"), eq(1L), eq(2))).thenReturn(2, 2, 0);
+
+		userPurgeService.purge(1L);
+
+		InOrder inOrder = inOrder(jdbcTemplate);
+		inOrder.verify(jdbcTemplate, times(2)).update(contains("DELETE FROM tasks"), eq(1L), eq(2));
+		inOrder.verify(jdbcTemplate, times(1)).update(contains("SET assignee_id = NULL"), eq(1L), eq(2));
+		inOrder.verify(jdbcTemplate, times(3)).update(contains("WHERE author_id = ? LIMIT ?)"), eq(1L), eq(2));
+		inOrder.verify(jdbcTemplate, times(1)).update(contains("DELETE FROM users"), eq(1L));
+	}
+
+	@Test
+	void testFailedPurgeIsRetriedLater() {
+		when(userRepository.findDeletedIds()).thenReturn(List.of(1L));
+		when(jdbcTemplate.update(anyString(), eq(1L), eq(2))).thenReturn(0);
+		when(jdbcTemplate.update(contains("DELETE FROM users"), eq(1L)))
+				.thenThrow(new DataIntegrityViolationException("comments_author_fk"));
+
+		userPurgeService.purgeDeleted();
+
+		verify(taskStatsService, never()).reconcile();
+		verify(versionService, never()).bumpUsers();
+		verify(recentComments, never()).clear();
+	}
+}
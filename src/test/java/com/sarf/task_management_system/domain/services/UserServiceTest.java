@@ -1,8 +1,10 @@
 package com.sarf.task_management_system.domain.services;
 
 import com.sarf.task_management_system.domain.enums.Role;
+import com.sarf.task_management_system.domain.events.UserDeleted;
 import com.sarf.task_management_system.domain.exceptions.ResourceNotFoundException;
 import com.sarf.task_management_system.domain.models.ApplicationUser;
+import com.sarf.task_management_system.domain.models.Task;
 import com.sarf.task_management_system.domain.security.JwtTokenProvider;
 import com.sarf.task_management_system.repositories.ApplicationUserRepository;
 import com.sarf.task_management_system.web.dto.requsts.RegisterRequest;
@@ -13,8 +15,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -35,6 +39,12 @@ public class UserServiceTest {
 	@Mock
 	private JwtTokenProvider tokenProvider;
 
+	@Mock
+	private VersionService versionService;
+
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
 	@InjectMocks
 	private UserService userService;
 
@@ -60,7 +70,7 @@ public class UserServiceTest {
 	@Test
 	void testGetAll() {
 		List<ApplicationUser> users = List.of(user);
-		when(userRepository.findAll()).thenReturn(users);
+		when(userRepository.findByDeletedAtIsNull()).thenReturn(users);
 
 		List<ApplicationUser> result = userService.getAll();
 
@@ -128,7 +138,26 @@ public class UserServiceTest {
 	void testDeleteByUser() {
 		userService.delete(user);
 
-		verify(userRepository, times(1)).delete(user);
+		assertNotNull(user.getDeletedAt());
+		verify(userRepository, times(1)).save(user);
+		verify(userRepository, never()).delete(user);
+		verify(eventPublisher, times(1)).publishEvent(any(UserDeleted.class));
+	}
+
+	@Test
+	void testDeletedUserIsNotFoundById() {
+		user.setDeletedAt(Instant.now());
+		when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+		assertThrows(NoSuchElementException.class, () -> userService.getById(1L));
+	}
+
+	@Test
+	void testDeletedUserIsNotFoundByEmail() {
+		user.setDeletedAt(Instant.now());
+		when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+		assertThrows(NoSuchElementException.class, () -> userService.getByEmail("test@example.com"));
 	}
 
 	@Test
@@ -137,7 +166,7 @@ public class UserServiceTest {
 
 		userService.delete(1L);
 
-		verify(userRepository, times(1)).delete(user);
+		verify(userRepository, times(1)).save(user);
 	}
 
 	@Test
@@ -146,4 +175,22 @@ public class UserServiceTest {
 
 		assertThrows(ResourceNotFoundException.class, () -> userService.delete(1L));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testIsParticipantComparesIdsWithoutLoadingTaskCollections() {
+		ApplicationUser other = new ApplicationUser();
+		other.setId(2L);
+		Task task = new Task();
+		task.setAuthor(other);
+		user.setTasksCreatedByUser(null);
+		user.setTasksAssignedToUser(null);
+
+		assertFalse(UserService.isParticipant(user, task));
+
+		ApplicationUser assignee = new ApplicationUser();
+		assignee.setId(1L);
+		task.setAssignee(assignee);
+		assertTrue(UserService.isParticipant(user, task));
+		assertTrue(UserService.isParticipant(other, task));
+	}
+}
@@ -0,0 +1,95 @@
+package com.sarf.task_management_system.domain.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionServiceTest {
+
+	private VersionService versionService;
+
+	@BeforeEach
+	void setUp() {
+		versionService = new VersionService();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void testUserTasksTagChangesOnlyForAffectedUsers() {
+		String authorTag = versionService.getUserTasksTag(1L);
+		String otherTag = versionService.getUserTasksTag(2L);
+
+		versionService.bumpUserTasks(1L, null);
+
+		assertNotEquals(authorTag, versionService.getUserTasksTag(1L));
+		assertEquals(otherTag, versionService.getUserTasksTag(2L));
+	}
+
+	@Test
+	void testBumpUsersChangesEveryUserTag() {
+		String tag = versionService.getUserTasksTag(2L);
+
+		versionService.bumpUsers();
+
+		assertNotEquals(tag, versionService.getUserTasksTag(2L));
+	}
+
+	@Test
+	void testCommentsTagChangesOnBump() {
+		long version = versionService.getComments(1L);
+		String tag = versionService.getCommentsTag(1L);
+
+		versionService.bumpComments(1L);
+
+		assertEquals(version + 1, versionService.getComments(1L));
+		assertNotEquals(tag, versionService.getCommentsTag(1L));
+	}
+
+	@Test
+	void testTagsAreStrong() {
+		assertTrue(versionService.getCommentsTag(1L).startsWith("\""));
+		assertFalse(versionService.getUserTasksTag(1L).startsWith("W/"));
+	}
+
+	@Test
+	void testBumpInsideTransactionIsVisibleOnlyAfterCommit() {
+		long version = versionService.getComments(1L);
+		String tag = versionService.getUserTasksTag(1L);
+		TransactionSynchronizationManager.initSynchronization();
+
+		versionService.bumpComments(1L);
+		versionService.bumpUserTasks(1L);
+
+		assertEquals(version, versionService.getComments(1L));
+		assertEquals(tag, versionService.getUserTasksTag(1L));
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		assertEquals(version + 1, versionService.getComments(1L));
+		assertNotEquals(tag, versionService.getUserTasksTag(1L));
+	}
+
+	@Test
+	void testBumpInsideRolledBackTransactionIsDiscarded() {
+		long tasks = versionService.getTasks();
+		String tag = versionService.getUserTasksTag(2L);
+		TransactionSynchronizationManager.initSynchronization();
+
+		versionService.bumpUsers();
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertEquals(tasks, versionService.getTasks());
+		assertEquals(tag, versionService.getUserTasksTag(2L));
+	}
+}
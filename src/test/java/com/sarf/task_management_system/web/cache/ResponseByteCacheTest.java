@@ -0,0 +1,69 @@
+package com.sarf.task_management_system.web.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarf.task_management_system.config.ResponseCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseByteCacheTest {
+
+	private ResponseByteCache cache;
+	private CachedResponse cached;
+
+	@BeforeEach
+	void setUp() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setEnabled(true);
+		properties.setGzipMinSize(0);
+		cache = new ResponseByteCache(new ObjectMapper(), properties);
+		cached = cache.get("key", 1L, () -> List.of("a", "b", "c"));
+	}
+
+	@Test
+	void testAcceptsGzipHonoursQualityValues() {
+		assertTrue(ResponseByteCache.acceptsGzip("gzip, deflate, br"));
+		assertTrue(ResponseByteCache.acceptsGzip("deflate;q=0.5, GZIP;q=0.8"));
+		assertTrue(ResponseByteCache.acceptsGzip("*"));
+		assertFalse(ResponseByteCache.acceptsGzip(null));
+		assertFalse(ResponseByteCache.acceptsGzip("gzip;q=0"));
+		assertFalse(ResponseByteCache.acceptsGzip("gzip; q=0.0, identity"));
+		assertFalse(ResponseByteCache.acceptsGzip("gzip;q=0.5, identity"));
+		assertFalse(ResponseByteCache.acceptsGzip("*;q=0"));
+		assertFalse(ResponseByteCache.acceptsGzip("deflate, br"));
+		assertFalse(ResponseByteCache.acceptsGzip("gzip;q=abc"));
+	}
+
+	@Test
+	void testWriteServesIdentityWhenGzipIsRefused() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		cache.write(cached, request, response);
+
+		assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(cached.json(), response.getContentAsByteArray());
+		assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), response.getHeaders(HttpHeaders.VARY));
+	}
+
+	@Test
+	void testWriteServesGzipAndKeepsExistingVary() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+
+		cache.write(cached, request, response);
+
+		assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertArrayEquals(cached.gzip(), response.getContentAsByteArray());
+		assertEquals(List.of(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT_ENCODING), response.getHeaders(HttpHeaders.VARY));
+	}
+}